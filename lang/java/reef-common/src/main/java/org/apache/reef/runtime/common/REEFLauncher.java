@@ -19,6 +19,7 @@
 package org.apache.reef.runtime.common;
 
 import org.apache.reef.runtime.common.evaluator.PIDStoreStartHandler;
+import org.apache.reef.runtime.common.files.REEFFileNames;
 import org.apache.reef.runtime.common.launch.REEFErrorHandler;
 import org.apache.reef.runtime.common.launch.REEFMessageCodec;
 import org.apache.reef.runtime.common.launch.REEFUncaughtExceptionHandler;
@@ -26,8 +27,10 @@ import org.apache.reef.runtime.common.launch.parameters.ClockConfigurationPath;
 import org.apache.reef.tang.*;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.exceptions.ClassHierarchyException;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.tang.formats.ConfigurationSerializer;
+import org.apache.reef.tang.implementation.avro.AvroClassHierarchySerializer;
 import org.apache.reef.util.EnvironmentUtils;
 import org.apache.reef.util.ThreadLogger;
 import org.apache.reef.util.logging.LoggingSetup;
@@ -173,6 +176,8 @@ public final class REEFLauncher {
       throw fatal(message, new IllegalArgumentException(message));
     }
 
+    loadClassHierarchySnapshot(new File(args[0]).getAbsoluteFile().getParentFile());
+
     final REEFLauncher launcher = getREEFLauncher(args[0]);
 
     Thread.setDefaultUncaughtExceptionHandler(new REEFUncaughtExceptionHandler(launcher.envConfig));
@@ -190,6 +195,27 @@ public final class REEFLauncher {
     System.exit(0); // TODO[REEF-1715]: Should be able to exit cleanly at the end of main()
   }
 
+  /**
+   * Load the class hierarchy snapshot shipped by the Driver, if there is one next to the configuration file.
+   * Classes that are not in the snapshot are still resolved by reflection, so a failure here is not fatal.
+   * @param configurationFolder folder that holds the runtime clock configuration.
+   */
+  private static void loadClassHierarchySnapshot(final File configurationFolder) {
+
+    final File snapshotFile = new File(configurationFolder, new REEFFileNames().getClassHierarchySnapshotName());
+    if (!snapshotFile.exists()) {
+      return;
+    }
+
+    try {
+      final ClassHierarchy snapshot = new AvroClassHierarchySerializer().fromFile(snapshotFile);
+      TANG.getDefaultClassHierarchy().addSnapshot(snapshot);
+      LOG.log(Level.FINE, "Loaded class hierarchy snapshot from {0}", snapshotFile);
+    } catch (final IOException | ClassHierarchyException ex) {
+      LOG.log(Level.WARNING, "Unable to load class hierarchy snapshot from " + snapshotFile, ex);
+    }
+  }
+
   /**
    * Wrap an exception into RuntimeException with a given message,
    * and write the same message and exception to the log.
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.formats.ConfigurationSerializer;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A ConfigurationSerializer that remembers the serialized form of the Configurations it has seen.
+ * Drivers often submit the same context and task Configuration to many Evaluators; with this
+ * serializer, each distinct Configuration is only serialized once.
+ * <p>
+ * Configurations are keyed by their bindings, and only the least recently used ones are kept.
+ * Everything else is passed to the bound ConfigurationSerializer.
+ */
+@DriverSide
+@Private
+public final class CachingConfigurationSerializer implements ConfigurationSerializer {
+
+  private static final Logger LOG = Logger.getLogger(CachingConfigurationSerializer.class.getName());
+
+  private static final int MAX_CONFIGURATIONS = 64;
+
+  private final ConfigurationSerializer serializer;
+
+  private final Map<Configuration, SerializedForms> cache =
+      new LinkedHashMap<Configuration, SerializedForms>(MAX_CONFIGURATIONS, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Configuration, SerializedForms> eldest) {
+          return size() > MAX_CONFIGURATIONS;
+        }
+      };
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Inject
+  private CachingConfigurationSerializer(final ConfigurationSerializer serializer) {
+    this.serializer = serializer;
+  }
+
+  /**
+   * @return the number of serializations that were answered from the cache.
+   */
+  public long getHitCount() {
+    return this.hits.get();
+  }
+
+  /**
+   * @return the number of serializations that had to be done.
+   */
+  public long getMissCount() {
+    return this.misses.get();
+  }
+
+  /**
+   * @return the share of serializations that were answered from the cache, between 0 and 1.
+   */
+  public double getHitRate() {
+    final long hitCount = this.hits.get();
+    final long total = hitCount + this.misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public String toString(final Configuration configuration) {
+    final SerializedForms forms = this.getForms(configuration);
+    String text = forms.text;
+    if (text == null) {
+      this.recordMiss();
+      text = this.serializer.toString(configuration);
+      forms.text = text;
+    } else {
+      this.hits.incrementAndGet();
+    }
+    return text;
+  }
+
+  @Override
+  public byte[] toByteArray(final Configuration conf) throws IOException {
+    final SerializedForms forms = this.getForms(conf);
+    byte[] bytes = forms.bytes;
+    if (bytes == null) {
+      this.recordMiss();
+      bytes = this.serializer.toByteArray(conf);
+      forms.bytes = bytes;
+    } else {
+      this.hits.incrementAndGet();
+    }
+    return bytes.clone();
+  }
+
+  @Override
+  public byte[] toCompactByteArray(final Configuration conf) throws IOException {
+    final SerializedForms forms = this.getForms(conf);
+    byte[] bytes = forms.compactBytes;
+    if (bytes == null) {
+      this.recordMiss();
+      bytes = this.serializer.toCompactByteArray(conf);
+      forms.compactBytes = bytes;
+    } else {
+      this.hits.incrementAndGet();
+    }
+    return bytes.clone();
+  }
+
+  @Override
+  public void toFile(final Configuration conf, final File file) throws IOException {
+    this.serializer.toFile(conf, file);
+  }
+
+  @Override
+  public void toTextFile(final Configuration conf, final File file) throws IOException {
+    this.serializer.toTextFile(conf, file);
+  }
+
+  @Override
+  public Configuration fromFile(final File file) throws IOException, BindException {
+    return this.serializer.fromFile(file);
+  }
+
+  @Override
+  public Configuration fromTextFile(final File file) throws IOException, BindException {
+    return this.serializer.fromTextFile(file);
+  }
+
+  @Override
+  public Configuration fromTextFile(final File file, final ClassHierarchy classHierarchy) throws IOException {
+    return this.serializer.fromTextFile(file, classHierarchy);
+  }
+
+  @Override
+  public Configuration fromFile(final File file, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return this.serializer.fromFile(file, classHierarchy);
+  }
+
+  @Override
+  public Configuration fromByteArray(final byte[] theBytes) throws IOException, BindException {
+    return this.serializer.fromByteArray(theBytes);
+  }
+
+  @Override
+  public Configuration fromByteArray(final byte[] theBytes, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return this.serializer.fromByteArray(theBytes, classHierarchy);
+  }
+
+  @Override
+  public Configuration fromCompactByteArray(final byte[] theBytes) throws IOException, BindException {
+    return this.serializer.fromCompactByteArray(theBytes);
+  }
+
+  @Override
+  public Configuration fromCompactByteArray(final byte[] theBytes, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return this.serializer.fromCompactByteArray(theBytes, classHierarchy);
+  }
+
+  @Override
+  public Configuration fromString(final String theString) throws IOException, BindException {
+    return this.serializer.fromString(theString);
+  }
+
+  @Override
+  public Configuration fromString(final String theString, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return this.serializer.fromString(theString, classHierarchy);
+  }
+
+  private SerializedForms getForms(final Configuration configuration) {
+    synchronized (this.cache) {
+      SerializedForms forms = this.cache.get(configuration);
+      if (forms == null) {
+        forms = new SerializedForms();
+        this.cache.put(configuration, forms);
+      }
+      return forms;
+    }
+  }
+
+  private void recordMiss() {
+    final long missCount = this.misses.incrementAndGet();
+    if (LOG.isLoggable(Level.FINE)) {
+      LOG.log(Level.FINE, "Serializing a new Configuration. Cache hit rate: {0} after {1} misses",
+          new Object[] {this.getHitRate(), missCount});
+    }
+  }
+
+  /**
+   * The serialized forms of one Configuration, filled in as they are requested.
+   * Racing threads may both serialize a Configuration; they produce the same result.
+   */
+  private static final class SerializedForms {
+    private volatile String text;
+    private volatile byte[] bytes;
+    private volatile byte[] compactBytes;
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.util.Optional;
 import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.StageMetricsReporter;
 import org.apache.reef.wake.time.runtime.event.RuntimeStop;
 
 import javax.inject.Inject;
@@ -52,6 +53,7 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
   private final RemoteManager remoteManager;
   private final Evaluators evaluators;
   private final EvaluatorIdlenessThreadPool idlenessChecker;
+  private final StageMetricsReporter stageMetricsReporter;
   private final boolean preserveEvaluatorsAcrossRestarts;
 
   @Inject
@@ -62,7 +64,8 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
       final ResourceManagerStopHandler resourceManagerStopHandler,
       final RemoteManager remoteManager,
       final Evaluators evaluators,
-      final EvaluatorIdlenessThreadPool idlenessChecker) {
+      final EvaluatorIdlenessThreadPool idlenessChecker,
+      final StageMetricsReporter stageMetricsReporter) {
 
     this.driverRestartManager = driverRestartManager;
     this.driverStatusManager = driverStatusManager;
@@ -70,6 +73,7 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
     this.remoteManager = remoteManager;
     this.evaluators = evaluators;
     this.idlenessChecker = idlenessChecker;
+    this.stageMetricsReporter = stageMetricsReporter;
     this.preserveEvaluatorsAcrossRestarts = preserveEvaluatorsAcrossRestarts;
   }
 
@@ -108,6 +112,9 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
     LOG.log(Level.FINER, "Driver shutdown: close the idleness checker");
     this.idlenessChecker.close();
 
+    LOG.log(Level.FINER, "Driver shutdown: close the stage metrics reporter");
+    this.stageMetricsReporter.close();
+
     LOG.log(Level.INFO, "Driver shutdown complete");
   }
 }
@@ -32,9 +32,11 @@ import org.apache.reef.driver.task.*;
 import org.apache.reef.proto.ClientRuntimeProtocol;
 import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
 import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.runtime.common.driver.evaluator.ClassHierarchySnapshot;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorIdlenessThreadPool;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.StageMetricsReporter;
 
 import javax.inject.Inject;
 import java.util.Set;
@@ -101,6 +103,11 @@ final class DriverSingletons {
       final ResourceLaunchHandler resourceLaunchHandler,
       final ResourceReleaseHandler resourceReleaseHandler,
 
-      final EvaluatorIdlenessThreadPool evaluatorIdlenessThreadPool) {
+      final EvaluatorIdlenessThreadPool evaluatorIdlenessThreadPool,
+      final ClassHierarchySnapshot classHierarchySnapshot,
+      final CachingConfigurationSerializer cachingConfigurationSerializer,
+
+      // Samples the latencies of the stages and logs their metrics periodically
+      final StageMetricsReporter stageMetricsReporter) {
   }
 }
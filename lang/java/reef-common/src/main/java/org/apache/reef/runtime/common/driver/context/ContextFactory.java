@@ -21,6 +21,7 @@ package org.apache.reef.runtime.common.driver.context;
 import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
+import org.apache.reef.runtime.common.driver.CachingConfigurationSerializer;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorManager;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorMessageDispatcher;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
@@ -56,7 +57,7 @@ final class ContextFactory {
   ContextFactory(@Parameter(EvaluatorManager.EvaluatorIdentifier.class) final String evaluatorId,
                  @Parameter(EvaluatorManager.EvaluatorDescriptorName.class)
                  final EvaluatorDescriptor evaluatorDescriptor,
-                 final ConfigurationSerializer configurationSerializer,
+                 final CachingConfigurationSerializer configurationSerializer,
                  final ExceptionCodec exceptionCodec,
                  final EvaluatorMessageDispatcher messageDispatcher,
                  final ContextControlHandler contextControlHandler,
@@ -25,6 +25,7 @@ import org.apache.reef.driver.context.ActiveContext;
 import org.apache.reef.driver.context.ClosedContext;
 import org.apache.reef.driver.context.FailedContext;
 import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
+import org.apache.reef.driver.evaluator.EvaluatorType;
 import org.apache.reef.proto.EvaluatorRuntimeProtocol;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorMessageDispatcher;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextState;
@@ -34,6 +35,7 @@ import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -125,10 +127,22 @@ public final class EvaluatorContext implements ActiveContext {
 
   @Override
   public synchronized void submitTask(final Configuration taskConf) {
-    submitTask(this.configurationSerializer.toString(taskConf));
+    if (!this.isJVM()) {
+      submitTask(this.configurationSerializer.toString(taskConf));
+      return;
+    }
+    submitTask(EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
+        .setContextId(this.contextIdentifier)
+        .setBinaryConfiguration(this.toBinary(taskConf)));
   }
 
   public synchronized void submitTask(final String taskConf) {
+    submitTask(EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
+        .setContextId(this.contextIdentifier)
+        .setConfiguration(taskConf));
+  }
+
+  private void submitTask(final EvaluatorRuntimeProtocol.StartTaskProto.Builder startTaskBuilder) {
     if (this.isClosed) {
       throw new RuntimeException("Active context already closed");
     }
@@ -138,11 +152,7 @@ public final class EvaluatorContext implements ActiveContext {
 
     final EvaluatorRuntimeProtocol.ContextControlProto contextControlProto =
         EvaluatorRuntimeProtocol.ContextControlProto.newBuilder()
-            .setStartTask(
-                EvaluatorRuntimeProtocol.StartTaskProto.newBuilder()
-                    .setContextId(this.contextIdentifier)
-                    .setConfiguration(taskConf)
-                    .build())
+            .setStartTask(startTaskBuilder.build())
             .build();
 
     this.contextControlHandler.send(contextControlProto);
@@ -150,7 +160,13 @@ public final class EvaluatorContext implements ActiveContext {
 
   @Override
   public synchronized void submitContext(final Configuration contextConfiguration) {
-    submitContext(this.configurationSerializer.toString(contextConfiguration));
+    if (!this.isJVM()) {
+      submitContext(this.configurationSerializer.toString(contextConfiguration));
+      return;
+    }
+    submitContext(EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
+        .setParentContextId(getId())
+        .setBinaryContextConfiguration(this.toBinary(contextConfiguration)));
   }
 
   public synchronized void submitContext(final String contextConf) {
@@ -160,9 +176,16 @@ public final class EvaluatorContext implements ActiveContext {
   @Override
   public synchronized void submitContextAndService(
       final Configuration contextConfiguration, final Configuration serviceConfiguration) {
-    submitContextAndService(
-        this.configurationSerializer.toString(contextConfiguration),
-        this.configurationSerializer.toString(serviceConfiguration));
+    if (!this.isJVM()) {
+      submitContextAndService(
+          this.configurationSerializer.toString(contextConfiguration),
+          this.configurationSerializer.toString(serviceConfiguration));
+      return;
+    }
+    submitContext(EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
+        .setParentContextId(getId())
+        .setBinaryContextConfiguration(this.toBinary(contextConfiguration))
+        .setBinaryServiceConfiguration(this.toBinary(serviceConfiguration)));
   }
 
   public synchronized void submitContextAndService(final String contextConf, final String serviceConf) {
@@ -170,10 +193,6 @@ public final class EvaluatorContext implements ActiveContext {
   }
 
   public synchronized void submitContextAndService(final String contextConf, final Optional<String> serviceConf) {
-    if (this.isClosed) {
-      throw new RuntimeException("Active context already closed");
-    }
-
     EvaluatorRuntimeProtocol.AddContextProto.Builder contextBuilder =
         EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
             .setParentContextId(getId()).setContextConfiguration(contextConf);
@@ -182,6 +201,14 @@ public final class EvaluatorContext implements ActiveContext {
       contextBuilder = contextBuilder.setServiceConfiguration(serviceConf.get());
     }
 
+    submitContext(contextBuilder);
+  }
+
+  private void submitContext(final EvaluatorRuntimeProtocol.AddContextProto.Builder contextBuilder) {
+    if (this.isClosed) {
+      throw new RuntimeException("Active context already closed");
+    }
+
     final EvaluatorRuntimeProtocol.ContextControlProto contextControlProto =
         EvaluatorRuntimeProtocol.ContextControlProto.newBuilder()
             .setAddContext(contextBuilder.build())
@@ -190,6 +217,23 @@ public final class EvaluatorContext implements ActiveContext {
     this.contextControlHandler.send(contextControlProto);
   }
 
+  /**
+   * JVM Evaluators accept configurations in the compact binary form of the ConfigurationSerializer.
+   * Other Evaluators get JSON strings.
+   */
+  private boolean isJVM() {
+    return this.evaluatorDescriptor != null && this.evaluatorDescriptor.getProcess() != null
+        && this.evaluatorDescriptor.getProcess().getType() == EvaluatorType.JVM;
+  }
+
+  private ByteString toBinary(final Configuration configuration) {
+    try {
+      return ByteString.copyFrom(this.configurationSerializer.toCompactByteArray(configuration));
+    } catch (final IOException e) {
+      throw new RuntimeException("Unable to serialize configuration.", e);
+    }
+  }
+
   @Override
   public String getEvaluatorId() {
     return this.evaluatorIdentifier;
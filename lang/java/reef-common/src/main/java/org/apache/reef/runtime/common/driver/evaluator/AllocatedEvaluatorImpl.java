@@ -36,6 +36,7 @@ import org.apache.reef.util.logging.LoggingScopeFactory;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.logging.Level;
@@ -56,6 +57,7 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
   private final String jobIdentifier;
   private final LoggingScopeFactory loggingScopeFactory;
   private final Set<ConfigurationProvider> evaluatorConfigurationProviders;
+  private final ClassHierarchySnapshot classHierarchySnapshot;
 
   /**
    * The set of files to be places on the Evaluator.
@@ -72,13 +74,15 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
                          final ConfigurationSerializer configurationSerializer,
                          final String jobIdentifier,
                          final LoggingScopeFactory loggingScopeFactory,
-                         final Set<ConfigurationProvider> evaluatorConfigurationProviders) {
+                         final Set<ConfigurationProvider> evaluatorConfigurationProviders,
+                         final ClassHierarchySnapshot classHierarchySnapshot) {
     this.evaluatorManager = evaluatorManager;
     this.remoteID = remoteID;
     this.configurationSerializer = configurationSerializer;
     this.jobIdentifier = jobIdentifier;
     this.loggingScopeFactory = loggingScopeFactory;
     this.evaluatorConfigurationProviders = evaluatorConfigurationProviders;
+    this.classHierarchySnapshot = classHierarchySnapshot;
   }
 
   @Override
@@ -262,7 +266,15 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
             .addLibraries(this.libraries)
             .setRuntimeName(this.getEvaluatorDescriptor().getRuntimeName());
 
-    rbuilder.setProcess(this.evaluatorManager.getEvaluatorDescriptor().getProcess());
+    final EvaluatorProcess process = this.evaluatorManager.getEvaluatorDescriptor().getProcess();
+    if (process.getType() == EvaluatorType.JVM) {
+      final Optional<File> snapshot = this.classHierarchySnapshot.getFile();
+      if (snapshot.isPresent()) {
+        rbuilder.addFiles(Collections.singletonList(snapshot.get()));
+      }
+    }
+
+    rbuilder.setProcess(process);
     this.evaluatorManager.onResourceLaunch(rbuilder.build());
   }
 
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.runtime.common.files.REEFFileNames;
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.ClassHierarchySerializer;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.util.Optional;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the Driver's class hierarchy to a file that is shipped to JVM Evaluators.
+ * The Evaluator loads it at launch instead of reflecting over the same classes again.
+ * The file is written once, on the first request, and reused for all Evaluators.
+ */
+@DriverSide
+@Private
+public final class ClassHierarchySnapshot {
+
+  private static final Logger LOG = Logger.getLogger(ClassHierarchySnapshot.class.getName());
+
+  private final ClassHierarchySerializer classHierarchySerializer;
+  private final REEFFileNames fileNames;
+
+  private Optional<File> snapshotFile = null;
+
+  @Inject
+  private ClassHierarchySnapshot(final ClassHierarchySerializer classHierarchySerializer,
+                                 final REEFFileNames fileNames) {
+    this.classHierarchySerializer = classHierarchySerializer;
+    this.fileNames = fileNames;
+  }
+
+  /**
+   * @return the snapshot file, or empty if it could not be written.
+   */
+  public synchronized Optional<File> getFile() {
+    if (this.snapshotFile == null) {
+      this.snapshotFile = this.writeSnapshot();
+    }
+    return this.snapshotFile;
+  }
+
+  private Optional<File> writeSnapshot() {
+    final ClassHierarchy classHierarchy = Tang.Factory.getTang().getDefaultClassHierarchy();
+    try {
+      final File file = new File(
+          Files.createTempDirectory("reef-classhierarchy-").toFile(), this.fileNames.getClassHierarchySnapshotName());
+      file.deleteOnExit();
+      file.getParentFile().deleteOnExit();
+      // Class hierarchy updates are synchronized on the hierarchy itself.
+      synchronized (classHierarchy) {
+        this.classHierarchySerializer.toFile(classHierarchy, file);
+      }
+      LOG.log(Level.FINE, "Wrote class hierarchy snapshot to {0}", file);
+      return Optional.of(file);
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Unable to write the class hierarchy snapshot. Evaluators will use reflection.", e);
+      return Optional.empty();
+    }
+  }
+}
@@ -25,6 +25,7 @@ import org.apache.reef.driver.parameters.EvaluatorConfigurationProviders;
 import org.apache.reef.driver.restart.DriverRestartManager;
 import org.apache.reef.driver.restart.EvaluatorRestartState;
 import org.apache.reef.exception.NonSerializableException;
+import org.apache.reef.runtime.common.driver.CachingConfigurationSerializer;
 import org.apache.reef.runtime.common.driver.api.*;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextStatusPOJO;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.EvaluatorStatusPOJO;
@@ -105,6 +106,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
   private final Set<ConfigurationProvider> evaluatorConfigurationProviders;
   private final DriverRestartManager driverRestartManager;
   private final EvaluatorIdlenessThreadPool idlenessThreadPool;
+  private final ClassHierarchySnapshot classHierarchySnapshot;
 
   // Mutable fields
   private Optional<TaskRepresenter> task = Optional.empty();
@@ -122,7 +124,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
       final ResourceReleaseHandler resourceReleaseHandler,
       final ResourceLaunchHandler resourceLaunchHandler,
       final ContextRepresenters contextRepresenters,
-      final ConfigurationSerializer configurationSerializer,
+      final CachingConfigurationSerializer configurationSerializer,
       final EvaluatorMessageDispatcher messageDispatcher,
       final EvaluatorControlHandler evaluatorControlHandler,
       final ContextControlHandler contextControlHandler,
@@ -131,7 +133,8 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
       final EventHandlerIdlenessSource idlenessSource,
       final LoggingScopeFactory loggingScopeFactory,
       final DriverRestartManager driverRestartManager,
-      final EvaluatorIdlenessThreadPool idlenessThreadPool) {
+      final EvaluatorIdlenessThreadPool idlenessThreadPool,
+      final ClassHierarchySnapshot classHierarchySnapshot) {
 
     LOG.log(Level.FINEST, "Instantiating 'EvaluatorManager' for evaluator: {0}", evaluatorId);
 
@@ -156,6 +159,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     this.loggingScopeFactory = loggingScopeFactory;
     this.driverRestartManager = driverRestartManager;
     this.idlenessThreadPool = idlenessThreadPool;
+    this.classHierarchySnapshot = classHierarchySnapshot;
 
     LOG.log(Level.FINEST, "Instantiated 'EvaluatorManager' for evaluator: [{0}]", this.getId());
   }
@@ -191,7 +195,8 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
               this.configurationSerializer,
               getJobIdentifier(),
               this.loggingScopeFactory,
-              this.evaluatorConfigurationProviders);
+              this.evaluatorConfigurationProviders,
+              this.classHierarchySnapshot);
 
       LOG.log(Level.FINEST, "Firing AllocatedEvaluator event for Evaluator with ID [{0}]", this.evaluatorId);
 
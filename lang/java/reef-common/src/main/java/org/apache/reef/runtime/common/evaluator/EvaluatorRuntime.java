@@ -32,6 +32,7 @@ import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.annotations.Unit;
 import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.StageMetricsReporter;
 import org.apache.reef.wake.time.Clock;
 import org.apache.reef.wake.time.runtime.event.RuntimeStart;
 import org.apache.reef.wake.time.runtime.event.RuntimeStop;
@@ -54,6 +55,7 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
   private final String evaluatorIdentifier;
   private final ExceptionCodec exceptionCodec;
   private final AutoCloseable evaluatorControlChannel;
+  private final StageMetricsReporter stageMetricsReporter;
 
   private ReefServiceProtos.State state = ReefServiceProtos.State.INIT;
 
@@ -68,7 +70,8 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
       final ContextManager contextManagerFuture,
       final RemoteManager remoteManager,
       final PIDStoreStartHandler pidStoreStartHandler,
-      final ExceptionCodec exceptionCodec) {
+      final ExceptionCodec exceptionCodec,
+      final StageMetricsReporter stageMetricsReporter) {
 
     this.heartBeatManager = heartBeatManager;
     this.contextManager = contextManagerFuture;
@@ -77,6 +80,7 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
     this.evaluatorIdentifier = evaluatorIdentifier;
     this.pidStoreStartHandler = pidStoreStartHandler;
     this.exceptionCodec = exceptionCodec;
+    this.stageMetricsReporter = stageMetricsReporter;
     this.evaluatorControlChannel =
         remoteManager.registerHandler(driverRID, EvaluatorControlProto.class, this);
 
@@ -216,6 +220,7 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
           }
           LOG.log(Level.FINEST, "EvaluatorRuntime shutdown complete");
         }
+        EvaluatorRuntime.this.stageMetricsReporter.close();
       }
     }
   }
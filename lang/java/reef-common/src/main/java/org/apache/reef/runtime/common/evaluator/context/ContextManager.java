@@ -250,11 +250,17 @@ public final class ContextManager implements AutoCloseable {
               currentTopContext.getIdentifier() + "`");
         }
 
-        final Configuration contextConfiguration =
+        final Configuration contextConfiguration = addContextProto.hasBinaryContextConfiguration() ?
+            this.configurationSerializer.fromCompactByteArray(
+                addContextProto.getBinaryContextConfiguration().toByteArray()) :
             this.configurationSerializer.fromString(addContextProto.getContextConfiguration());
 
         final ContextRuntime newTopContext;
-        if (addContextProto.hasServiceConfiguration()) {
+        if (addContextProto.hasBinaryServiceConfiguration()) {
+          newTopContext = currentTopContext.spawnChildContext(contextConfiguration,
+              this.configurationSerializer.fromCompactByteArray(
+                  addContextProto.getBinaryServiceConfiguration().toByteArray()));
+        } else if (addContextProto.hasServiceConfiguration()) {
           newTopContext = currentTopContext.spawnChildContext(contextConfiguration,
               this.configurationSerializer.fromString(addContextProto.getServiceConfiguration()));
         } else {
@@ -320,7 +326,8 @@ public final class ContextManager implements AutoCloseable {
       }
 
       try {
-        final Configuration taskConfig =
+        final Configuration taskConfig = startTaskProto.hasBinaryConfiguration() ?
+            this.configurationSerializer.fromCompactByteArray(startTaskProto.getBinaryConfiguration().toByteArray()) :
             this.configurationSerializer.fromString(startTaskProto.getConfiguration());
         currentActiveContext.startTask(taskConfig);
       } catch (IOException | BindException e) {
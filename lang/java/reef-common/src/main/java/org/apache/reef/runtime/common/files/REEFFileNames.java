@@ -40,6 +40,7 @@ public final class REEFFileNames {
   private static final String EVALUATOR_CONFIGURATION_NAME = "evaluator.conf";
   private static final String EVALUATOR_CONFIGURATION_PATH =
       LOCAL_FOLDER_PATH + '/' + EVALUATOR_CONFIGURATION_NAME;
+  private static final String CLASS_HIERARCHY_SNAPSHOT_NAME = "classhierarchy.bin";
   private static final String JAR_FILE_SUFFIX = ".jar";
   private static final String JOB_FOLDER_PREFIX = "reef-job-";
   private static final String EVALUATOR_FOLDER_PREFIX = "reef-evaluator-";
@@ -172,6 +173,13 @@ public final class REEFFileNames {
     return EVALUATOR_CONFIGURATION_PATH;
   }
 
+  /**
+   * @return The name under which the class hierarchy snapshot will be stored next to the evaluator configuration.
+   */
+  public String getClassHierarchySnapshotName() {
+    return CLASS_HIERARCHY_SNAPSHOT_NAME;
+  }
+
   /**
    * @return The suffix used for JAR files, including the "."
    */
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver;
+
+import org.apache.reef.driver.context.ContextConfiguration;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.formats.AvroConfigurationSerializer;
+import org.apache.reef.tang.formats.ConfigurationSerializer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests for CachingConfigurationSerializer.
+ */
+public class CachingConfigurationSerializerTest {
+  private final ConfigurationSerializer avroSerializer = new AvroConfigurationSerializer();
+  private CachingConfigurationSerializer serializer;
+
+  @Before
+  public void setUp() throws Exception {
+    serializer = Tang.Factory.getTang().newInjector().getInstance(CachingConfigurationSerializer.class);
+  }
+
+  private static Configuration contextConfiguration(final String id) {
+    return ContextConfiguration.CONF.set(ContextConfiguration.IDENTIFIER, id).build();
+  }
+
+  /**
+   * Equal configurations are serialized once, and the cached forms match the uncached ones.
+   */
+  @Test
+  public void testEqualConfigurationsAreSerializedOnce() throws Exception {
+    final String text = serializer.toString(contextConfiguration("ctx"));
+    Assert.assertEquals(avroSerializer.toString(contextConfiguration("ctx")), text);
+    Assert.assertEquals(text, serializer.toString(contextConfiguration("ctx")));
+    Assert.assertEquals(1, serializer.getHitCount());
+    Assert.assertEquals(1, serializer.getMissCount());
+
+    final byte[] bytes = serializer.toCompactByteArray(contextConfiguration("ctx"));
+    Assert.assertArrayEquals(avroSerializer.toCompactByteArray(contextConfiguration("ctx")), bytes);
+    Arrays.fill(bytes, (byte) 0);
+    Assert.assertArrayEquals("Callers must not be able to change the cached bytes",
+        avroSerializer.toCompactByteArray(contextConfiguration("ctx")),
+        serializer.toCompactByteArray(contextConfiguration("ctx")));
+    Assert.assertEquals(2, serializer.getHitCount());
+    Assert.assertEquals(2, serializer.getMissCount());
+    Assert.assertEquals(0.5, serializer.getHitRate(), 0.0);
+  }
+
+  /**
+   * Different configurations are serialized separately.
+   */
+  @Test
+  public void testDifferentConfigurationsAreNotShared() throws Exception {
+    final String first = serializer.toString(contextConfiguration("first"));
+    final String second = serializer.toString(contextConfiguration("second"));
+    Assert.assertNotEquals(first, second);
+    Assert.assertEquals(contextConfiguration("second"),
+        avroSerializer.fromString(second));
+    Assert.assertEquals(0, serializer.getHitCount());
+    Assert.assertEquals(2, serializer.getMissCount());
+  }
+}
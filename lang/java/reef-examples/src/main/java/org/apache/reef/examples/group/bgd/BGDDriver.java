@@ -34,6 +34,7 @@ import org.apache.reef.examples.group.bgd.parameters.AllCommunicationGroup;
 import org.apache.reef.examples.group.bgd.parameters.BGDControlParameters;
 import org.apache.reef.examples.group.bgd.parameters.ModelDimensions;
 import org.apache.reef.examples.group.bgd.parameters.ProbabilityOfFailure;
+import org.apache.reef.examples.group.utils.math.VectorCodec;
 import org.apache.reef.io.data.loading.api.DataLoadingService;
 import org.apache.reef.io.network.group.api.driver.CommunicationGroupDriver;
 import org.apache.reef.io.network.group.api.driver.GroupCommDriver;
@@ -119,28 +120,28 @@ public class BGDDriver {
         .addBroadcast(ModelBroadcaster.class,
             BroadcastOperatorSpec.newBuilder()
                 .setSenderId(MasterTask.TASK_ID)
-                .setDataCodecClass(SerializableCodec.class)
+                .setDataCodecClass(VectorCodec.class)
                 .build())
         .addReduce(LossAndGradientReducer.class,
             ReduceOperatorSpec.newBuilder()
                 .setReceiverId(MasterTask.TASK_ID)
-                .setDataCodecClass(SerializableCodec.class)
+                .setDataCodecClass(LossAndGradientCodec.class)
                 .setReduceFunctionClass(LossAndGradientReduceFunction.class)
                 .build())
         .addBroadcast(ModelAndDescentDirectionBroadcaster.class,
             BroadcastOperatorSpec.newBuilder()
                 .setSenderId(MasterTask.TASK_ID)
-                .setDataCodecClass(SerializableCodec.class)
+                .setDataCodecClass(ModelAndDescentDirectionCodec.class)
                 .build())
         .addBroadcast(DescentDirectionBroadcaster.class,
             BroadcastOperatorSpec.newBuilder()
                 .setSenderId(MasterTask.TASK_ID)
-                .setDataCodecClass(SerializableCodec.class)
+                .setDataCodecClass(VectorCodec.class)
                 .build())
         .addReduce(LineSearchEvaluationsReducer.class,
             ReduceOperatorSpec.newBuilder()
                 .setReceiverId(MasterTask.TASK_ID)
-                .setDataCodecClass(SerializableCodec.class)
+                .setDataCodecClass(LineSearchEvaluationsCodec.class)
                 .setReduceFunctionClass(LineSearchReduceFunction.class)
                 .build())
         .addBroadcast(MinEtaBroadcaster.class,
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.examples.group.bgd;
+
+import org.apache.reef.examples.group.utils.math.Vector;
+import org.apache.reef.examples.group.utils.math.VectorCodec;
+import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.util.Pair;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for the line search evaluations and number of examples that the slaves send to the master.
+ * Decoding into an earlier result reuses the storage of its evaluations.
+ */
+public class LineSearchEvaluationsCodec implements Reduce.ReusingCodec<Pair<Vector, Integer>> {
+
+  private final VectorCodec vectorCodec;
+
+  @Inject
+  public LineSearchEvaluationsCodec(final VectorCodec vectorCodec) {
+    this.vectorCodec = vectorCodec;
+  }
+
+  @Override
+  public byte[] encode(final Pair<Vector, Integer> evaluations) {
+    final ByteBuffer buffer = ByteBuffer.allocate(
+        vectorCodec.getEncodedSize(evaluations.getFirst()) + Integer.SIZE / Byte.SIZE);
+    vectorCodec.encode(evaluations.getFirst(), buffer);
+    buffer.putInt(evaluations.getSecond());
+    return buffer.array();
+  }
+
+  @Override
+  public Pair<Vector, Integer> decode(final byte[] buf) {
+    return decode(buf, null);
+  }
+
+  @Override
+  public Pair<Vector, Integer> decode(final byte[] buf, final Pair<Vector, Integer> reuse) {
+    final ByteBuffer buffer = ByteBuffer.wrap(buf);
+    final Vector evaluations = vectorCodec.decode(buffer, reuse == null ? null : reuse.getFirst());
+    return new Pair<>(evaluations, buffer.getInt());
+  }
+}
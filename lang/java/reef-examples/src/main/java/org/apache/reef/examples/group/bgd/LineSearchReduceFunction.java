@@ -28,7 +28,7 @@ import javax.inject.Inject;
 /**
  * Reduce function implementing line search.
  */
-public class LineSearchReduceFunction implements Reduce.ReduceFunction<Pair<Vector, Integer>> {
+public class LineSearchReduceFunction implements Reduce.InPlaceReduceFunction<Pair<Vector, Integer>> {
 
   @Inject
   public LineSearchReduceFunction() {
@@ -51,4 +51,11 @@ public class LineSearchReduceFunction implements Reduce.ReduceFunction<Pair<Vect
 
     return new Pair<>(combinedEvaluations, numEx);
   }
+
+  @Override
+  public Pair<Vector, Integer> combine(final Pair<Vector, Integer> accumulator, final Pair<Vector, Integer> eval) {
+    final Vector combinedEvaluations = accumulator.getFirst();
+    combinedEvaluations.add(eval.getFirst());
+    return new Pair<>(combinedEvaluations, accumulator.getSecond() + eval.getSecond());
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.examples.group.bgd;
+
+import org.apache.reef.examples.group.utils.math.Vector;
+import org.apache.reef.examples.group.utils.math.VectorCodec;
+import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.util.Pair;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for the (loss, number of examples) and gradient that the slaves send to the master.
+ * Decoding into an earlier result reuses the storage of its gradient, so that
+ * {@link LossAndGradientReduceFunction} does not allocate a gradient for each slave.
+ */
+public class LossAndGradientCodec implements Reduce.ReusingCodec<Pair<Pair<Double, Integer>, Vector>> {
+
+  private final VectorCodec vectorCodec;
+
+  @Inject
+  public LossAndGradientCodec(final VectorCodec vectorCodec) {
+    this.vectorCodec = vectorCodec;
+  }
+
+  @Override
+  public byte[] encode(final Pair<Pair<Double, Integer>, Vector> lossAndGradient) {
+    final Vector gradient = lossAndGradient.getSecond();
+    final ByteBuffer buffer = ByteBuffer.allocate(
+        Double.SIZE / Byte.SIZE + Integer.SIZE / Byte.SIZE + vectorCodec.getEncodedSize(gradient));
+    buffer.putDouble(lossAndGradient.getFirst().getFirst());
+    buffer.putInt(lossAndGradient.getFirst().getSecond());
+    vectorCodec.encode(gradient, buffer);
+    return buffer.array();
+  }
+
+  @Override
+  public Pair<Pair<Double, Integer>, Vector> decode(final byte[] buf) {
+    return decode(buf, null);
+  }
+
+  @Override
+  public Pair<Pair<Double, Integer>, Vector> decode(final byte[] buf,
+                                                    final Pair<Pair<Double, Integer>, Vector> reuse) {
+    final ByteBuffer buffer = ByteBuffer.wrap(buf);
+    final double loss = buffer.getDouble();
+    final int numEx = buffer.getInt();
+    final Vector gradient = vectorCodec.decode(buffer, reuse == null ? null : reuse.getSecond());
+    return new Pair<>(new Pair<>(loss, numEx), gradient);
+  }
+}
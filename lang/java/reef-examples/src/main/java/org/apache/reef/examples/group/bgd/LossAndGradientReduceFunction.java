@@ -20,7 +20,7 @@ package org.apache.reef.examples.group.bgd;
 
 import org.apache.reef.examples.group.utils.math.DenseVector;
 import org.apache.reef.examples.group.utils.math.Vector;
-import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
 import org.apache.reef.io.network.util.Pair;
 
 import javax.inject.Inject;
@@ -29,7 +29,7 @@ import javax.inject.Inject;
  * Loss and gradient reduce function.
  */
 public class LossAndGradientReduceFunction
-    implements ReduceFunction<Pair<Pair<Double, Integer>, Vector>> {
+    implements InPlaceReduceFunction<Pair<Pair<Double, Integer>, Vector>> {
 
   @Inject
   public LossAndGradientReduceFunction() {
@@ -55,4 +55,13 @@ public class LossAndGradientReduceFunction
 
     return new Pair<>(new Pair<>(lossSum, numEx), combinedGradient);
   }
+
+  @Override
+  public Pair<Pair<Double, Integer>, Vector> combine(final Pair<Pair<Double, Integer>, Vector> accumulator,
+                                                     final Pair<Pair<Double, Integer>, Vector> lag) {
+    final Vector combinedGradient = accumulator.getSecond();
+    combinedGradient.add(lag.getSecond());
+    return new Pair<>(new Pair<>(accumulator.getFirst().getFirst() + lag.getFirst().getFirst(),
+        accumulator.getFirst().getSecond() + lag.getFirst().getSecond()), combinedGradient);
+  }
 }
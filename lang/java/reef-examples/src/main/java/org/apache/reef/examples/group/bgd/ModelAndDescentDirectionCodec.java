@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.examples.group.bgd;
+
+import org.apache.reef.examples.group.utils.math.Vector;
+import org.apache.reef.examples.group.utils.math.VectorCodec;
+import org.apache.reef.io.network.util.Pair;
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for the model and descent direction that the master broadcasts to the slaves.
+ */
+public class ModelAndDescentDirectionCodec implements Codec<Pair<Vector, Vector>> {
+
+  private final VectorCodec vectorCodec;
+
+  @Inject
+  public ModelAndDescentDirectionCodec(final VectorCodec vectorCodec) {
+    this.vectorCodec = vectorCodec;
+  }
+
+  @Override
+  public byte[] encode(final Pair<Vector, Vector> modelAndDescentDirection) {
+    final Vector model = modelAndDescentDirection.getFirst();
+    final Vector descentDirection = modelAndDescentDirection.getSecond();
+    final ByteBuffer buffer = ByteBuffer.allocate(
+        vectorCodec.getEncodedSize(model) + vectorCodec.getEncodedSize(descentDirection));
+    vectorCodec.encode(model, buffer);
+    vectorCodec.encode(descentDirection, buffer);
+    return buffer.array();
+  }
+
+  @Override
+  public Pair<Vector, Vector> decode(final byte[] buf) {
+    final ByteBuffer buffer = ByteBuffer.wrap(buf);
+    final Vector model = vectorCodec.decode(buffer, null);
+    return new Pair<>(model, vectorCodec.decode(buffer, null));
+  }
+}
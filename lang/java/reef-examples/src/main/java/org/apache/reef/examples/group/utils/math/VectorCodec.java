@@ -18,15 +18,18 @@
  */
 package org.apache.reef.examples.group.utils.math;
 
+import org.apache.reef.io.network.group.api.operators.Reduce;
 import org.apache.reef.wake.remote.Codec;
 
 import javax.inject.Inject;
 import java.io.*;
+import java.nio.ByteBuffer;
 
 /**
  * Codec for the Vector type Uses Data*Stream.
+ * Decoding can reuse the storage of a previously decoded DenseVector of the same size.
  */
-public class VectorCodec implements Codec<Vector> {
+public class VectorCodec implements Codec<Vector>, Reduce.ReusingCodec<Vector> {
   /**
    * This class is instantiated by TANG.
    */
@@ -51,6 +54,48 @@ public class VectorCodec implements Codec<Vector> {
     return result;
   }
 
+  @Override
+  public Vector decode(final byte[] data, final Vector reuse) {
+    return decode(ByteBuffer.wrap(data), reuse);
+  }
+
+  /**
+   * Decode a vector from the current position of the buffer and advance the position past it.
+   * Codecs of types that contain a vector use this to decode it in place.
+   *
+   * @param buffer buffer positioned at an encoded vector
+   * @param reuse vector returned by an earlier call, or null
+   * @return the decoded vector, which is {@code reuse} if it is a DenseVector of the same size
+   */
+  public Vector decode(final ByteBuffer buffer, final Vector reuse) {
+    final int size = buffer.getInt();
+    final boolean reusable = reuse instanceof DenseVector && reuse.size() == size;
+    final double[] values = reusable ? ((DenseVector) reuse).getValues() : new double[size];
+    buffer.asDoubleBuffer().get(values, 0, size);
+    buffer.position(buffer.position() + size * (Double.SIZE / Byte.SIZE));
+    return reusable ? reuse : new DenseVector(values);
+  }
+
+  /**
+   * Encode a vector at the current position of the buffer, in the format read by {@link #decode(ByteBuffer, Vector)}.
+   *
+   * @param vec the vector
+   * @param buffer buffer with at least {@link #getEncodedSize(Vector)} bytes remaining
+   */
+  public void encode(final Vector vec, final ByteBuffer buffer) {
+    buffer.putInt(vec.size());
+    for (int i = 0; i < vec.size(); i++) {
+      buffer.putDouble(vec.get(i));
+    }
+  }
+
+  /**
+   * @return the number of bytes {@link #encode(Vector, ByteBuffer)} writes for the vector
+   */
+  public int getEncodedSize(final Vector vec) {
+    return Integer.SIZE / Byte.SIZE + vec.size() * (Double.SIZE / Byte.SIZE);
+  }
+
   @Override
   public byte[] encode(final Vector vec) {
     final ByteArrayOutputStream baos = new ByteArrayOutputStream(vec.size()
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.examples.group.bgd;
+
+import org.apache.reef.examples.group.utils.math.DenseVector;
+import org.apache.reef.examples.group.utils.math.Vector;
+import org.apache.reef.examples.group.utils.math.VectorCodec;
+import org.apache.reef.io.network.util.Pair;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for LossAndGradientCodec.
+ */
+public class LossAndGradientCodecTest {
+
+  private final LossAndGradientCodec codec = new LossAndGradientCodec(new VectorCodec());
+
+  /**
+   * After the encode/decode cycle the loss, number of examples and gradient are unchanged.
+   */
+  @Test
+  public void testRoundTrip() {
+    final Pair<Pair<Double, Integer>, Vector> decoded =
+        codec.decode(codec.encode(lossAndGradient(1.5, 7, new double[]{0.25, -2.0, 3.0})));
+    assertLossAndGradient(1.5, 7, new double[]{0.25, -2.0, 3.0}, decoded);
+  }
+
+  /**
+   * Decoding into an earlier result reuses its gradient, as the reduce receiver does for each child.
+   */
+  @Test
+  public void testDecodeReusesGradient() {
+    final Pair<Pair<Double, Integer>, Vector> scratch =
+        codec.decode(codec.encode(lossAndGradient(1.0, 1, new double[]{1.0, 2.0})));
+    final Pair<Pair<Double, Integer>, Vector> decoded =
+        codec.decode(codec.encode(lossAndGradient(4.0, 3, new double[]{5.0, 6.0})), scratch);
+    Assert.assertSame(scratch.getSecond(), decoded.getSecond());
+    assertLossAndGradient(4.0, 3, new double[]{5.0, 6.0}, decoded);
+  }
+
+  /**
+   * A gradient of a different size cannot be reused, so a new one is allocated.
+   */
+  @Test
+  public void testDecodeDoesNotReuseGradientOfOtherSize() {
+    final Pair<Pair<Double, Integer>, Vector> scratch = lossAndGradient(1.0, 1, new double[]{1.0, 2.0});
+    final Pair<Pair<Double, Integer>, Vector> decoded =
+        codec.decode(codec.encode(lossAndGradient(4.0, 3, new double[]{5.0, 6.0, 7.0})), scratch);
+    Assert.assertNotSame(scratch.getSecond(), decoded.getSecond());
+    Assert.assertArrayEquals(new double[]{1.0, 2.0}, ((DenseVector) scratch.getSecond()).getValues(), 0.0);
+    assertLossAndGradient(4.0, 3, new double[]{5.0, 6.0, 7.0}, decoded);
+  }
+
+  private static Pair<Pair<Double, Integer>, Vector> lossAndGradient(final double loss, final int numEx,
+                                                                     final double[] gradient) {
+    return new Pair<Pair<Double, Integer>, Vector>(new Pair<>(loss, numEx), new DenseVector(gradient));
+  }
+
+  private static void assertLossAndGradient(final double loss, final int numEx, final double[] gradient,
+                                            final Pair<Pair<Double, Integer>, Vector> actual) {
+    Assert.assertEquals(loss, actual.getFirst().getFirst(), 0.0);
+    Assert.assertEquals(numEx, (int) actual.getFirst().getSecond());
+    Assert.assertEquals(gradient.length, actual.getSecond().size());
+    for (int i = 0; i < gradient.length; i++) {
+      Assert.assertEquals(gradient[i], actual.getSecond().get(i), 0.0);
+    }
+  }
+}
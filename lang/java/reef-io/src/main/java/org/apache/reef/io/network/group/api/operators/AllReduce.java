@@ -19,6 +19,8 @@
 package org.apache.reef.io.network.group.api.operators;
 
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.impl.operators.AllReduceImpl;
+import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
 import java.util.List;
@@ -28,6 +30,7 @@ import java.util.List;
  * type T. The result will be an element which is result of applying a reduce
  * function on the list of all elements on which this operator has been applied
  */
+@DefaultImplementation(AllReduceImpl.class)
 public interface AllReduce<T> extends GroupCommOperator {
 
   /**
@@ -21,6 +21,7 @@ package org.apache.reef.io.network.group.api.operators;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.group.impl.operators.ReduceReceiver;
 import org.apache.reef.io.network.group.impl.operators.ReduceSender;
+import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
@@ -96,4 +97,39 @@ public interface Reduce {
      */
     T apply(Iterable<T> elements);
   }
+
+  /**
+   * A {@link ReduceFunction} that folds elements into an accumulator one at a time.
+   * Reduce operators call {@link #combine} as each child's value arrives instead of
+   * collecting values for {@link #apply}, which lets functions over large values
+   * (e.g. gradient vectors) update a single buffer in place.
+   */
+  interface InPlaceReduceFunction<T> extends ReduceFunction<T> {
+    /**
+     * Fold an element into the accumulator.
+     * The accumulator is owned by the operator and may be modified in place.
+     * The element must not be retained, since its storage may be reused for the next child.
+     *
+     * @param accumulator result of reducing the elements seen so far
+     * @param element next element to reduce
+     * @return the updated accumulator, typically {@code accumulator} itself
+     */
+    T combine(T accumulator, T element);
+  }
+
+  /**
+   * A {@link Codec} that can decode into an object it decoded earlier.
+   * Used with an {@link InPlaceReduceFunction} so that receiving a value from
+   * each child does not allocate a new object.
+   */
+  interface ReusingCodec<T> extends Codec<T> {
+    /**
+     * Decode the given byte array, reusing the storage of {@code reuse} if possible.
+     *
+     * @param buf encoded object
+     * @param reuse object returned by an earlier call, or null
+     * @return the decoded object, which may be {@code reuse}
+     */
+    T decode(byte[] buf, T reuse);
+  }
 }
@@ -19,6 +19,8 @@
 package org.apache.reef.io.network.group.api.operators;
 
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.impl.operators.ReduceScatterImpl;
+import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.List;
  * The dummy root then keeps the portion of the list assigned to it and
  * scatters the remaining among the other tasks
  */
+@DefaultImplementation(ReduceScatterImpl.class)
 public interface ReduceScatter<T> extends GroupCommOperator {
 
   /**
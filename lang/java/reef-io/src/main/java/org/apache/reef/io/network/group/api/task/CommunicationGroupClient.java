@@ -19,10 +19,13 @@
 package org.apache.reef.io.network.group.api.task;
 
 import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.io.network.group.api.operators.AllGather;
+import org.apache.reef.io.network.group.api.operators.AllReduce;
 import org.apache.reef.io.network.group.api.operators.Broadcast;
 import org.apache.reef.io.network.group.api.operators.Gather;
 import org.apache.reef.io.network.group.api.operators.Reduce;
 import org.apache.reef.io.network.group.api.GroupChanges;
+import org.apache.reef.io.network.group.api.operators.ReduceScatter;
 import org.apache.reef.io.network.group.api.operators.Scatter;
 import org.apache.reef.io.network.group.impl.driver.TopologySimpleNode;
 import org.apache.reef.io.network.group.impl.task.CommunicationGroupClientImpl;
@@ -119,6 +122,33 @@ public interface CommunicationGroupClient {
    */
   Gather.Sender getGatherSender(Class<? extends Name<String>> operatorName);
 
+  /**
+   * Return the all-reduce operator configured on this communication group.
+   * {@code operatorName} is used to specify the all-reduce operator to return.
+   *
+   * @param operatorName
+   * @return
+   */
+  AllReduce getAllReduce(Class<? extends Name<String>> operatorName);
+
+  /**
+   * Return the all-gather operator configured on this communication group.
+   * {@code operatorName} is used to specify the all-gather operator to return.
+   *
+   * @param operatorName
+   * @return
+   */
+  AllGather getAllGather(Class<? extends Name<String>> operatorName);
+
+  /**
+   * Return the reduce-scatter operator configured on this communication group.
+   * {@code operatorName} is used to specify the reduce-scatter operator to return.
+   *
+   * @param operatorName
+   * @return
+   */
+  ReduceScatter getReduceScatter(Class<? extends Name<String>> operatorName);
+
   /**
    * @return Changes in topology of this communication group since the last time
    * this method was called
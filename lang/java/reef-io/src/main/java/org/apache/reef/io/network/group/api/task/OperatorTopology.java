@@ -57,9 +57,10 @@ public interface OperatorTopology {
   void sendToChildren(Map<String, byte[]> dataMap,
                       ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
 
-  <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec) throws ParentDeadException;
+  <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec,
+                         ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
 
-  byte[] recvFromChildren() throws ParentDeadException;
+  byte[] recvFromChildren(ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
 
   void initialize() throws ParentDeadException;
 }
@@ -72,7 +72,8 @@ public interface OperatorTopologyStruct {
 
   void sendToChildren(Map<String, byte[]> dataMap, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 
-  <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec);
+  <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec,
+                         ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 
-  byte[] recvFromChildren();
+  byte[] recvFromChildren(ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 }
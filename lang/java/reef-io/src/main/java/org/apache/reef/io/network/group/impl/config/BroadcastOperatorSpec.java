@@ -34,18 +34,35 @@ public class BroadcastOperatorSpec implements OperatorSpec {
    */
   private final Class<? extends Codec> dataCodecClass;
 
+  /**
+   * Size of the chunks the broadcast data is split into, in bytes.
+   * Zero or less means the data is sent as a single message.
+   */
+  private final int chunkSize;
+
 
   public BroadcastOperatorSpec(final String senderId,
                                final Class<? extends Codec> dataCodecClass) {
+    this(senderId, dataCodecClass, 0);
+  }
+
+  public BroadcastOperatorSpec(final String senderId,
+                               final Class<? extends Codec> dataCodecClass,
+                               final int chunkSize) {
     super();
     this.senderId = senderId;
     this.dataCodecClass = dataCodecClass;
+    this.chunkSize = chunkSize;
   }
 
   public String getSenderId() {
     return senderId;
   }
 
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
   @Override
   public Class<? extends Codec> getDataCodecClass() {
     return dataCodecClass;
@@ -54,7 +71,7 @@ public class BroadcastOperatorSpec implements OperatorSpec {
   @Override
   public String toString() {
     return "Broadcast Operator Spec: [sender=" + senderId + "] [dataCodecClass=" + Utils.simpleName(dataCodecClass)
-        + "]";
+        + "] [chunkSize=" + chunkSize + "]";
   }
 
   public static Builder newBuilder() {
@@ -66,6 +83,8 @@ public class BroadcastOperatorSpec implements OperatorSpec {
 
     private Class<? extends Codec> dataCodecClass;
 
+    private int chunkSize = 0;
+
 
     public Builder setSenderId(final String senderId) {
       this.senderId = senderId;
@@ -77,9 +96,22 @@ public class BroadcastOperatorSpec implements OperatorSpec {
       return this;
     }
 
+    /**
+     * Stream the broadcast data down the topology in chunks of the given size,
+     * so that intermediate nodes can forward a chunk while receiving the next one.
+     * Chunks should not exceed 1 MB, above which every chunk needs an extra handshake.
+     *
+     * @param chunkSize chunk size in bytes; zero or less disables chunking
+     * @return this builder
+     */
+    public Builder setChunkSize(final int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
     @Override
     public BroadcastOperatorSpec build() {
-      return new BroadcastOperatorSpec(senderId, dataCodecClass);
+      return new BroadcastOperatorSpec(senderId, dataCodecClass, chunkSize);
     }
   }
 
@@ -29,9 +29,12 @@ import org.apache.reef.io.network.group.api.config.OperatorSpec;
 import org.apache.reef.io.network.group.api.driver.CommunicationGroupDriver;
 import org.apache.reef.io.network.group.api.driver.Topology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.AllGatherOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.AllReduceOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.GatherOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.ReduceScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.utils.BroadcastingEventHandler;
@@ -264,6 +267,55 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
     return this;
   }
 
+  @Override
+  public CommunicationGroupDriver addAllReduce(final Class<? extends Name<String>> operatorName,
+                                               final AllReduceOperatorSpec spec) {
+    return addRootedOperator("addAllReduce", operatorName, spec, spec.getRootId());
+  }
+
+  @Override
+  public CommunicationGroupDriver addAllGather(final Class<? extends Name<String>> operatorName,
+                                               final AllGatherOperatorSpec spec) {
+    return addRootedOperator("addAllGather", operatorName, spec, spec.getRootId());
+  }
+
+  @Override
+  public CommunicationGroupDriver addReduceScatter(final Class<? extends Name<String>> operatorName,
+                                                   final ReduceScatterOperatorSpec spec) {
+    return addRootedOperator("addReduceScatter", operatorName, spec, spec.getRootId());
+  }
+
+  /**
+   * Registers an operator whose topology is rooted at the given task.
+   * Used by the operators that send data both up and down the tree.
+   */
+  private CommunicationGroupDriver addRootedOperator(final String methodName,
+                                                     final Class<? extends Name<String>> operatorName,
+                                                     final OperatorSpec spec,
+                                                     final String rootId) {
+    LOG.entering("CommunicationGroupDriverImpl", methodName,
+        new Object[]{getQualifiedName(), Utils.simpleName(operatorName), spec});
+    if (finalised) {
+      throw new IllegalStateException("Can't add more operators to a finalised spec");
+    }
+    operatorSpecs.put(operatorName, spec);
+
+    final Topology topology;
+    try {
+      topology = topologyFactory.getNewInstance(operatorName, topologyClass);
+    } catch (final InjectionException e) {
+      LOG.log(Level.WARNING, "Cannot inject new topology named {0}", operatorName);
+      throw new RuntimeException(e);
+    }
+
+    topology.setRootTask(rootId);
+    topology.setOperatorSpecification(spec);
+    topologies.put(operatorName, topology);
+    LOG.exiting("CommunicationGroupDriverImpl", methodName,
+        Arrays.toString(new Object[]{getQualifiedName(), Utils.simpleName(operatorName), spec}));
+    return this;
+  }
+
   @Override
   public Configuration getTaskConfiguration(final Configuration taskConf) {
     LOG.entering("CommunicationGroupDriverImpl", "getTaskConfiguration",
@@ -27,9 +27,12 @@ import org.apache.reef.io.network.group.api.driver.Topology;
 import org.apache.reef.io.network.group.impl.GroupChangesCodec;
 import org.apache.reef.io.network.group.impl.GroupChangesImpl;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.AllGatherOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.AllReduceOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.GatherOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.ReduceScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.operators.*;
@@ -120,6 +123,9 @@ public final class FlatTopology implements Topology {
     jcb.bindNamedParameter(TaskVersion.class, Integer.toString(version));
     if (operatorSpec instanceof BroadcastOperatorSpec) {
       final BroadcastOperatorSpec broadcastOperatorSpec = (BroadcastOperatorSpec) operatorSpec;
+      if (broadcastOperatorSpec.getChunkSize() > 0) {
+        jcb.bindNamedParameter(BroadcastChunkSize.class, Integer.toString(broadcastOperatorSpec.getChunkSize()));
+      }
       if (taskId.equals(broadcastOperatorSpec.getSenderId())) {
         jcb.bindImplementation(GroupCommOperator.class, BroadcastSender.class);
       } else {
@@ -147,6 +153,20 @@ public final class FlatTopology implements Topology {
       } else {
         jcb.bindImplementation(GroupCommOperator.class, GatherSender.class);
       }
+    } else if (operatorSpec instanceof AllReduceOperatorSpec) {
+      final AllReduceOperatorSpec allReduceOperatorSpec = (AllReduceOperatorSpec) operatorSpec;
+      jcb.bindNamedParameter(ReduceFunctionParam.class, allReduceOperatorSpec.getRedFuncClass());
+      jcb.bindNamedParameter(RootTaskId.class, allReduceOperatorSpec.getRootId());
+      jcb.bindImplementation(GroupCommOperator.class, AllReduceImpl.class);
+    } else if (operatorSpec instanceof AllGatherOperatorSpec) {
+      final AllGatherOperatorSpec allGatherOperatorSpec = (AllGatherOperatorSpec) operatorSpec;
+      jcb.bindNamedParameter(RootTaskId.class, allGatherOperatorSpec.getRootId());
+      jcb.bindImplementation(GroupCommOperator.class, AllGatherImpl.class);
+    } else if (operatorSpec instanceof ReduceScatterOperatorSpec) {
+      final ReduceScatterOperatorSpec reduceScatterOperatorSpec = (ReduceScatterOperatorSpec) operatorSpec;
+      jcb.bindNamedParameter(ReduceFunctionParam.class, reduceScatterOperatorSpec.getRedFuncClass());
+      jcb.bindNamedParameter(RootTaskId.class, reduceScatterOperatorSpec.getRootId());
+      jcb.bindImplementation(GroupCommOperator.class, ReduceScatterImpl.class);
     }
     return jcb.build();
   }
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.AllReduce;
+import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * AllReduce over the operator topology.
+ * <p>
+ * Every task reduces the values of its subtree and sends the result to its parent,
+ * and the value reduced at the root is then relayed back down the same tree.
+ * Each task only talks to its parent and children, so the traffic handled by
+ * a single task is bounded by the fan-out of the topology rather than the
+ * size of the group, and a single operator call replaces a Reduce followed
+ * by a Broadcast.
+ */
+public final class AllReduceImpl<T> implements AllReduce<T>, EventHandler<GroupCommunicationMessage> {
+
+  private static final Logger LOG = Logger.getLogger(AllReduceImpl.class.getName());
+
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final Codec<T> dataCodec;
+  private final ReduceFunction<T> reduceFunction;
+  private final OperatorTopology topology;
+  private final CommunicationGroupServiceClient commGroupClient;
+  private final AtomicBoolean init = new AtomicBoolean(false);
+  private final int version;
+  private final boolean isRoot;
+
+  @Inject
+  public AllReduceImpl(@Parameter(CommunicationGroupName.class) final String groupName,
+                       @Parameter(OperatorName.class) final String operName,
+                       @Parameter(TaskConfigurationOptions.Identifier.class) final String selfId,
+                       @Parameter(DataCodec.class) final Codec<T> dataCodec,
+                       @Parameter(ReduceFunctionParam.class) final ReduceFunction<T> reduceFunction,
+                       @Parameter(DriverIdentifierGroupComm.class) final String driverId,
+                       @Parameter(TaskVersion.class) final int version,
+                       @Parameter(RootTaskId.class) final String rootId,
+                       final CommGroupNetworkHandler commGroupNetworkHandler,
+                       final NetworkService<GroupCommunicationMessage> netService,
+                       final CommunicationGroupServiceClient commGroupClient) {
+    LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
+    this.version = version;
+    this.groupName = Utils.getClass(groupName);
+    this.operName = Utils.getClass(operName);
+    this.dataCodec = dataCodec;
+    this.reduceFunction = reduceFunction;
+    this.isRoot = selfId.equals(rootId);
+    this.topology = new OperatorTopologyImpl(this.groupName, this.operName,
+                                             selfId, driverId, new Sender(netService), version);
+    this.commGroupClient = commGroupClient;
+    commGroupNetworkHandler.register(this.operName, this);
+  }
+
+  @Override
+  public int getVersion() {
+    return version;
+  }
+
+  @Override
+  public void initialize() throws ParentDeadException {
+    topology.initialize();
+  }
+
+  @Override
+  public Class<? extends Name<String>> getOperName() {
+    return operName;
+  }
+
+  @Override
+  public Class<? extends Name<String>> getGroupName() {
+    return groupName;
+  }
+
+  @Override
+  public String toString() {
+    return "AllReduce:" + Utils.simpleName(groupName) + ":" + Utils.simpleName(operName) + ":" + version;
+  }
+
+  @Override
+  public void onNext(final GroupCommunicationMessage msg) {
+    topology.handle(msg);
+  }
+
+  @Override
+  public T apply(final T element) throws InterruptedException, NetworkException {
+    LOG.entering("AllReduceImpl", "apply", this);
+    LOG.fine("I am " + this);
+
+    if (init.compareAndSet(false, true)) {
+      LOG.fine(this + " Communication group initializing");
+      commGroupClient.initialize();
+      LOG.fine(this + " Communication group initialized");
+    }
+
+    final T retVal;
+    try {
+      LOG.finest(this + " Waiting for children");
+      final T reducedValueOfChildren = topology.recvFromChildren(reduceFunction, dataCodec,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllReduce);
+      final T reducedValueOfSubtree;
+      if (reducedValueOfChildren != null && reduceFunction instanceof Reduce.InPlaceReduceFunction) {
+        // The children's value is an accumulator owned by this operator, so my element can be folded into it
+        reducedValueOfSubtree =
+            ((Reduce.InPlaceReduceFunction<T>) reduceFunction).combine(reducedValueOfChildren, element);
+      } else {
+        final List<T> vals = new ArrayList<>(2);
+        vals.add(element);
+        if (reducedValueOfChildren != null) {
+          vals.add(reducedValueOfChildren);
+        }
+        reducedValueOfSubtree = reduceFunction.apply(vals);
+      }
+
+      final byte[] data;
+      if (isRoot) {
+        // The value of my subtree is the value of the whole group.
+        retVal = reducedValueOfSubtree;
+        data = dataCodec.encode(retVal);
+      } else {
+        LOG.finest(this + " Sending reduced value to parent and waiting for the result");
+        topology.sendToParent(dataCodec.encode(reducedValueOfSubtree),
+            ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllReduce);
+        data = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllReduce);
+        if (data == null) {
+          LOG.fine(this + " Received null. Perhaps one of my ancestors is dead.");
+          LOG.exiting("AllReduceImpl", "apply", this);
+          return null;
+        }
+        retVal = dataCodec.decode(data);
+      }
+
+      LOG.finest(this + " Sending result to children");
+      topology.sendToChildren(data, ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllReduce);
+    } catch (final ParentDeadException e) {
+      throw new RuntimeException("ParentDeadException", e);
+    }
+    LOG.exiting("AllReduceImpl", "apply", this);
+    return retVal;
+  }
+
+  /**
+   * Not supported. Each task folds the values of its children into its own as they arrive,
+   * so the reduce function sees the values in the order of the topology, not in a given order of tasks.
+   * Like {@link ReduceReceiver#reduce(List)}, this relies on a commutative and associative reduce function;
+   * use {@link #apply(Object)} instead.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public T apply(final T element, final List<? extends Identifier> order)
+      throws InterruptedException, NetworkException {
+    throw new UnsupportedOperationException(this + " reduces in the order of the topology; use apply(element)");
+  }
+
+  @Override
+  public ReduceFunction<T> getReduceFunction() {
+    return reduceFunction;
+  }
+}
@@ -29,6 +29,7 @@ import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient
 import org.apache.reef.io.network.group.api.task.OperatorTopology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.ChunkHelper;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
@@ -60,6 +61,8 @@ public class BroadcastReceiver<T> implements Broadcast.Receiver<T>, EventHandler
 
   private final int version;
 
+  private final int chunkSize;
+
   @Inject
   public BroadcastReceiver(@Parameter(CommunicationGroupName.class) final String groupName,
                            @Parameter(OperatorName.class) final String operName,
@@ -67,11 +70,13 @@ public class BroadcastReceiver<T> implements Broadcast.Receiver<T>, EventHandler
                            @Parameter(DataCodec.class) final Codec<T> dataCodec,
                            @Parameter(DriverIdentifierGroupComm.class) final String driverId,
                            @Parameter(TaskVersion.class) final int version,
+                           @Parameter(BroadcastChunkSize.class) final int chunkSize,
                            final CommGroupNetworkHandler commGroupNetworkHandler,
                            final NetworkService<GroupCommunicationMessage> netService,
                            final CommunicationGroupServiceClient commGroupClient) {
     super();
     this.version = version;
+    this.chunkSize = chunkSize;
     LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
@@ -131,7 +136,12 @@ public class BroadcastReceiver<T> implements Broadcast.Receiver<T>, EventHandler
     LOG.fine(this + " Waiting to receive broadcast");
     final byte[] data;
     try {
-      data = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      if (chunkSize > 0) {
+        // Chunks are forwarded to children as they arrive
+        data = receiveChunked();
+      } else {
+        data = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      }
       // TODO: Should receive the identity element instead of null
       if (data == null) {
         LOG.fine(this + " Received null. Perhaps one of my ancestors is dead.");
@@ -143,7 +153,9 @@ public class BroadcastReceiver<T> implements Broadcast.Receiver<T>, EventHandler
         LOG.finest(this + " Sending to children.");
       }
 
-      topology.sendToChildren(data, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      if (chunkSize <= 0) {
+        topology.sendToChildren(data, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      }
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
     }
@@ -151,4 +163,39 @@ public class BroadcastReceiver<T> implements Broadcast.Receiver<T>, EventHandler
     return retVal;
   }
 
+  /**
+   * Receive a chunked broadcast from the parent, forwarding the header and
+   * every chunk to the children before copying it into the result.
+   *
+   * @return the reassembled data, or null if the parent did not send all of it
+   * @throws ParentDeadException
+   */
+  private byte[] receiveChunked() throws ParentDeadException {
+    final byte[] header = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+    if (header == null) {
+      return null;
+    }
+    topology.sendToChildren(header, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+
+    final int totalLength = ChunkHelper.decodeHeader(header);
+    LOG.finest(this + " Receiving " + totalLength + " bytes in chunks");
+    final byte[] data = new byte[totalLength];
+    int offset = 0;
+    while (offset < totalLength) {
+      final byte[] chunk = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      if (chunk == null) {
+        LOG.fine(this + " Received null chunk after " + offset + " of " + totalLength + " bytes");
+        return null;
+      }
+      if (offset + chunk.length > totalLength) {
+        throw new RuntimeException(this + " Received " + (offset + chunk.length) + " bytes but expected only "
+            + totalLength);
+      }
+      topology.sendToChildren(chunk, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      System.arraycopy(chunk, 0, data, offset, chunk.length);
+      offset += chunk.length;
+    }
+    return data;
+  }
+
 }
@@ -29,6 +29,7 @@ import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient
 import org.apache.reef.io.network.group.api.task.OperatorTopology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.ChunkHelper;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
@@ -60,6 +61,8 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
 
   private final int version;
 
+  private final int chunkSize;
+
   @Inject
   public BroadcastSender(@Parameter(CommunicationGroupName.class) final String groupName,
                          @Parameter(OperatorName.class) final String operName,
@@ -67,11 +70,13 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
                          @Parameter(DataCodec.class) final Codec<T> dataCodec,
                          @Parameter(DriverIdentifierGroupComm.class) final String driverId,
                          @Parameter(TaskVersion.class) final int version,
+                         @Parameter(BroadcastChunkSize.class) final int chunkSize,
                          final CommGroupNetworkHandler commGroupNetworkHandler,
                          final NetworkService<GroupCommunicationMessage> netService,
                          final CommunicationGroupServiceClient commGroupClient) {
     super();
     this.version = version;
+    this.chunkSize = chunkSize;
     LOG.finest(operName + "has CommGroupHandler-" + commGroupNetworkHandler.toString());
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
@@ -126,11 +131,34 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
     }
 
     try {
-      topology.sendToChildren(dataCodec.encode(element), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      final byte[] data = dataCodec.encode(element);
+      if (chunkSize > 0) {
+        sendChunked(data);
+      } else {
+        topology.sendToChildren(data, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      }
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
     }
     LOG.exiting("BroadcastSender", "send", this);
   }
 
+  /**
+   * Send {@code data} to the children as a header followed by chunks of at most {@code chunkSize} bytes.
+   * Receivers forward each chunk as soon as it arrives, so the transfer is pipelined down the tree.
+   *
+   * @param data encoded broadcast data
+   * @throws ParentDeadException
+   */
+  private void sendChunked(final byte[] data) throws ParentDeadException {
+    final int chunkCount = ChunkHelper.getChunkCount(data.length, chunkSize);
+    LOG.finest(this + " Sending " + data.length + " bytes as " + chunkCount + " chunks");
+    topology.sendToChildren(ChunkHelper.encodeHeader(data.length),
+        ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+    for (int i = 0; i < chunkCount; i++) {
+      topology.sendToChildren(ChunkHelper.getChunk(data, i, chunkSize),
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+    }
+  }
+
 }
@@ -30,6 +30,7 @@ import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.Parameter;
@@ -162,7 +163,8 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
     final Map<String, T> mapOfTaskIdToData = new HashMap<>();
     try {
       LOG.fine(this + " Waiting for children.");
-      final byte[] gatheredDataFromChildren = topology.recvFromChildren();
+      final byte[] gatheredDataFromChildren = topology.recvFromChildren(
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
 
       LOG.fine("Using " + dataCodec.getClass().getSimpleName() + " as codec.");
       try (final ByteArrayInputStream bstream = new ByteArrayInputStream(gatheredDataFromChildren);
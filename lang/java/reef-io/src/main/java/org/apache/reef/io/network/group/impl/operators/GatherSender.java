@@ -128,7 +128,8 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
 
     try {
       LOG.finest(this + " Waiting for children.");
-      final byte[] gatheredData = topology.recvFromChildren();
+      final byte[] gatheredData = topology.recvFromChildren(
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
       final byte[] encodedMyData = dataCodec.encode(myData);
 
       try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
@@ -31,6 +31,7 @@ import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
 import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.Parameter;
@@ -132,7 +133,8 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
     // Wait for children to send
     final T redVal;
     try {
-      redVal = topology.recvFromChildren(reduceFunction, dataCodec);
+      redVal = topology.recvFromChildren(reduceFunction, dataCodec,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
     }
@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.network.group.api.operators.ReduceScatter;
+import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.ScatterData;
+import org.apache.reef.io.network.group.impl.utils.ScatterDecoder;
+import org.apache.reef.io.network.group.impl.utils.ScatterEncoder;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * ReduceScatter over the operator topology.
+ * <p>
+ * Lists are reduced element-wise up the tree, like {@link ReduceSender} does for single
+ * values, and the root then scatters the reduced list back down the same tree using
+ * the {@link ScatterEncoder} wire format. Only the {@code counts} and {@code order}
+ * given at the root are used to split the reduced list; other tasks may pass their own
+ * but they are ignored.
+ */
+public final class ReduceScatterImpl<T> implements ReduceScatter<T>, EventHandler<GroupCommunicationMessage> {
+
+  private static final Logger LOG = Logger.getLogger(ReduceScatterImpl.class.getName());
+
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final Codec<T> dataCodec;
+  private final Codec<List<T>> listCodec;
+  private final ReduceFunction<T> reduceFunction;
+  private final ReduceFunction<List<T>> listReduceFunction;
+  private final OperatorTopology topology;
+  private final CommunicationGroupServiceClient commGroupClient;
+  private final AtomicBoolean init = new AtomicBoolean(false);
+  private final int version;
+  private final boolean isRoot;
+  private final Identifier selfIdentifier;
+  private final ScatterEncoder scatterEncoder;
+  private final ScatterDecoder scatterDecoder;
+
+  @Inject
+  public ReduceScatterImpl(@Parameter(CommunicationGroupName.class) final String groupName,
+                           @Parameter(OperatorName.class) final String operName,
+                           @Parameter(TaskConfigurationOptions.Identifier.class) final String selfId,
+                           @Parameter(DataCodec.class) final Codec<T> dataCodec,
+                           @Parameter(ReduceFunctionParam.class) final ReduceFunction<T> reduceFunction,
+                           @Parameter(DriverIdentifierGroupComm.class) final String driverId,
+                           @Parameter(TaskVersion.class) final int version,
+                           @Parameter(RootTaskId.class) final String rootId,
+                           final CommGroupNetworkHandler commGroupNetworkHandler,
+                           final NetworkService<GroupCommunicationMessage> netService,
+                           final CommunicationGroupServiceClient commGroupClient,
+                           final ScatterEncoder scatterEncoder,
+                           final ScatterDecoder scatterDecoder) {
+    LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
+    this.version = version;
+    this.groupName = Utils.getClass(groupName);
+    this.operName = Utils.getClass(operName);
+    this.dataCodec = dataCodec;
+    this.listCodec = new ListCodec<>(dataCodec);
+    this.reduceFunction = reduceFunction;
+    this.listReduceFunction = new ElementwiseReduceFunction<>(reduceFunction);
+    this.isRoot = selfId.equals(rootId);
+    this.selfIdentifier = netService.getIdentifierFactory().getNewInstance(selfId);
+    this.scatterEncoder = scatterEncoder;
+    this.scatterDecoder = scatterDecoder;
+    this.topology = new OperatorTopologyImpl(this.groupName, this.operName,
+                                             selfId, driverId, new Sender(netService), version);
+    this.commGroupClient = commGroupClient;
+    commGroupNetworkHandler.register(this.operName, this);
+  }
+
+  @Override
+  public int getVersion() {
+    return version;
+  }
+
+  @Override
+  public void initialize() throws ParentDeadException {
+    topology.initialize();
+  }
+
+  @Override
+  public Class<? extends Name<String>> getOperName() {
+    return operName;
+  }
+
+  @Override
+  public Class<? extends Name<String>> getGroupName() {
+    return groupName;
+  }
+
+  @Override
+  public String toString() {
+    return "ReduceScatter:" + Utils.simpleName(groupName) + ":" + Utils.simpleName(operName) + ":" + version;
+  }
+
+  @Override
+  public void onNext(final GroupCommunicationMessage msg) {
+    topology.handle(msg);
+  }
+
+  @Override
+  public List<T> apply(final List<T> elements, final List<Integer> counts)
+      throws InterruptedException, NetworkException {
+    LOG.entering("ReduceScatterImpl", "apply");
+    initializeGroup();
+
+    final List<Identifier> order;
+    if (isRoot) {
+      // every task in the group, myself included, in lexicographical order of task ids
+      order = new ArrayList<>(commGroupClient.getActiveSlaveTasks());
+      order.add(selfIdentifier);
+      Collections.sort(order, new Comparator<Identifier>() {
+        @Override
+        public int compare(final Identifier o1, final Identifier o2) {
+          return o1.toString().compareTo(o2.toString());
+        }
+      });
+    } else {
+      order = Collections.emptyList();
+    }
+
+    final List<T> retList = apply(elements, counts, order);
+    LOG.exiting("ReduceScatterImpl", "apply");
+    return retList;
+  }
+
+  @Override
+  public List<T> apply(final List<T> elements, final List<Integer> counts,
+                       final List<? extends Identifier> order) throws InterruptedException, NetworkException {
+    LOG.entering("ReduceScatterImpl", "apply");
+    LOG.fine("I am " + this);
+    initializeGroup();
+
+    final List<T> retList;
+    try {
+      LOG.finest(this + " Waiting for children");
+      final List<T> reducedListOfChildren = topology.recvFromChildren(listReduceFunction, listCodec,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.ReduceScatter);
+      final List<List<T>> lists = new ArrayList<>(2);
+      lists.add(elements);
+      if (reducedListOfChildren != null) {
+        lists.add(reducedListOfChildren);
+      }
+      final List<T> reducedListOfSubtree = listReduceFunction.apply(lists);
+
+      if (isRoot) {
+        retList = scatterFromRoot(reducedListOfSubtree, counts, order);
+      } else {
+        LOG.finest(this + " Sending reduced list to parent and waiting for my portion");
+        topology.sendToParent(listCodec.encode(reducedListOfSubtree),
+            ReefNetworkGroupCommProtos.GroupCommMessage.Type.ReduceScatter);
+        final byte[] data = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.ReduceScatter);
+        if (data == null) {
+          LOG.fine(this + " Received null. Perhaps one of my ancestors is dead.");
+          LOG.exiting("ReduceScatterImpl", "apply", null);
+          return null;
+        }
+
+        final ScatterData scatterData = scatterDecoder.decode(data);
+        LOG.fine(this + " Trying to propagate messages to children.");
+        topology.sendToChildren(scatterData.getChildrenData(),
+            ReefNetworkGroupCommProtos.GroupCommMessage.Type.ReduceScatter);
+
+        retList = new LinkedList<>();
+        for (final byte[] singleData : scatterData.getMyData()) {
+          retList.add(dataCodec.decode(singleData));
+        }
+      }
+    } catch (final ParentDeadException e) {
+      throw new RuntimeException("ParentDeadException", e);
+    }
+
+    LOG.exiting("ReduceScatterImpl", "apply", retList);
+    return retList;
+  }
+
+  private List<T> scatterFromRoot(final List<T> reducedList, final List<Integer> counts,
+                                  final List<? extends Identifier> order) throws ParentDeadException {
+    if (counts.size() != order.size()) {
+      throw new RuntimeException("Parameter 'counts' has size " + counts.size()
+          + ", but parameter 'order' has size " + order.size() + ".");
+    }
+
+    int myOffset = 0;
+    int myCount = 0;
+    int totalCount = 0;
+    for (int index = 0; index < order.size(); index++) {
+      if (order.get(index).toString().equals(selfIdentifier.toString())) {
+        myOffset = totalCount;
+        myCount = counts.get(index);
+      }
+      totalCount += counts.get(index);
+    }
+    if (totalCount != reducedList.size()) {
+      throw new RuntimeException("Parameter 'counts' adds up to " + totalCount
+          + ", but " + reducedList.size() + " elements were reduced.");
+    }
+
+    LOG.fine(this + " Encoding data and determining which Tasks receive which elements.");
+    final Map<String, byte[]> mapOfChildIdToBytes = scatterEncoder.encode(reducedList, counts, order, dataCodec);
+    topology.sendToChildren(mapOfChildIdToBytes, ReefNetworkGroupCommProtos.GroupCommMessage.Type.ReduceScatter);
+
+    return new LinkedList<>(reducedList.subList(myOffset, myOffset + myCount));
+  }
+
+  private void initializeGroup() {
+    if (init.compareAndSet(false, true)) {
+      LOG.fine(this + " Communication group initializing.");
+      commGroupClient.initialize();
+      LOG.fine(this + " Communication group initialized.");
+    }
+  }
+
+  @Override
+  public ReduceFunction<T> getReduceFunction() {
+    return reduceFunction;
+  }
+
+  /**
+   * Applies the configured reduce function on the elements at the same position in each list.
+   */
+  private static final class ElementwiseReduceFunction<T> implements ReduceFunction<List<T>> {
+
+    private final ReduceFunction<T> reduceFunction;
+
+    ElementwiseReduceFunction(final ReduceFunction<T> reduceFunction) {
+      this.reduceFunction = reduceFunction;
+    }
+
+    @Override
+    public List<T> apply(final Iterable<List<T>> lists) {
+      List<T> retList = null;
+      for (final List<T> list : lists) {
+        if (retList == null) {
+          retList = new ArrayList<>(list);
+          continue;
+        }
+        if (list.size() != retList.size()) {
+          throw new RuntimeException("Cannot reduce lists of different sizes: "
+              + retList.size() + " and " + list.size());
+        }
+        final List<T> pair = new ArrayList<>(2);
+        for (int index = 0; index < retList.size(); index++) {
+          pair.clear();
+          pair.add(retList.get(index));
+          pair.add(list.get(index));
+          retList.set(index, reduceFunction.apply(pair));
+        }
+      }
+      return retList;
+    }
+  }
+
+  /**
+   * Encodes a list as its size followed by each length-prefixed encoded element.
+   */
+  private static final class ListCodec<T> implements Codec<List<T>> {
+
+    private final Codec<T> codec;
+
+    ListCodec(final Codec<T> codec) {
+      this.codec = codec;
+    }
+
+    @Override
+    public byte[] encode(final List<T> list) {
+      try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
+           final DataOutputStream dstream = new DataOutputStream(bstream)) {
+        dstream.writeInt(list.size());
+        for (final T element : list) {
+          final byte[] encodedElement = codec.encode(element);
+          dstream.writeInt(encodedElement.length);
+          dstream.write(encodedElement);
+        }
+        dstream.flush();
+        return bstream.toByteArray();
+      } catch (final IOException e) {
+        throw new RuntimeException("IOException", e);
+      }
+    }
+
+    @Override
+    public List<T> decode(final byte[] data) {
+      try (final DataInputStream dstream = new DataInputStream(new ByteArrayInputStream(data))) {
+        final int size = dstream.readInt();
+        final List<T> list = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+          final byte[] encodedElement = new byte[dstream.readInt()];
+          dstream.readFully(encodedElement);
+          list.add(codec.decode(encodedElement));
+        }
+        return list;
+      } catch (final IOException e) {
+        throw new RuntimeException("IOException", e);
+      }
+    }
+  }
+}
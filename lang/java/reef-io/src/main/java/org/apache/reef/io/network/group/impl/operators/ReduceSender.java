@@ -137,13 +137,20 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
     LOG.finest("Waiting for children");
     // Wait for children to send
     try {
-      final T reducedValueOfChildren = topology.recvFromChildren(reduceFunction, dataCodec);
-      final List<T> vals = new ArrayList<>(2);
-      vals.add(myData);
-      if (reducedValueOfChildren != null) {
-        vals.add(reducedValueOfChildren);
+      final T reducedValueOfChildren = topology.recvFromChildren(reduceFunction, dataCodec,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
+      final T reducedValue;
+      if (reducedValueOfChildren != null && reduceFunction instanceof Reduce.InPlaceReduceFunction) {
+        // The children's value is an accumulator owned by this operator, so my data can be folded into it
+        reducedValue = ((Reduce.InPlaceReduceFunction<T>) reduceFunction).combine(reducedValueOfChildren, myData);
+      } else {
+        final List<T> vals = new ArrayList<>(2);
+        vals.add(myData);
+        if (reducedValueOfChildren != null) {
+          vals.add(reducedValueOfChildren);
+        }
+        reducedValue = reduceFunction.apply(vals);
       }
-      final T reducedValue = reduceFunction.apply(vals);
       topology.sendToParent(dataCodec.encode(reducedValue), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
@@ -34,6 +34,7 @@ import org.apache.reef.io.network.group.impl.GroupChangesImpl;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.config.parameters.CommunicationGroupName;
 import org.apache.reef.io.network.group.impl.config.parameters.OperatorName;
+import org.apache.reef.io.network.group.impl.config.parameters.RootTaskId;
 import org.apache.reef.io.network.group.impl.config.parameters.SerializedOperConfigs;
 import org.apache.reef.io.network.group.impl.operators.Sender;
 import org.apache.reef.io.network.group.impl.utils.Utils;
@@ -125,6 +126,12 @@ public final class CommunicationGroupClientImpl implements CommunicationGroupSer
           LOG.fine(operName + " is a scatter sender. Will keep track of active slave tasks.");
           operatorIsScatterSender = true;
         }
+
+        if (!operatorIsScatterSender && operator instanceof ReduceScatter
+            && taskId.equals(forkedInjector.getNamedInstance(RootTaskId.class))) {
+          LOG.fine(operName + " is the root of a reduce scatter. Will keep track of active slave tasks.");
+          operatorIsScatterSender = true;
+        }
       }
       this.isScatterSender = operatorIsScatterSender;
     } catch (final InjectionException | IOException e) {
@@ -237,6 +244,45 @@ public final class CommunicationGroupClientImpl implements CommunicationGroupSer
     return (Gather.Sender) op;
   }
 
+  @Override
+  public AllReduce getAllReduce(final Class<? extends Name<String>> operatorName) {
+    LOG.entering("CommunicationGroupClientImpl", "getAllReduce", new Object[]{getQualifiedName(),
+        Utils.simpleName(operatorName)});
+    final GroupCommOperator op = operators.get(operatorName);
+    if (!(op instanceof AllReduce)) {
+      throw new RuntimeException("Configured operator is not an all-reduce");
+    }
+    commGroupNetworkHandler.addTopologyElement(operatorName);
+    LOG.exiting("CommunicationGroupClientImpl", "getAllReduce", getQualifiedName() + op);
+    return (AllReduce) op;
+  }
+
+  @Override
+  public AllGather getAllGather(final Class<? extends Name<String>> operatorName) {
+    LOG.entering("CommunicationGroupClientImpl", "getAllGather", new Object[]{getQualifiedName(),
+        Utils.simpleName(operatorName)});
+    final GroupCommOperator op = operators.get(operatorName);
+    if (!(op instanceof AllGather)) {
+      throw new RuntimeException("Configured operator is not an all-gather");
+    }
+    commGroupNetworkHandler.addTopologyElement(operatorName);
+    LOG.exiting("CommunicationGroupClientImpl", "getAllGather", getQualifiedName() + op);
+    return (AllGather) op;
+  }
+
+  @Override
+  public ReduceScatter getReduceScatter(final Class<? extends Name<String>> operatorName) {
+    LOG.entering("CommunicationGroupClientImpl", "getReduceScatter", new Object[]{getQualifiedName(),
+        Utils.simpleName(operatorName)});
+    final GroupCommOperator op = operators.get(operatorName);
+    if (!(op instanceof ReduceScatter)) {
+      throw new RuntimeException("Configured operator is not a reduce-scatter");
+    }
+    commGroupNetworkHandler.addTopologyElement(operatorName);
+    LOG.exiting("CommunicationGroupClientImpl", "getReduceScatter", getQualifiedName() + op);
+    return (ReduceScatter) op;
+  }
+
   @Override
   public void initialize() {
     LOG.entering("CommunicationGroupClientImpl", "initialize", getQualifiedName());
@@ -237,22 +237,24 @@ public class OperatorTopologyImpl implements OperatorTopology {
   }
 
   @Override
-  public <T> T recvFromChildren(final Reduce.ReduceFunction<T> redFunc, final Codec<T> dataCodec)
+  public <T> T recvFromChildren(final Reduce.ReduceFunction<T> redFunc, final Codec<T> dataCodec,
+                                final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
       throws ParentDeadException {
     LOG.entering("OperatorTopologyImpl", "recvFromChildren", getQualifiedName());
     refreshEffectiveTopology();
     assert effectiveTopology != null;
-    final T retVal = effectiveTopology.recvFromChildren(redFunc, dataCodec);
+    final T retVal = effectiveTopology.recvFromChildren(redFunc, dataCodec, msgType);
     LOG.exiting("OperatorTopologyImpl", "recvFromChildren", getQualifiedName());
     return retVal;
   }
 
   @Override
-  public byte[] recvFromChildren() throws ParentDeadException {
+  public byte[] recvFromChildren(final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
+      throws ParentDeadException {
     LOG.entering("OperatorTopologyImpl", "recvFromChildren", getQualifiedName());
     refreshEffectiveTopology();
     assert effectiveTopology != null;
-    final byte[] retVal = effectiveTopology.recvFromChildren();
+    final byte[] retVal = effectiveTopology.recvFromChildren(msgType);
     LOG.exiting("OperatorTopologyImpl", "recvFromChildren", getQualifiedName());
     return retVal;
   }
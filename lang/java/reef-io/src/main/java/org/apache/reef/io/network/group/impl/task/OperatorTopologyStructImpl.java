@@ -18,8 +18,8 @@
  */
 package org.apache.reef.io.network.group.impl.task;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.api.operators.Reduce;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.api.task.NodeStruct;
 import org.apache.reef.io.network.group.api.task.OperatorTopologyStruct;
@@ -333,10 +333,15 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
   }
 
   @Override
-  public <T> T recvFromChildren(final ReduceFunction<T> redFunc, final Codec<T> dataCodec) {
+  public <T> T recvFromChildren(final ReduceFunction<T> redFunc, final Codec<T> dataCodec,
+                                final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
     LOG.entering("OperatorTopologyStructImpl", "recvFromChildren", new Object[]{getQualifiedName(), redFunc,
         dataCodec});
     final List<T> retLst = new ArrayList<>(2);
+    final Reduce.InPlaceReduceFunction<T> inPlaceFunc = redFunc instanceof Reduce.InPlaceReduceFunction ?
+        (Reduce.InPlaceReduceFunction<T>) redFunc : null;
+    T accumulator = null;
+    T scratch = null;
     for (final NodeStruct child : children) {
       childrenToRcvFrom.add(child.getId());
     }
@@ -344,20 +349,40 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
     while (!childrenToRcvFrom.isEmpty()) {
       LOG.finest(getQualifiedName() + "Waiting for some child to send data");
       final NodeStruct child = nodesWithDataTakeUnsafe();
-      final byte[] retVal = recvFromNodeCheckBigMsg(child,
-          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
+      if (!childrenToRcvFrom.contains(child.getId())) {
+        // Operators that also receive from the parent (e.g. AllReduce) leave
+        // the parent in nodesWithData, since recvFromParent reads its queue directly.
+        LOG.finest(getQualifiedName() + "Skipping " + child.getId() + " as it is not a child to receive from");
+        continue;
+      }
+      final byte[] retVal = recvFromNodeCheckBigMsg(child, msgType);
 
       if (retVal != null) {
-        retLst.add(dataCodec.decode(retVal));
-        if (retLst.size() == 2) {
-          final T redVal = redFunc.apply(retLst);
-          retLst.clear();
-          retLst.add(redVal);
+        if (inPlaceFunc != null) {
+          if (accumulator == null) {
+            accumulator = dataCodec.decode(retVal);
+          } else {
+            scratch = dataCodec instanceof Reduce.ReusingCodec ?
+                ((Reduce.ReusingCodec<T>) dataCodec).decode(retVal, scratch) : dataCodec.decode(retVal);
+            accumulator = inPlaceFunc.combine(accumulator, scratch);
+          }
+        } else {
+          retLst.add(dataCodec.decode(retVal));
+          if (retLst.size() == 2) {
+            final T redVal = redFunc.apply(retLst);
+            retLst.clear();
+            retLst.add(redVal);
+          }
         }
       }
       childrenToRcvFrom.remove(child.getId());
     }
-    final T retVal = retLst.isEmpty() ? null : retLst.get(0);
+    final T retVal;
+    if (inPlaceFunc != null) {
+      retVal = accumulator;
+    } else {
+      retVal = retLst.isEmpty() ? null : retLst.get(0);
+    }
     LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
     return retVal;
   }
@@ -365,30 +390,47 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
   /**
    * Receive data from all children as a single byte array.
    * Messages from children are simply byte-concatenated.
-   * This method is currently used only by the Gather operator.
+   * The concatenation is done with a single copy after all children have sent their data,
+   * so the cost stays linear in the total size regardless of the number of children.
+   * This method is used by the Gather and AllGather operators.
    *
+   * @param msgType the type of the operator, used to acknowledge large messages
    * @return gathered data as a byte array
    */
   @Override
-  public byte[] recvFromChildren() {
+  public byte[] recvFromChildren(final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
     LOG.entering("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
     for (final NodeStruct child : children) {
       childrenToRcvFrom.add(child.getId());
     }
 
-    byte[] retVal = new byte[0];
+    final List<byte[]> receivedVals = new ArrayList<>(childrenToRcvFrom.size());
+    int totalLength = 0;
     while (!childrenToRcvFrom.isEmpty()) {
       LOG.finest(getQualifiedName() + "Waiting for some child to send data");
       final NodeStruct child = nodesWithDataTakeUnsafe();
-      final byte[] receivedVal = recvFromNodeCheckBigMsg(child,
-          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
+      if (!childrenToRcvFrom.contains(child.getId())) {
+        // Operators that also receive from the parent (e.g. AllReduce) leave
+        // the parent in nodesWithData, since recvFromParent reads its queue directly.
+        LOG.finest(getQualifiedName() + "Skipping " + child.getId() + " as it is not a child to receive from");
+        continue;
+      }
+      final byte[] receivedVal = recvFromNodeCheckBigMsg(child, msgType);
 
       if (receivedVal != null) {
-        retVal = ArrayUtils.addAll(retVal, receivedVal);
+        receivedVals.add(receivedVal);
+        totalLength += receivedVal.length;
       }
       childrenToRcvFrom.remove(child.getId());
     }
 
+    final byte[] retVal = new byte[totalLength];
+    int offset = 0;
+    for (final byte[] receivedVal : receivedVals) {
+      System.arraycopy(receivedVal, 0, retVal, offset, receivedVal.length);
+      offset += receivedVal.length;
+    }
+
     LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
     return retVal;
   }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Utility class for splitting Broadcast messages into chunks.
+ * A chunked message is transmitted as a header holding the total length,
+ * followed by the chunks in order.
+ */
+public final class ChunkHelper {
+
+  /**
+   * Number of bytes in a chunk header.
+   */
+  public static final int HEADER_LENGTH = Integer.SIZE / Byte.SIZE;
+
+  /**
+   * Should not be instantiated.
+   */
+  private ChunkHelper() {
+  }
+
+  /**
+   * Encode the header announcing a chunked message.
+   *
+   * @param totalLength total length of the message, in bytes
+   * @return header bytes
+   */
+  public static byte[] encodeHeader(final int totalLength) {
+    return ByteBuffer.allocate(HEADER_LENGTH).putInt(totalLength).array();
+  }
+
+  /**
+   * Decode a header created by {@link #encodeHeader(int)}.
+   *
+   * @param header header bytes
+   * @return total length of the message, in bytes
+   */
+  public static int decodeHeader(final byte[] header) {
+    if (header.length != HEADER_LENGTH) {
+      throw new RuntimeException("Expected a chunk header of " + HEADER_LENGTH + " bytes but got " + header.length);
+    }
+    return ByteBuffer.wrap(header).getInt();
+  }
+
+  /**
+   * Compute how many chunks a message of the given length is split into.
+   *
+   * @param totalLength total length of the message, in bytes
+   * @param chunkSize maximum size of a chunk, in bytes
+   * @return number of chunks
+   */
+  public static int getChunkCount(final int totalLength, final int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive but was " + chunkSize);
+    }
+    return (int) (((long) totalLength + chunkSize - 1) / chunkSize);
+  }
+
+  /**
+   * Copy out a single chunk of a message.
+   *
+   * @param data the whole message
+   * @param chunkIndex index of the chunk, starting from zero
+   * @param chunkSize maximum size of a chunk, in bytes
+   * @return bytes of the chunk; only the last chunk may be shorter than {@code chunkSize}
+   */
+  public static byte[] getChunk(final byte[] data, final int chunkIndex, final int chunkSize) {
+    final int from = chunkIndex * chunkSize;
+    final int to = (int) Math.min(data.length, (long) from + chunkSize);
+    return Arrays.copyOfRange(data, from, to);
+  }
+}
@@ -23,6 +23,8 @@ import org.apache.reef.driver.task.FailedTask;
 import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.driver.task.TaskConfiguration;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.AllGatherOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.AllReduceOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
 import org.apache.reef.io.network.group.impl.utils.BroadcastingEventHandler;
@@ -238,6 +240,65 @@ public final class CommunicationGroupDriverImplTest {
 
   }
 
+  /**
+   * Check that AllReduce and AllGather build the same tree as the asymmetric operators,
+   * with every task taking part and the configured root as the meeting point.
+   */
+  @Test
+  public void testSymmetricOperators() throws InterruptedException {
+    final String rootTaskId = "rootTaskId";
+    final String[] taskIds = new String[]{rootTaskId, "taskId1", "taskId2", "taskId3"};
+    final AtomicInteger numMsgs = new AtomicInteger(0);
+
+    final EStage<GroupCommunicationMessage> senderStage =
+        new SyncStage<>(new EventHandler<GroupCommunicationMessage>() {
+          @Override
+          public void onNext(final GroupCommunicationMessage msg) {
+            numMsgs.getAndIncrement();
+          }
+        });
+
+    final CommunicationGroupDriverImpl communicationGroupDriver = new CommunicationGroupDriverImpl(
+        GroupName.class, new AvroConfigurationSerializer(), senderStage,
+        new BroadcastingEventHandler<RunningTask>(), new BroadcastingEventHandler<FailedTask>(),
+        new BroadcastingEventHandler<FailedEvaluator>(), new BroadcastingEventHandler<GroupCommunicationMessage>(),
+        "DriverId", 4, 2);
+
+    communicationGroupDriver
+        .addAllReduce(AllReduceOperatorName.class,
+            AllReduceOperatorSpec.newBuilder().setRootId(rootTaskId).build())
+        .addAllGather(AllGatherOperatorName.class,
+            AllGatherOperatorSpec.newBuilder().setRootId(rootTaskId).build());
+
+    final ExecutorService pool = Executors.newFixedThreadPool(4);
+    final CountDownLatch countDownLatch = new CountDownLatch(4);
+
+    for (final String taskId : taskIds) {
+      pool.submit(new Runnable() {
+        @Override
+        public void run() {
+          final Configuration taskConf = TaskConfiguration.CONF
+              .set(TaskConfiguration.IDENTIFIER, taskId)
+              .set(TaskConfiguration.TASK, DummyTask.class)
+              .build();
+          communicationGroupDriver.addTask(taskConf);
+          communicationGroupDriver.runTask(taskId);
+          countDownLatch.countDown();
+        }
+      });
+    }
+
+    pool.shutdown();
+    final boolean allThreadsFinished = countDownLatch.await(10, TimeUnit.SECONDS);
+    assertTrue("all threads finished", allThreadsFinished);
+
+    // 3 connections between 4 tasks
+    // 2 messages per connection
+    // 2 operations (allreduce & allgather)
+    // this gives us a total of 3*2*2 = 12 messages
+    assertEquals("number of messages sent from driver", 12, numMsgs.get());
+  }
+
   private final class DummyTask implements Task {
     @Override
     public byte[] call(final byte[] memento) throws Exception {
@@ -256,5 +317,12 @@ public final class CommunicationGroupDriverImplTest {
   @NamedParameter()
   private final class ReduceOperatorName implements Name<String> {
   }
-}
 
+  @NamedParameter()
+  private final class AllReduceOperatorName implements Name<String> {
+  }
+
+  @NamedParameter()
+  private final class AllGatherOperatorName implements Name<String> {
+  }
+}
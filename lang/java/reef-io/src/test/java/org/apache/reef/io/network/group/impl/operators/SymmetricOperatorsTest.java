@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.Message;
+import org.apache.reef.io.network.group.api.operators.GroupCommOperator;
+import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessageCodec;
+import org.apache.reef.io.network.group.impl.driver.TopologySimpleNode;
+import org.apache.reef.io.network.group.impl.utils.ScatterDecoder;
+import org.apache.reef.io.network.group.impl.utils.ScatterEncoder;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.impl.NetworkServiceParameters;
+import org.apache.reef.io.network.naming.NameResolver;
+import org.apache.reef.io.network.naming.NameResolverConfiguration;
+import org.apache.reef.io.network.naming.NameServer;
+import org.apache.reef.io.network.naming.NameServerParameters;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.impl.LoggingEventHandler;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.apache.reef.wake.remote.transport.netty.MessagingTransportFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs {@link AllReduceImpl}, {@link AllGatherImpl} and {@link ReduceScatterImpl} on every task
+ * of a small tree and checks the values they return.
+ * The tasks run in this process and talk to each other through network services;
+ * the test plays the driver, sending each task its place in the tree.
+ */
+public final class SymmetricOperatorsTest {
+
+  private static final String DRIVER_ID = "Driver";
+
+  /**
+   * Task0 is the root with children Task1 and Task2, and Task3 is the child of Task1,
+   * so that one task both receives from a child and sends to a parent.
+   */
+  private static final String[] TASK_IDS = {"Task0", "Task1", "Task2", "Task3"};
+  private static final String[] PARENT_IDS = {null, "Task0", "Task0", "Task1"};
+
+  private static final String ROOT_ID = TASK_IDS[0];
+
+  @NamedParameter
+  class GroupName implements Name<String> {
+  }
+
+  @NamedParameter
+  class OperName implements Name<String> {
+  }
+
+  /**
+   * Check that every task gets the sum of all values, twice in a row on the same operators.
+   */
+  @Test(timeout = 60000)
+  public void testAllReduce() throws Exception {
+    try (final LocalGroup group = new LocalGroup()) {
+      final List<AllReduceImpl<Integer>> operators = new ArrayList<>();
+      for (int i = 0; i < TASK_IDS.length; i++) {
+        operators.add(new AllReduceImpl<>(GroupName.class.getName(), OperName.class.getName(), TASK_IDS[i],
+            new SerializableCodec<Integer>(), new SumFunction(), DRIVER_ID, 0, ROOT_ID,
+            mock(CommGroupNetworkHandler.class), group.getNetworkService(i), newCommGroupClient()));
+      }
+      group.initialize(operators);
+
+      for (final int scale : new int[]{1, 10}) {
+        final List<Callable<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < TASK_IDS.length; i++) {
+          final AllReduceImpl<Integer> operator = operators.get(i);
+          final int value = (i + 1) * scale;
+          calls.add(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+              return operator.apply(value);
+            }
+          });
+        }
+        Assert.assertEquals(Collections.nCopies(TASK_IDS.length, 10 * scale), LocalGroup.runAll(calls));
+      }
+    }
+  }
+
+  /**
+   * Check that every task gets the values of all tasks, in the order of task identifiers
+   * or in the order given.
+   */
+  @Test(timeout = 60000)
+  public void testAllGather() throws Exception {
+    try (final LocalGroup group = new LocalGroup()) {
+      final List<AllGatherImpl<Integer>> operators = new ArrayList<>();
+      for (int i = 0; i < TASK_IDS.length; i++) {
+        operators.add(new AllGatherImpl<>(GroupName.class.getName(), OperName.class.getName(), TASK_IDS[i],
+            new SerializableCodec<Integer>(), DRIVER_ID, 0, ROOT_ID,
+            mock(CommGroupNetworkHandler.class), group.getNetworkService(i), newCommGroupClient()));
+      }
+      group.initialize(operators);
+
+      final List<Identifier> reverseOrder = taskIdentifiers();
+      Collections.reverse(reverseOrder);
+      final List<Callable<List<List<Integer>>>> calls = new ArrayList<>();
+      for (int i = 0; i < TASK_IDS.length; i++) {
+        final AllGatherImpl<Integer> operator = operators.get(i);
+        final int value = i * i;
+        calls.add(new Callable<List<List<Integer>>>() {
+          @Override
+          public List<List<Integer>> call() throws Exception {
+            return Arrays.asList(operator.apply(value), operator.apply(value + 100, reverseOrder));
+          }
+        });
+      }
+
+      for (final List<List<Integer>> gathered : LocalGroup.runAll(calls)) {
+        Assert.assertEquals(Arrays.asList(0, 1, 4, 9), gathered.get(0));
+        Assert.assertEquals(Arrays.asList(109, 104, 101, 100), gathered.get(1));
+      }
+    }
+  }
+
+  /**
+   * Check that the element-wise sums are split among the tasks according to the counts given at the root.
+   */
+  @Test(timeout = 60000)
+  public void testReduceScatter() throws Exception {
+    final List<Integer> counts = Arrays.asList(1, 2, 3, 2);
+    try (final LocalGroup group = new LocalGroup()) {
+      final List<ReduceScatterImpl<Integer>> operators = new ArrayList<>();
+      for (int i = 0; i < TASK_IDS.length; i++) {
+        final CommunicationGroupServiceClient commGroupClient = newCommGroupClient();
+        final Injector injector = Tang.Factory.getTang().newInjector();
+        injector.bindVolatileInstance(CommunicationGroupServiceClient.class, commGroupClient);
+        operators.add(new ReduceScatterImpl<>(GroupName.class.getName(), OperName.class.getName(), TASK_IDS[i],
+            new SerializableCodec<Integer>(), new SumFunction(), DRIVER_ID, 0, ROOT_ID,
+            mock(CommGroupNetworkHandler.class), group.getNetworkService(i), commGroupClient,
+            injector.getInstance(ScatterEncoder.class), injector.getInstance(ScatterDecoder.class)));
+      }
+      group.initialize(operators);
+
+      final List<Callable<List<Integer>>> calls = new ArrayList<>();
+      for (int i = 0; i < TASK_IDS.length; i++) {
+        final ReduceScatterImpl<Integer> operator = operators.get(i);
+        final List<Integer> elements = new ArrayList<>();
+        for (int j = 0; j < 8; j++) {
+          elements.add(10 * j + i);
+        }
+        calls.add(new Callable<List<Integer>>() {
+          @Override
+          public List<Integer> call() throws Exception {
+            return operator.apply(elements, counts);
+          }
+        });
+      }
+
+      // element j is summed to 40 * j + 6 and split 1, 2, 3, 2 in the order of task identifiers
+      Assert.assertEquals(Arrays.asList(
+          Arrays.asList(6),
+          Arrays.asList(46, 86),
+          Arrays.asList(126, 166, 206),
+          Arrays.asList(246, 286)), LocalGroup.runAll(calls));
+    }
+  }
+
+  private static List<Identifier> taskIdentifiers() {
+    final IdentifierFactory factory = new StringIdentifierFactory();
+    final List<Identifier> ids = new ArrayList<>();
+    for (final String taskId : TASK_IDS) {
+      ids.add(factory.getNewInstance(taskId));
+    }
+    return ids;
+  }
+
+  private static CommunicationGroupServiceClient newCommGroupClient() {
+    final Map<String, TopologySimpleNode> nodes = new HashMap<>();
+    for (final String taskId : TASK_IDS) {
+      nodes.put(taskId, new TopologySimpleNode(taskId));
+    }
+    for (int i = 0; i < TASK_IDS.length; i++) {
+      if (PARENT_IDS[i] != null) {
+        nodes.get(PARENT_IDS[i]).addChild(nodes.get(TASK_IDS[i]));
+      }
+    }
+
+    final CommunicationGroupServiceClient commGroupClient = mock(CommunicationGroupServiceClient.class);
+    when(commGroupClient.getActiveSlaveTasks()).thenReturn(taskIdentifiers().subList(1, TASK_IDS.length));
+    when(commGroupClient.getTopologySimpleNodeRoot()).thenReturn(nodes.get(ROOT_ID));
+    return commGroupClient;
+  }
+
+  private static final class SumFunction implements Reduce.ReduceFunction<Integer> {
+
+    @Override
+    public Integer apply(final Iterable<Integer> elements) {
+      int sum = 0;
+      for (final Integer element : elements) {
+        sum += element;
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * Passes the messages a network service receives to the operator of its task.
+   * The messages for the driver, which are acknowledgements of the topology, are dropped.
+   */
+  private static final class RoutingHandler implements EventHandler<Message<GroupCommunicationMessage>> {
+
+    private volatile EventHandler<GroupCommunicationMessage> operator;
+
+    @Override
+    public void onNext(final Message<GroupCommunicationMessage> message) {
+      final EventHandler<GroupCommunicationMessage> target = operator;
+      if (target != null) {
+        for (final GroupCommunicationMessage msg : message.getData()) {
+          target.onNext(msg);
+        }
+      }
+    }
+  }
+
+  /**
+   * A name server and one network service for the driver and for each task.
+   */
+  private static final class LocalGroup implements AutoCloseable {
+
+    private final NameServer nameServer;
+    private final NameResolver nameResolver;
+    private final List<NetworkService<GroupCommunicationMessage>> netServices = new ArrayList<>();
+    private final List<RoutingHandler> handlers = new ArrayList<>();
+
+    LocalGroup() throws InjectionException {
+      final IdentifierFactory factory = new StringIdentifierFactory();
+      final Injector injector = Tang.Factory.getTang().newInjector();
+      injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, factory);
+      final String localAddress = injector.getInstance(LocalAddressProvider.class).getLocalAddress();
+      this.nameServer = injector.getInstance(NameServer.class);
+
+      final Injector resolverInjector = Tang.Factory.getTang().newInjector(NameResolverConfiguration.CONF
+          .set(NameResolverConfiguration.NAME_SERVER_HOSTNAME, localAddress)
+          .set(NameResolverConfiguration.NAME_SERVICE_PORT, this.nameServer.getPort())
+          .build());
+      this.nameResolver = resolverInjector.getInstance(NameResolver.class);
+      resolverInjector.bindVolatileParameter(NetworkServiceParameters.NetworkServiceIdentifierFactory.class, factory);
+      resolverInjector.bindVolatileInstance(NameResolver.class, this.nameResolver);
+      resolverInjector.bindVolatileParameter(NetworkServiceParameters.NetworkServiceCodec.class,
+          new GroupCommunicationMessageCodec());
+      resolverInjector.bindVolatileParameter(NetworkServiceParameters.NetworkServiceTransportFactory.class,
+          injector.getInstance(MessagingTransportFactory.class));
+      resolverInjector.bindVolatileParameter(NetworkServiceParameters.NetworkServiceExceptionHandler.class,
+          new LoggingEventHandler<Exception>());
+
+      final List<String> ids = new ArrayList<>(Arrays.asList(TASK_IDS));
+      ids.add(DRIVER_ID);
+      for (final String id : ids) {
+        final RoutingHandler handler = new RoutingHandler();
+        final Injector netServiceInjector = resolverInjector.forkInjector();
+        netServiceInjector.bindVolatileParameter(NetworkServiceParameters.NetworkServiceHandler.class, handler);
+        final NetworkService<GroupCommunicationMessage> netService =
+            netServiceInjector.getInstance(NetworkService.class);
+        netService.registerId(factory.getNewInstance(id));
+        this.nameServer.register(factory.getNewInstance(id),
+            new InetSocketAddress(localAddress, netService.getTransport().getListeningPort()));
+        this.netServices.add(netService);
+        this.handlers.add(handler);
+      }
+    }
+
+    NetworkService<GroupCommunicationMessage> getNetworkService(final int taskIndex) {
+      return this.netServices.get(taskIndex);
+    }
+
+    /**
+     * Connects the operators to their network services, sends each one its parent and children,
+     * and sets up their topologies. All topologies are set up before any data is sent,
+     * as the driver would do.
+     */
+    <O extends GroupCommOperator & EventHandler<GroupCommunicationMessage>> void initialize(final List<O> operators)
+        throws Exception {
+      for (int i = 0; i < TASK_IDS.length; i++) {
+        final O operator = operators.get(i);
+        this.handlers.get(i).operator = operator;
+        if (PARENT_IDS[i] != null) {
+          operator.onNext(newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.ParentAdd,
+              PARENT_IDS[i], TASK_IDS[i]));
+        }
+        for (int j = 0; j < TASK_IDS.length; j++) {
+          if (TASK_IDS[i].equals(PARENT_IDS[j])) {
+            operator.onNext(newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildAdd,
+                TASK_IDS[j], TASK_IDS[i]));
+          }
+        }
+        operator.onNext(newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.TopologySetup,
+            DRIVER_ID, TASK_IDS[i]));
+      }
+      for (final O operator : operators) {
+        operator.initialize();
+      }
+    }
+
+    private GroupCommunicationMessage newControlMessage(final ReefNetworkGroupCommProtos.GroupCommMessage.Type type,
+                                                       final String srcId, final String destId) {
+      return Utils.bldVersionedGCM(GroupName.class, OperName.class, type, srcId, 0, destId, 0, Utils.EMPTY_BYTE_ARR);
+    }
+
+    /**
+     * Runs one call per task at the same time and returns their results in task order.
+     */
+    static <T> List<T> runAll(final List<Callable<T>> calls) throws Exception {
+      final ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+      try {
+        final List<T> results = new ArrayList<>();
+        for (final Future<T> future : executor.invokeAll(calls)) {
+          results.add(future.get());
+        }
+        return results;
+      } finally {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+      }
+    }
+
+    /**
+     * Closes the network services at the same time, since each one waits for its transport to shut down.
+     */
+    @Override
+    public void close() throws Exception {
+      final List<Callable<Void>> closes = new ArrayList<>();
+      for (final NetworkService<GroupCommunicationMessage> netService : this.netServices) {
+        closes.add(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            netService.close();
+            return null;
+          }
+        });
+      }
+      runAll(closes);
+      this.nameResolver.close();
+      this.nameServer.close();
+    }
+  }
+}
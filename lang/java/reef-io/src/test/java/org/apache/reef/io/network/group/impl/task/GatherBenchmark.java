@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.task;
+
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of assembling the data that a Gather receives from its children.
+ * The time per gathered byte should stay roughly constant as the number of children grows.
+ * <p>
+ * This is a JMH benchmark in the test sources; it does not run with the unit tests. Run it with
+ * <pre>
+ *   mvn test-compile dependency:build-classpath -pl lang/java/reef-io -Dmdep.outputFile=target/test.classpath
+ *   cd lang/java/reef-io
+ *   java -cp target/test-classes:target/classes:$(cat target/test.classpath) org.openjdk.jmh.Main GatherBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GatherBenchmark {
+
+  private static final String SELF_ID = "Self";
+
+  @Param({"16", "64", "256", "1024"})
+  private int fanIn;
+
+  @Param({"4096"})
+  private int payloadSize;
+
+  private OperatorTopologyStructImpl topology;
+
+  @NamedParameter
+  static final class GroupName implements Name<String> {
+  }
+
+  @NamedParameter
+  static final class OperName implements Name<String> {
+  }
+
+  /**
+   * Every child sends one message, which the benchmark consumes, so the topology is rebuilt for each invocation.
+   */
+  @Setup(Level.Invocation)
+  public void setUp() {
+    topology = new OperatorTopologyStructImpl(GroupName.class, OperName.class, SELF_ID, "Driver", null, 0);
+    for (int i = 0; i < fanIn; i++) {
+      topology.update(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildAdd, "Child" + i, 0, SELF_ID, 0,
+          Utils.EMPTY_BYTE_ARR));
+    }
+    for (int i = 0; i < fanIn; i++) {
+      final byte[] payload = new byte[payloadSize];
+      Arrays.fill(payload, (byte) i);
+      topology.addAsData(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather, "Child" + i, 0, SELF_ID, 0, payload));
+    }
+  }
+
+  @Benchmark
+  public byte[] recvFromChildren() {
+    return topology.recvFromChildren(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.task;
+
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.operators.Sender;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests receiving data from children in {@link OperatorTopologyStructImpl}.
+ */
+public final class OperatorTopologyStructImplTest {
+
+  private static final String SELF_ID = "Self";
+
+  private static final int PAYLOAD_LENGTH = 4096;
+
+  @NamedParameter
+  class GroupName implements Name<String> {
+  }
+
+  @NamedParameter
+  class OperName implements Name<String> {
+  }
+
+  /**
+   * Check that data gathered from children is concatenated completely.
+   */
+  @Test(timeout = 10000)
+  public void testRecvFromChildren() {
+    final int fanIn = 10;
+    final OperatorTopologyStructImpl topology = newTopologyWithData(fanIn);
+    final byte[] gathered = topology.recvFromChildren(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
+
+    Assert.assertEquals(fanIn * PAYLOAD_LENGTH, gathered.length);
+    final int[] counts = new int[fanIn];
+    for (int i = 0; i < fanIn; i++) {
+      final byte childByte = gathered[i * PAYLOAD_LENGTH];
+      final byte[] expected = new byte[PAYLOAD_LENGTH];
+      Arrays.fill(expected, childByte);
+      Assert.assertArrayEquals(expected, Arrays.copyOfRange(gathered, i * PAYLOAD_LENGTH, (i + 1) * PAYLOAD_LENGTH));
+      counts[childByte]++;
+    }
+    for (final int count : counts) {
+      Assert.assertEquals(1, count);
+    }
+  }
+
+  /**
+   * Check that data gathered from many children is assembled in the order in which the children sent it.
+   */
+  @Test(timeout = 60000)
+  public void testRecvFromChildrenLargeFanIn() {
+    for (final int fanIn : new int[]{16, 64, 256, 1024}) {
+      final OperatorTopologyStructImpl topology = newTopologyWithData(fanIn);
+      final byte[] gathered = topology.recvFromChildren(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
+
+      Assert.assertEquals(fanIn * PAYLOAD_LENGTH, gathered.length);
+      final byte[] expected = new byte[PAYLOAD_LENGTH];
+      for (int i = 0; i < fanIn; i++) {
+        Arrays.fill(expected, (byte) i);
+        Assert.assertArrayEquals("Data of child " + i + " out of " + fanIn, expected,
+            Arrays.copyOfRange(gathered, i * PAYLOAD_LENGTH, (i + 1) * PAYLOAD_LENGTH));
+      }
+    }
+  }
+
+  /**
+   * Check that an {@link Reduce.InPlaceReduceFunction} folds every child's value into one
+   * accumulator and that a {@link Reduce.ReusingCodec} reuses a single scratch object.
+   */
+  @Test(timeout = 10000)
+  public void testRecvFromChildrenInPlace() {
+    final int fanIn = 10;
+    final int length = 100;
+    final IntArrayCodec codec = new IntArrayCodec();
+    final OperatorTopologyStructImpl topology =
+        new OperatorTopologyStructImpl(GroupName.class, OperName.class, SELF_ID, "Driver", null, 0);
+    addChildren(topology, fanIn);
+    for (int i = 0; i < fanIn; i++) {
+      final int[] value = new int[length];
+      Arrays.fill(value, i);
+      topology.addAsData(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce, "Child" + i, 0, SELF_ID, 0, codec.encode(value)));
+    }
+
+    final int[] reduced = topology.recvFromChildren(new IntArraySumFunction(), codec,
+        ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
+
+    final int[] expected = new int[length];
+    Arrays.fill(expected, fanIn * (fanIn - 1) / 2);
+    Assert.assertArrayEquals(expected, reduced);
+    // One array for the accumulator and one reused for all remaining children
+    Assert.assertEquals(2, codec.allocations);
+  }
+
+  /**
+   * Check that large messages from children are acknowledged with the type of the operator
+   * that received them, so that the ACKs do not reach another operator of the group.
+   */
+  @Test(timeout = 10000)
+  public void testLargeMsgAckUsesOperatorType() throws NetworkException {
+    final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType =
+        ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllGather;
+    final Sender sender = mock(Sender.class);
+    final OperatorTopologyStructImpl topology =
+        new OperatorTopologyStructImpl(GroupName.class, OperName.class, SELF_ID, "Driver", sender, 0);
+    addChildren(topology, 1);
+    final byte[] payload = new byte[PAYLOAD_LENGTH];
+    // A large message is announced with an empty message before it is sent
+    topology.addAsData(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+        msgType, "Child0", 0, SELF_ID, 0, Utils.EMPTY_BYTE_ARR));
+    topology.addAsData(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+        msgType, "Child0", 0, SELF_ID, 0, payload));
+
+    Assert.assertArrayEquals(payload, topology.recvFromChildren(msgType));
+
+    final ArgumentCaptor<GroupCommunicationMessage> acks = ArgumentCaptor.forClass(GroupCommunicationMessage.class);
+    verify(sender, times(2)).send(acks.capture());
+    for (final GroupCommunicationMessage ack : acks.getAllValues()) {
+      Assert.assertEquals(msgType, ack.getType());
+      Assert.assertEquals("Child0", ack.getDestid());
+    }
+  }
+
+  /**
+   * Create a topology with {@code fanIn} children that have each already sent one Gather message.
+   * The payload of child {@code i} consists of the byte {@code i}.
+   */
+  private OperatorTopologyStructImpl newTopologyWithData(final int fanIn) {
+    final OperatorTopologyStructImpl topology =
+        new OperatorTopologyStructImpl(GroupName.class, OperName.class, SELF_ID, "Driver", null, 0);
+    addChildren(topology, fanIn);
+    for (int i = 0; i < fanIn; i++) {
+      final byte[] payload = new byte[PAYLOAD_LENGTH];
+      Arrays.fill(payload, (byte) i);
+      topology.addAsData(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather, "Child" + i, 0, SELF_ID, 0, payload));
+    }
+    return topology;
+  }
+
+  private void addChildren(final OperatorTopologyStructImpl topology, final int fanIn) {
+    for (int i = 0; i < fanIn; i++) {
+      topology.update(Utils.bldVersionedGCM(GroupName.class, OperName.class,
+          ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildAdd, "Child" + i, 0, SELF_ID, 0,
+          Utils.EMPTY_BYTE_ARR));
+    }
+  }
+
+  /**
+   * Element-wise sum of int arrays.
+   */
+  private static final class IntArraySumFunction implements Reduce.InPlaceReduceFunction<int[]> {
+    @Override
+    public int[] apply(final Iterable<int[]> elements) {
+      throw new UnsupportedOperationException("Only combine should be used");
+    }
+
+    @Override
+    public int[] combine(final int[] accumulator, final int[] element) {
+      for (int i = 0; i < accumulator.length; i++) {
+        accumulator[i] += element[i];
+      }
+      return accumulator;
+    }
+  }
+
+  /**
+   * Codec for int arrays that counts how many arrays it allocates.
+   */
+  private static final class IntArrayCodec implements Reduce.ReusingCodec<int[]> {
+    private int allocations = 0;
+
+    @Override
+    public byte[] encode(final int[] obj) {
+      final ByteBuffer buffer = ByteBuffer.allocate(obj.length * (Integer.SIZE / Byte.SIZE));
+      buffer.asIntBuffer().put(obj);
+      return buffer.array();
+    }
+
+    @Override
+    public int[] decode(final byte[] buf) {
+      return decode(buf, null);
+    }
+
+    @Override
+    public int[] decode(final byte[] buf, final int[] reuse) {
+      final int length = buf.length / (Integer.SIZE / Byte.SIZE);
+      final int[] retVal;
+      if (reuse != null && reuse.length == length) {
+        retVal = reuse;
+      } else {
+        retVal = new int[length];
+        allocations++;
+      }
+      ByteBuffer.wrap(buf).asIntBuffer().get(retVal);
+      return retVal;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for util classes related to chunked Broadcast.
+ */
+public final class ChunkHelperTest {
+
+  /**
+   * Test that a header survives an encode/decode round trip.
+   */
+  @Test
+  public void testHeader() {
+    for (final int totalLength : new int[]{0, 1, 1 << 20, Integer.MAX_VALUE}) {
+      final byte[] header = ChunkHelper.encodeHeader(totalLength);
+      assertEquals(ChunkHelper.HEADER_LENGTH, header.length);
+      assertEquals(totalLength, ChunkHelper.decodeHeader(header));
+    }
+  }
+
+  /**
+   * Test that {@code ChunkHelper.getChunkCount} handles exact and partial last chunks.
+   */
+  @Test
+  public void testGetChunkCount() {
+    assertEquals(0, ChunkHelper.getChunkCount(0, 10));
+    assertEquals(1, ChunkHelper.getChunkCount(1, 10));
+    assertEquals(1, ChunkHelper.getChunkCount(10, 10));
+    assertEquals(2, ChunkHelper.getChunkCount(11, 10));
+    assertEquals(2, ChunkHelper.getChunkCount(Integer.MAX_VALUE, Integer.MAX_VALUE / 2 + 1));
+  }
+
+  /**
+   * Test that concatenating the chunks of a message yields the original message.
+   */
+  @Test
+  public void testGetChunk() {
+    final byte[] data = new byte[10007];
+    new Random(0).nextBytes(data);
+
+    for (final int chunkSize : new int[]{1, 100, 1000, 10007, 20000}) {
+      final int chunkCount = ChunkHelper.getChunkCount(data.length, chunkSize);
+      final byte[] reassembled = new byte[data.length];
+      int offset = 0;
+      for (int i = 0; i < chunkCount; i++) {
+        final byte[] chunk = ChunkHelper.getChunk(data, i, chunkSize);
+        assertTrue(chunk.length > 0 && chunk.length <= chunkSize);
+        System.arraycopy(chunk, 0, reassembled, offset, chunk.length);
+        offset += chunk.length;
+      }
+      assertEquals(data.length, offset);
+      assertArrayEquals(data, reassembled);
+    }
+  }
+}
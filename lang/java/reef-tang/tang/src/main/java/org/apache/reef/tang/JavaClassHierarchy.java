@@ -66,4 +66,15 @@ public interface JavaClassHierarchy extends ClassHierarchy {
    */
   <T> T parseDefaultValue(NamedParameterNode<T> name) throws ClassHierarchyException;
 
+  /**
+   * Add the nodes of a snapshot of a ClassHierarchy, so that they need not be
+   * found by reflection. The snapshot is typically serialized by the process that
+   * launched this one, and must have been taken from the same classes.
+   * Nodes this ClassHierarchy already knows are kept.
+   *
+   * @param snapshot The ClassHierarchy whose nodes should be added.
+   * @throws ClassHierarchyException if the snapshot conflicts with this ClassHierarchy.
+   */
+  void addSnapshot(ClassHierarchy snapshot) throws ClassHierarchyException;
+
 }
@@ -31,8 +31,11 @@ import org.apache.reef.tang.ConfigurationBuilder;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.exceptions.BindException;
 import org.apache.reef.tang.exceptions.ClassHierarchyException;
+import org.apache.reef.tang.formats.avro.AvroCompactConfiguration;
 import org.apache.reef.tang.formats.avro.AvroConfiguration;
+import org.apache.reef.tang.formats.avro.CompactConfigurationEntry;
 import org.apache.reef.tang.formats.avro.ConfigurationEntry;
+import org.apache.reef.tang.formats.avro.DictionaryEntry;
 import org.apache.reef.tang.implementation.ConfigurationBuilderImpl;
 import org.apache.reef.tang.types.ClassNode;
 import org.apache.reef.tang.types.NamedParameterNode;
@@ -60,6 +63,15 @@ public final class AvroConfigurationSerializer implements ConfigurationSerialize
   public static final String JAVA = "Java";
   public static final String CS = "Cs";
 
+  /**
+   * Writer and reader of the compact format. Both are thread-safe, and caching them
+   * saves resolving the schema on every call.
+   */
+  private static final DatumWriter<AvroCompactConfiguration> COMPACT_WRITER =
+      new SpecificDatumWriter<>(AvroCompactConfiguration.class);
+  private static final DatumReader<AvroCompactConfiguration> COMPACT_READER =
+      new SpecificDatumReader<>(AvroCompactConfiguration.class);
+
   @Inject
   public AvroConfigurationSerializer() {
   }
@@ -130,6 +142,85 @@ public final class AvroConfigurationSerializer implements ConfigurationSerialize
     return reader.read(null, decoder);
   }
 
+  private static AvroConfiguration avroFromCompactBytes(final byte[] theBytes) throws IOException {
+    final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(theBytes, null);
+    final AvroCompactConfiguration compact = COMPACT_READER.read(null, decoder);
+
+    final List<DictionaryEntry> dictionaryEntries = compact.getDictionary();
+    final String[] dictionary = new String[dictionaryEntries.size()];
+    String previous = "";
+    for (int i = 0; i < dictionary.length; ++i) {
+      final DictionaryEntry entry = dictionaryEntries.get(i);
+      if (entry.getShared() < 0 || entry.getShared() > previous.length()) {
+        throw new IOException("Invalid dictionary entry " + i + " of the compact configuration");
+      }
+      dictionary[i] = previous.substring(0, entry.getShared()) + entry.getSuffix();
+      previous = dictionary[i];
+    }
+
+    final List<ConfigurationEntry> configurationEntries = new ArrayList<>(compact.getBindings().size());
+    try {
+      for (final CompactConfigurationEntry entry : compact.getBindings()) {
+        configurationEntries.add(ConfigurationEntry.newBuilder()
+            .setKey(dictionary[entry.getKey()])
+            .setValue(dictionary[entry.getValue()])
+            .build());
+      }
+    } catch (final ArrayIndexOutOfBoundsException e) {
+      throw new IOException("Invalid binding of the compact configuration", e);
+    }
+
+    return AvroConfiguration.newBuilder()
+        .setLanguage(compact.getLanguage()).setBindings(configurationEntries).build();
+  }
+
+  /**
+   * Interns the keys and values of the bindings in a sorted, front coded dictionary.
+   * Class names that share a package then share most of their characters.
+   */
+  private static AvroCompactConfiguration toCompact(final AvroConfiguration avroConfiguration) {
+    final SortedMap<String, Integer> indices = new TreeMap<>();
+    for (final ConfigurationEntry entry : avroConfiguration.getBindings()) {
+      indices.put(entry.getKey().toString(), 0);
+      indices.put(entry.getValue().toString(), 0);
+    }
+
+    final List<DictionaryEntry> dictionary = new ArrayList<>(indices.size());
+    String previous = "";
+    for (final Map.Entry<String, Integer> e : indices.entrySet()) {
+      final String current = e.getKey();
+      final int shared = sharedPrefixLength(previous, current);
+      e.setValue(dictionary.size());
+      dictionary.add(DictionaryEntry.newBuilder()
+          .setShared(shared).setSuffix(current.substring(shared)).build());
+      previous = current;
+    }
+
+    final List<CompactConfigurationEntry> bindings = new ArrayList<>(avroConfiguration.getBindings().size());
+    for (final ConfigurationEntry entry : avroConfiguration.getBindings()) {
+      bindings.add(CompactConfigurationEntry.newBuilder()
+          .setKey(indices.get(entry.getKey().toString()))
+          .setValue(indices.get(entry.getValue().toString()))
+          .build());
+    }
+
+    return AvroCompactConfiguration.newBuilder()
+        .setLanguage(avroConfiguration.getLanguage()).setDictionary(dictionary).setBindings(bindings).build();
+  }
+
+  private static int sharedPrefixLength(final String a, final String b) {
+    final int max = Math.min(a.length(), b.length());
+    int i = 0;
+    while (i < max && a.charAt(i) == b.charAt(i)) {
+      ++i;
+    }
+    // do not split a surrogate pair
+    if (i > 0 && Character.isHighSurrogate(a.charAt(i - 1))) {
+      --i;
+    }
+    return i;
+  }
+
   private static AvroConfiguration avroFromString(final String theString) throws IOException {
     final JsonDecoder decoder = DecoderFactory.get().jsonDecoder(AvroConfiguration.getClassSchema(), theString);
     final SpecificDatumReader<AvroConfiguration> reader = new SpecificDatumReader<>(AvroConfiguration.class);
@@ -223,6 +314,16 @@ public final class AvroConfigurationSerializer implements ConfigurationSerialize
     return theBytes;
   }
 
+  @Override
+  public byte[] toCompactByteArray(final Configuration conf) throws IOException {
+    try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+      COMPACT_WRITER.write(toCompact(toAvro(conf)), encoder);
+      encoder.flush();
+      return out.toByteArray();
+    }
+  }
+
   /**
    * Produce a JSON string that represents given configuration.
    * @param configuration Tang configuration to convert into a JSON string.
@@ -330,6 +431,17 @@ public final class AvroConfigurationSerializer implements ConfigurationSerialize
     return fromAvro(avroFromBytes(theBytes), classHierarchy);
   }
 
+  @Override
+  public Configuration fromCompactByteArray(final byte[] theBytes) throws IOException, BindException {
+    return fromAvro(avroFromCompactBytes(theBytes));
+  }
+
+  @Override
+  public Configuration fromCompactByteArray(final byte[] theBytes, final ClassHierarchy classHierarchy)
+      throws IOException, BindException {
+    return fromAvro(avroFromCompactBytes(theBytes), classHierarchy);
+  }
+
   @Override
   public Configuration fromString(final String theString) throws IOException, BindException {
     return fromAvro(avroFromString(theString));
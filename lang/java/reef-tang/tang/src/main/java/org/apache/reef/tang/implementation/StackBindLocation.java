@@ -24,19 +24,22 @@ import java.util.Arrays;
 
 @SuppressWarnings("checkstyle:illegalinstantiation")
 public class StackBindLocation implements BindLocation {
-  private final StackTraceElement[] stack;
+  /**
+   * Captures the stack of the binding.  Translating it into StackTraceElements
+   * is expensive and bindings are made for every injected instance, so it
+   * is only done when the location is printed.
+   */
+  private final Throwable trace;
 
   public StackBindLocation() {
-    final StackTraceElement[] stackTrace = new Throwable().getStackTrace();
-    if (stackTrace.length != 0) {
-      this.stack = Arrays.copyOfRange(stackTrace, 1, stackTrace.length);
-    } else {
-      this.stack = new StackTraceElement[0];
-    }
+    this.trace = new Throwable();
   }
 
   @Override
   public String toString() {
+    final StackTraceElement[] stackTrace = trace.getStackTrace();
+    final StackTraceElement[] stack = stackTrace.length != 0 ?
+        Arrays.copyOfRange(stackTrace, 1, stackTrace.length) : new StackTraceElement[0];
     final StringBuffer sb = new StringBuffer("[\n");
     for (final StackTraceElement e : stack) {
       sb.append(e.toString() + "\n");
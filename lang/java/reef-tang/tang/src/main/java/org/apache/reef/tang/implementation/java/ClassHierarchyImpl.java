@@ -20,6 +20,7 @@ package org.apache.reef.tang.implementation.java;
 
 import org.apache.reef.tang.ClassHierarchy;
 import org.apache.reef.tang.ExternalConstructor;
+import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.JavaClassHierarchy;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
@@ -28,6 +29,9 @@ import org.apache.reef.tang.exceptions.ClassHierarchyException;
 import org.apache.reef.tang.exceptions.NameResolutionException;
 import org.apache.reef.tang.exceptions.ParseException;
 import org.apache.reef.tang.formats.ParameterParser;
+import org.apache.reef.tang.implementation.types.ClassNodeImpl;
+import org.apache.reef.tang.implementation.types.NamedParameterNodeImpl;
+import org.apache.reef.tang.implementation.types.PackageNodeImpl;
 import org.apache.reef.tang.types.*;
 import org.apache.reef.tang.util.MonotonicTreeMap;
 import org.apache.reef.tang.util.ReflectionUtilities;
@@ -36,6 +40,8 @@ import java.lang.reflect.Type;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ClassHierarchyImpl implements JavaClassHierarchy {
   // TODO Want to add a "register namespace" method, but Java is not designed
@@ -72,6 +78,19 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
    * sanity check short names so that name clashes get resolved.
    */
   private final Map<String, NamedParameterNode<?>> shortNames = new MonotonicTreeMap<>();
+  /**
+   * The reflective constructors that back the ConstructorDefs of this
+   * ClassHierarchy, so that each is only looked up once.  Keyed by identity,
+   * because ConstructorDef.equals() ignores the class name and argument order.
+   * The map is copied on write, so lookups do not take a lock.
+   */
+  private volatile Map<ConstructorDef<?>, java.lang.reflect.Constructor<?>> constructors = new IdentityHashMap<>();
+  /**
+   * The nodes that have been registered, by the name they were looked up
+   * with.  Lookups of these names do not take a lock; everything that adds
+   * nodes to the tree is synchronized on this ClassHierarchy.
+   */
+  private final ConcurrentMap<String, Node> registered = new ConcurrentHashMap<>();
 
   @SuppressWarnings("unchecked")
   public ClassHierarchyImpl() {
@@ -190,6 +209,38 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     return ReflectionUtilities.classForName(name, loader);
   }
 
+  /**
+   * Resolve the reflective constructor behind a ConstructorDef of this
+   * ClassHierarchy, and make it accessible.
+   */
+  @SuppressWarnings("unchecked")
+  <T> java.lang.reflect.Constructor<T> getConstructor(final ConstructorDef<T> def)
+      throws ClassNotFoundException, NoSuchMethodException {
+    final java.lang.reflect.Constructor<T> cached = (java.lang.reflect.Constructor<T>) constructors.get(def);
+    if (cached != null) {
+      return cached;
+    }
+    final Class<T> clazz = (Class<T>) classForName(def.getClassName());
+    final ConstructorArg[] args = def.getArgs();
+    final Class<?>[] parameterTypes = new Class[args.length];
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].isInjectionFuture()) {
+        parameterTypes[i] = InjectionFuture.class;
+      } else {
+        parameterTypes[i] = classForName(args[i].getType());
+      }
+    }
+    final java.lang.reflect.Constructor<T> cons = clazz.getDeclaredConstructor(parameterTypes);
+    cons.setAccessible(true);
+    synchronized (this) {
+      final Map<ConstructorDef<?>, java.lang.reflect.Constructor<?>> newConstructors =
+          new IdentityHashMap<>(constructors);
+      newConstructors.put(def, cons);
+      constructors = newConstructors;
+    }
+    return cons;
+  }
+
   private <T, U> Node buildPathToNode(final Class<U> clazz)
       throws ClassHierarchyException {
     final String[] path = clazz.getName().split("\\$");
@@ -254,15 +305,21 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
   }
 
   @Override
-  public synchronized Node getNode(final String name) throws NameResolutionException {
-    final Node n = register(name);
-    if (n == null) {
-      // This will never succeed; it just generates a nice exception.
-      getAlreadyBoundNode(name);
-      throw new IllegalStateException("IMPLEMENTATION BUG: Register failed, "
-          + "but getAlreadyBoundNode succeeded!");
+  public Node getNode(final String name) throws NameResolutionException {
+    final Node known = registered.get(name);
+    if (known != null) {
+      return known;
+    }
+    synchronized (this) {
+      final Node n = register(name);
+      if (n == null) {
+        // This generates a nice exception.  It only succeeds for nodes added by a
+        // snapshot whose class can not be loaded, which can not be resolved either.
+        getAlreadyBoundNode(name);
+        throw new NameResolutionException(name, name);
+      }
+      return n;
     }
-    return n;
   }
 
   private Node getAlreadyBoundNode(final String name) throws NameResolutionException {
@@ -298,6 +355,7 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     }
     try {
       final Node n = getAlreadyBoundNode(c);
+      registered.put(s, n);
       return n;
     } catch (final NameResolutionException ignored) {
       // node not bound yet
@@ -365,6 +423,7 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
       final NamedParameterNode<?> np = (NamedParameterNode<?>) n;
       register(np.getFullArgName());
     }
+    registered.put(s, n);
     return n;
   }
 
@@ -408,6 +467,78 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     return n;
   }
 
+  @Override
+  public synchronized void addSnapshot(final ClassHierarchy snapshot) {
+    addSnapshotNodes(snapshot.getNamespace(), namespace);
+    addSnapshotImplementations(snapshot.getNamespace());
+  }
+
+  /**
+   * Copy the children of a snapshot node that are not known yet.
+   * This mirrors buildPathToNode(), but takes the nodes' contents from the snapshot.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void addSnapshotNodes(final Node snapshotParent, final Node parent) {
+    for (final Node snapshotNode : snapshotParent.getChildren()) {
+      // The root package keys its children by their full name.
+      Node node = parent.get(parent == namespace ? snapshotNode.getFullName() : snapshotNode.getName());
+      if (node == null) {
+        if (snapshotNode instanceof PackageNode) {
+          node = new PackageNodeImpl(parent, snapshotNode.getName(), snapshotNode.getFullName());
+        } else if (snapshotNode instanceof NamedParameterNode) {
+          final NamedParameterNode<?> np = (NamedParameterNode<?>) snapshotNode;
+          final String shortName = np.getShortName();
+          if (shortName != null) {
+            final NamedParameterNode<?> oldNode = shortNames.get(shortName);
+            if (oldNode != null) {
+              throw new ClassHierarchyException("Named parameters " + oldNode.getFullName()
+                  + " and " + np.getFullName() + " have the same short name: " + shortName);
+            }
+          }
+          final NamedParameterNode<?> newNode = new NamedParameterNodeImpl<>(parent, np.getName(), np.getFullName(),
+              np.getFullArgName(), np.getSimpleArgName(), np.isSet(), np.isList(), np.getDocumentation(),
+              shortName, np.getDefaultInstanceAsStrings());
+          if (shortName != null) {
+            shortNames.put(shortName, newNode);
+          }
+          node = newNode;
+        } else if (snapshotNode instanceof ClassNode) {
+          final ClassNode cn = (ClassNode) snapshotNode;
+          node = new ClassNodeImpl(parent, cn.getName(), cn.getFullName(), cn.isUnit(), cn.isInjectionCandidate(),
+              cn.isExternalConstructor(), cn.getInjectableConstructors(), cn.getAllConstructors(),
+              cn.getDefaultImplementation());
+        } else {
+          throw new ClassHierarchyException("Unexpected node in class hierarchy snapshot: " + snapshotNode);
+        }
+      }
+      addSnapshotNodes(snapshotNode, node);
+    }
+  }
+
+  /**
+   * Register the implementations known by the snapshot.  Must run after addSnapshotNodes().
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void addSnapshotImplementations(final Node snapshotParent) {
+    for (final Node snapshotNode : snapshotParent.getChildren()) {
+      if (snapshotNode instanceof ClassNode) {
+        try {
+          final ClassNode cn = (ClassNode) getAlreadyBoundNode(snapshotNode.getFullName());
+          final Set<ClassNode<?>> knownImpls = cn.getKnownImplementations();
+          for (final Object snapshotImpl : ((ClassNode<?>) snapshotNode).getKnownImplementations()) {
+            final ClassNode impl = (ClassNode) getAlreadyBoundNode(((ClassNode<?>) snapshotImpl).getFullName());
+            if (!knownImpls.contains(impl)) {
+              cn.putImpl(impl);
+            }
+          }
+        } catch (final NameResolutionException | ClassCastException e) {
+          throw new ClassHierarchyException("Inconsistent class hierarchy snapshot at " + snapshotNode, e);
+        }
+      }
+      addSnapshotImplementations(snapshotNode);
+    }
+  }
+
   @Override
   public PackageNode getNamespace() {
     return namespace;
@@ -418,12 +549,12 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
   }
 
   @Override
-  public synchronized boolean isImplementation(final ClassNode<?> inter, final ClassNode<?> impl) {
+  public boolean isImplementation(final ClassNode<?> inter, final ClassNode<?> impl) {
     return impl.isImplementationOf(inter);
   }
 
   @Override
-  public synchronized ClassHierarchy merge(final ClassHierarchy ch) {
+  public ClassHierarchy merge(final ClassHierarchy ch) {
     if (this == ch) {
       return this;
     }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.implementation.InjectionPlan;
+import org.apache.reef.tang.types.Node;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The injection plans of the Injectors forked from one Injector, keyed by the
+ * Configuration of the fork.  Evaluators fork the same Configuration for every
+ * Task they start, so its plans only need to be built once.
+ * <p>
+ * Only the least recently used configurations are kept.  The plans of one
+ * configuration may be shared by forks running on different threads.
+ */
+final class InjectionPlanCache {
+
+  private static final int MAX_CONFIGURATIONS = 16;
+
+  private final Map<Configuration, Map<Node, InjectionPlan<?>>> plans =
+      new LinkedHashMap<Configuration, Map<Node, InjectionPlan<?>>>(MAX_CONFIGURATIONS, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Configuration, Map<Node, InjectionPlan<?>>> eldest) {
+          return size() > MAX_CONFIGURATIONS;
+        }
+      };
+
+  /**
+   * @return the plans shared by the forks with the given Configuration.
+   */
+  synchronized Map<Node, InjectionPlan<?>> get(final Configuration configuration) {
+    Map<Node, InjectionPlan<?>> configurationPlans = plans.get(configuration);
+    if (configurationPlans == null) {
+      configurationPlans = new ConcurrentHashMap<>();
+      plans.put(configuration, configurationPlans);
+    }
+    return configurationPlans;
+  }
+
+  /**
+   * Forget all plans, e.g. because a parameter they depend on changed.
+   * Forks that are already running keep their plans.
+   */
+  synchronized void clear() {
+    plans.clear();
+  }
+}
@@ -78,8 +78,25 @@ public class InjectorImpl implements Injector {
   private final Map<NamedParameterNode<?>, Object> namedParameterInstances = new TracingMonotonicTreeMap<>();
   private final Configuration c;
   private final ClassHierarchy namespace;
-  private final JavaClassHierarchy javaNamespace;
+  private final ClassHierarchyImpl javaNamespace;
   private final Set<InjectionFuture<?>> pendingFutures = new HashSet<>();
+  /**
+   * Injectable plans built by this Injector.  A plan stays valid when instances are
+   * added, because injectFromPlan() prefers cached instances, but not when a
+   * parameter is bound.
+   */
+  private final Map<Node, InjectionPlan<?>> builtPlans = new HashMap<>();
+  /**
+   * Plans of the Injectors forked from this one.
+   */
+  private final InjectionPlanCache forkedPlans = new InjectionPlanCache();
+  /**
+   * Plans shared with the other forks of our parent that have the same Configuration,
+   * or null if there are none.  Only plans built before this Injector held instances
+   * of its own are shared, since a plan embeds the instances it found.
+   */
+  private Map<Node, InjectionPlan<?>> sharedPlans = null;
+  private int instancesAtFork = 0;
   private boolean concurrentModificationGuard = false;
   private Aspect aspect;
 
@@ -130,6 +147,11 @@ public class InjectorImpl implements Injector {
     if (old.aspect != null) {
       i.bindAspect(old.aspect.createChildAspect());
     }
+    // Plans hold nodes, so they can only be shared within the same ClassHierarchy.
+    if (i.namespace == old.namespace) {
+      i.sharedPlans = old.forkedPlans.get(i.c);
+      i.instancesAtFork = i.instances.size();
+    }
     return i;
   }
 
@@ -468,9 +490,25 @@ public class InjectorImpl implements Injector {
    * @throws NameResolutionException
    */
   public InjectionPlan<?> getInjectionPlan(final Node n) {
+    InjectionPlan<?> plan = builtPlans.get(n);
+    if (plan == null && sharedPlans != null) {
+      plan = sharedPlans.get(n);
+    }
+    if (plan != null) {
+      return plan;
+    }
+
     final Map<Node, InjectionPlan<?>> memo = new HashMap<>();
     buildInjectionPlan(n, memo);
-    return memo.get(n);
+    plan = memo.get(n);
+
+    if (plan.isInjectable()) {
+      builtPlans.put(n, plan);
+      if (sharedPlans != null && instances.size() == instancesAtFork) {
+        sharedPlans.put(n, plan);
+      }
+    }
+    return plan;
   }
 
   @Override
@@ -551,26 +589,6 @@ public class InjectorImpl implements Injector {
     return getNamedInstance(clazz);
   }
 
-  private <T> java.lang.reflect.Constructor<T> getConstructor(
-      final ConstructorDef<T> constructor) throws ClassNotFoundException,
-      NoSuchMethodException, SecurityException {
-    @SuppressWarnings("unchecked") final Class<T> clazz =
-        (Class<T>) javaNamespace.classForName(constructor.getClassName());
-    final ConstructorArg[] args = constructor.getArgs();
-    final Class<?>[] parameterTypes = new Class[args.length];
-    for (int i = 0; i < args.length; i++) {
-      if (args[i].isInjectionFuture()) {
-        parameterTypes[i] = InjectionFuture.class;
-      } else {
-        parameterTypes[i] = javaNamespace.classForName(args[i].getType());
-      }
-    }
-    final java.lang.reflect.Constructor<T> cons = clazz
-        .getDeclaredConstructor(parameterTypes);
-    cons.setAccessible(true);
-    return cons;
-  }
-
   /**
    * This gets really nasty now that constructors can invoke operations on us.
    * The upshot is that we should check to see if instances have been
@@ -629,7 +647,7 @@ public class InjectorImpl implements Injector {
         T ret;
         try {
           final ConstructorDef<T> def = constructor.getConstructorDef();
-          final java.lang.reflect.Constructor<T> construct = getConstructor(def);
+          final java.lang.reflect.Constructor<T> construct = javaNamespace.getConstructor(def);
 
           if (aspect != null) {
             ret = aspect.inject(def, construct, args);
@@ -720,6 +738,9 @@ public class InjectorImpl implements Injector {
       }
       try {
         namedParameterInstances.put(np, o);
+        builtPlans.clear();
+        sharedPlans = null;
+        forkedPlans.clear();
       } catch (final IllegalArgumentException e) {
         throw new BindException(
             "Attempt to bind named parameter " + ReflectionUtilities.getFullName(cl) + " failed. "
@@ -34,7 +34,10 @@ public class ClassNodeImpl<T> extends AbstractNode implements ClassNode<T> {
   private final boolean externalConstructor;
   private final ConstructorDef<T>[] injectableConstructors;
   private final ConstructorDef<T>[] allConstructors;
-  private final MonotonicSet<ClassNode<T>> knownImpls;
+  /**
+   * Copied on write, so that readers never see a set that is being modified.
+   */
+  private volatile MonotonicSet<ClassNode<T>> knownImpls;
   private final String defaultImpl;
 
   public ClassNodeImpl(final Node parent, final String simpleName, final String fullName,
@@ -101,8 +104,10 @@ public class ClassNodeImpl<T> extends AbstractNode implements ClassNode<T> {
   }
 
   @Override
-  public void putImpl(final ClassNode<T> impl) {
-    knownImpls.add(impl);
+  public synchronized void putImpl(final ClassNode<T> impl) {
+    final MonotonicSet<ClassNode<T>> newImpls = new MonotonicSet<>(knownImpls);
+    newImpls.add(impl);
+    knownImpls = newImpls;
   }
 
   @Override
@@ -201,4 +201,20 @@ public abstract class AbstractMonotonicMultiMap<K, V> implements Collection<Entr
       return false;
     }
   }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return map.equals(((AbstractMonotonicMultiMap<?, ?>) o).map);
+  }
+
+  @Override
+  public int hashCode() {
+    return map.hashCode();
+  }
 }
@@ -143,5 +143,25 @@ public final class TracingMonotonicTreeMap<K, V> implements TracingMonotonicMap<
       return "[" + key + "] set by " + value;
     }
 
+    /**
+     * Entries are equal if they bind the same value, wherever that happened.
+     */
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final EntryImpl that = (EntryImpl) o;
+      return key != null ? key.equals(that.key) : that.key == null;
+    }
+
+    @Override
+    public int hashCode() {
+      return key != null ? key.hashCode() : 0;
+    }
+
   }
 }
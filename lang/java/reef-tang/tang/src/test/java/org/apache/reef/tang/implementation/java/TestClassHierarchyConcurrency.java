@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.types.ClassNode;
+import org.apache.reef.tang.types.Node;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that ClassHierarchyImpl can be read from many threads at once.
+ */
+public class TestClassHierarchyConcurrency {
+
+  @Test(timeout = 10000)
+  public void testRegisteredLookupsDoNotTakeTheLock() throws Exception {
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl();
+    final Node impl = ch.getNode(Impl.class);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Boolean> lookup;
+      synchronized (ch) {
+        lookup = executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+            return ch.getNode(Impl.class) == impl
+                && ch.isImplementation((ClassNode<?>) ch.getNode(Iface.class), (ClassNode<?>) impl);
+          }
+        });
+        // The lookup has to finish while this thread holds the hierarchy lock.
+        Assert.assertTrue(lookup.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeout = 30000)
+  public void testConcurrentRegistrationAndInjection() throws Exception {
+    final ClassHierarchyImpl ch = new ClassHierarchyImpl();
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<Node>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(new Callable<Node>() {
+          @Override
+          public Node call() throws Exception {
+            for (int j = 0; j < 100; j++) {
+              Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder(ch).build())
+                  .getInstance(Impl.class);
+            }
+            return ch.getNode(Impl.class);
+          }
+        }));
+      }
+      final Node expected = ch.getNode(Impl.class);
+      for (final Future<Node> result : results) {
+        Assert.assertSame(expected, result.get());
+      }
+      Assert.assertEquals(1, ((ClassNode<?>) ch.getNode(Iface.class)).getKnownImplementations().size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  interface Iface {
+  }
+
+  static final class Impl implements Iface {
+    @Inject
+    Impl() {
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.ClassHierarchySerializer;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.ConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.tang.implementation.avro.AvroClassHierarchySerializer;
+import org.apache.reef.tang.types.ClassNode;
+import org.apache.reef.tang.types.NamedParameterNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+
+/**
+ * Tests ClassHierarchyImpl.addSnapshot().
+ */
+public class TestClassHierarchySnapshot {
+
+  private final ClassHierarchySerializer serializer = new AvroClassHierarchySerializer();
+
+  private ClassHierarchy snapshotOf(final Class<?>... classes) throws Exception {
+    final ClassHierarchyImpl source = new ClassHierarchyImpl();
+    for (final Class<?> clazz : classes) {
+      source.getNode(clazz);
+    }
+    return serializer.fromByteArray(serializer.toByteArray(source));
+  }
+
+  @Test
+  public void testSnapshotNodesAreUsed() throws Exception {
+    final ClassHierarchyImpl target = new ClassHierarchyImpl();
+    target.addSnapshot(snapshotOf(Greeter.class));
+
+    final ClassNode<?> greeter = (ClassNode<?>) target.getNamespace()
+        .get(TestClassHierarchySnapshot.class.getName()).get(Greeter.class.getSimpleName());
+    Assert.assertNotNull("The snapshot should add the node without reflection", greeter);
+    Assert.assertSame(greeter, target.getNode(Greeter.class));
+    Assert.assertTrue(target.getNode(Greeting.class) instanceof NamedParameterNode);
+    Assert.assertTrue(target.isImplementation(
+        (ClassNode<?>) target.getNode(Speaker.class), (ClassNode<?>) target.getNode(Greeter.class)));
+
+    final ConfigurationBuilder cb = Tang.Factory.getTang().newConfigurationBuilder(target);
+    cb.bind(Speaker.class.getName(), Greeter.class.getName());
+    cb.bind(Greeting.class.getName(), "hi");
+    final Configuration conf = cb.build();
+    Assert.assertEquals("hi", Tang.Factory.getTang().newInjector(conf).getInstance(Speaker.class).speak());
+  }
+
+  @Test
+  public void testSnapshotKeepsKnownNodes() throws Exception {
+    final ClassHierarchyImpl target = new ClassHierarchyImpl();
+    final ClassNode<?> greeter = (ClassNode<?>) target.getNode(Greeter.class);
+    target.addSnapshot(snapshotOf(Greeter.class, Other.class));
+
+    Assert.assertSame(greeter, target.getNode(Greeter.class));
+    Assert.assertEquals(2, ((ClassNode<?>) target.getNode(Speaker.class)).getKnownImplementations().size());
+  }
+
+  interface Speaker {
+    String speak();
+  }
+
+  @NamedParameter(default_value = "hello", short_name = "snapshot_greeting")
+  static final class Greeting implements Name<String> {
+  }
+
+  static final class Greeter implements Speaker {
+    private final String greeting;
+
+    @Inject
+    Greeter(@Parameter(Greeting.class) final String greeting) {
+      this.greeting = greeting;
+    }
+
+    @Override
+    public String speak() {
+      return greeting;
+    }
+  }
+
+  static final class Other implements Speaker {
+    @Inject
+    Other() {
+    }
+
+    @Override
+    public String speak() {
+      return "other";
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+
+/**
+ * Checks that the injection plans shared between forks of an Injector
+ * behave like plans built from scratch.
+ */
+public class TestInjectionPlanCache {
+
+  private static Configuration taskConfiguration() throws Exception {
+    return Tang.Factory.getTang().newConfigurationBuilder()
+        .bindImplementation(Service.class, ServiceImpl.class)
+        .build();
+  }
+
+  @Test
+  public void testForksGetTheirOwnInstances() throws Exception {
+    final Injector parent = Tang.Factory.getTang().newInjector();
+
+    final Injector first = parent.forkInjector(taskConfiguration());
+    final Injector second = parent.forkInjector(taskConfiguration());
+    final Client firstClient = first.getInstance(Client.class);
+    final Client secondClient = second.getInstance(Client.class);
+
+    Assert.assertNotSame(firstClient, secondClient);
+    Assert.assertNotSame(firstClient.service, secondClient.service);
+    Assert.assertSame(first, firstClient.injector);
+    Assert.assertSame(second, secondClient.injector);
+  }
+
+  @Test
+  public void testForkSeesBoundInstance() throws Exception {
+    final Injector parent = Tang.Factory.getTang().newInjector();
+    parent.forkInjector(taskConfiguration()).getInstance(Client.class);
+
+    final Injector fork = parent.forkInjector(taskConfiguration());
+    final ServiceImpl service = new ServiceImpl("bound");
+    fork.bindVolatileInstance(Service.class, service);
+    Assert.assertSame(service, fork.getInstance(Client.class).service);
+
+    Assert.assertNotSame(service, parent.forkInjector(taskConfiguration()).getInstance(Client.class).service);
+  }
+
+  @Test
+  public void testForkSeesParameterBoundLater() throws Exception {
+    final Injector parent = Tang.Factory.getTang().newInjector();
+    Assert.assertEquals("default",
+        parent.forkInjector(taskConfiguration()).getInstance(Client.class).service.getName());
+
+    final Injector fork = parent.forkInjector(taskConfiguration());
+    fork.bindVolatileParameter(ServiceName.class, "fork");
+    Assert.assertEquals("fork", fork.getInstance(Client.class).service.getName());
+
+    parent.bindVolatileParameter(ServiceName.class, "parent");
+    Assert.assertEquals("parent",
+        parent.forkInjector(taskConfiguration()).getInstance(Client.class).service.getName());
+  }
+
+  interface Service {
+    String getName();
+  }
+
+  @NamedParameter(default_value = "default")
+  static final class ServiceName implements Name<String> {
+  }
+
+  static final class ServiceImpl implements Service {
+    private final String name;
+
+    @Inject
+    ServiceImpl(@Parameter(ServiceName.class) final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+  }
+
+  static final class Client {
+    private final Service service;
+    private final Injector injector;
+
+    @Inject
+    Client(final Service service, final Injector injector) {
+      this.service = service;
+      this.injector = injector;
+    }
+  }
+}
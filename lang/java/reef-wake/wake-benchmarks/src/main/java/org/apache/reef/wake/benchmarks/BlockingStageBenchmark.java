@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.impl.VirtualThreadExecutorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of a {@link ThreadPoolStage} whose handler blocks, on a fixed pool of platform threads
+ * and on {@link VirtualThreadExecutorService}.
+ * The peak number of platform threads of each trial is printed at its end.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BlockingStageBenchmark {
+
+  private static final int BATCH_SIZE = 256;
+
+  @Param({"fixed", "virtual"})
+  private String executorType;
+
+  /**
+   * The number of threads of the fixed pool.
+   */
+  @Param({"16"})
+  private int numThreads;
+
+  /**
+   * How long the handler blocks, to stand for a naming lookup or a file system write.
+   */
+  @Param({"1000"})
+  private long blockMicros;
+
+  private final AtomicLong handled = new AtomicLong();
+  private final Integer event = 42;
+  private long submitted;
+  private ExecutorService executor;
+  private ThreadPoolStage<Integer> stage;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final long blockNanos = TimeUnit.MICROSECONDS.toNanos(blockMicros);
+    final EventHandler<Integer> handler = new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        LockSupport.parkNanos(blockNanos);
+        handled.incrementAndGet();
+      }
+    };
+    switch (executorType) {
+    case "fixed":
+      stage = new ThreadPoolStage<>(executorType, handler, numThreads);
+      break;
+    case "virtual":
+      executor = new VirtualThreadExecutorService(executorType);
+      stage = new ThreadPoolStage<>(executorType, handler, executor);
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown executor type: " + executorType);
+    }
+    ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    handled.set(0);
+    submitted = 0;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    System.out.println(executorType + (executor == null ? "" : " (virtual threads: " +
+        ((VirtualThreadExecutorService) executor).isVirtual() + ")") +
+        ": peak platform threads " + threads.getPeakThreadCount());
+    stage.close();
+    if (executor != null) {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Hands a batch of events to the stage and waits for all of them to be handled.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void blockingThroughput() {
+    for (int i = 0; i < BATCH_SIZE; ++i) {
+      stage.onNext(event);
+    }
+    submitted += BATCH_SIZE;
+    while (handled.get() < submitted) {
+      Thread.yield();
+    }
+  }
+}
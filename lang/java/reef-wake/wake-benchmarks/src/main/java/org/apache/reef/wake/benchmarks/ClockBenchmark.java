@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.metrics.LogHistogram;
+import org.apache.reef.wake.time.event.Alarm;
+import org.apache.reef.wake.time.runtime.RuntimeClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alarm scheduling throughput and firing jitter of the {@link RuntimeClock}, with 100k outstanding alarms.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClockBenchmark {
+
+  private static final int OUTSTANDING_ALARMS = 100000;
+
+  private static final int ONE_HOUR = (int) TimeUnit.HOURS.toMillis(1);
+
+  private static final EventHandler<Alarm> NO_OP = new EventHandler<Alarm>() {
+    @Override
+    public void onNext(final Alarm alarm) {
+    }
+  };
+
+  /**
+   * A running clock with {@link #OUTSTANDING_ALARMS} alarms scheduled an hour ahead.
+   */
+  @State(Scope.Benchmark)
+  public static class ClockState {
+
+    private RuntimeClock clock;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InjectionException {
+      clock = Tang.Factory.getTang().newInjector().getInstance(RuntimeClock.class);
+      new Thread(clock, "RuntimeClock").start();
+      for (int i = 0; i < OUTSTANDING_ALARMS; ++i) {
+        clock.scheduleAlarm(ONE_HOUR + i, NO_OP);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      clock.stop();
+    }
+  }
+
+  /**
+   * Schedules alarms from 4 threads at once. The alarms fire within a second.
+   */
+  @Benchmark
+  @Threads(4)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public void scheduleAlarm(final ClockState state) {
+    state.clock.scheduleAlarm(ThreadLocalRandom.current().nextInt(1, 1000), NO_OP);
+  }
+
+  /**
+   * Schedules {@link #OUTSTANDING_ALARMS} alarms spread over half a second and waits for all of them to fire.
+   * The delay between the timestamp of an alarm and its firing is printed at the end of the trial.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void fireJitter(final JitterState state) throws InterruptedException {
+    final CountDownLatch fired = new CountDownLatch(OUTSTANDING_ALARMS);
+    final EventHandler<Alarm> handler = new EventHandler<Alarm>() {
+      @Override
+      public void onNext(final Alarm alarm) {
+        state.jitter.update(System.currentTimeMillis() - alarm.getTimestamp());
+        fired.countDown();
+      }
+    };
+    for (int i = 0; i < OUTSTANDING_ALARMS; ++i) {
+      state.clock.scheduleAlarm(ThreadLocalRandom.current().nextInt(1, 500), handler);
+    }
+    fired.await();
+  }
+
+  /**
+   * A running clock, and the firing delays of its alarms in milliseconds.
+   */
+  @State(Scope.Benchmark)
+  public static class JitterState {
+
+    private final LogHistogram jitter = new LogHistogram();
+    private RuntimeClock clock;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InjectionException {
+      clock = Tang.Factory.getTang().newInjector().getInstance(RuntimeClock.class);
+      new Thread(clock, "RuntimeClock").start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      System.out.println("Firing delay: p50 " + jitter.getValueAtPercentile(50) + " ms, p99 " +
+          jitter.getValueAtPercentile(99) + " ms, max " + jitter.getValueAtPercentile(100) + " ms");
+      clock.stop();
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.wake.remote.Codec;
+import org.apache.reef.wake.remote.impl.ByteCodec;
+import org.apache.reef.wake.remote.impl.MultiCodec;
+import org.apache.reef.wake.remote.impl.RemoteEvent;
+import org.apache.reef.wake.remote.impl.RemoteEventCodec;
+import org.apache.reef.wake.remote.impl.RemoteEventDecoder;
+import org.apache.reef.wake.remote.impl.RemoteEventEncoder;
+import org.apache.reef.wake.remote.impl.StringCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding cost of the remote event and multi-type codecs.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodecBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  private int payloadSize;
+
+  private RemoteEventCodec<byte[]> remoteEventCodec;
+  private RemoteEventEncoder<byte[]> remoteEventEncoder;
+  private RemoteEventDecoder<byte[]> remoteEventDecoder;
+  private MultiCodec<Object> multiCodec;
+  private MultiCodec<Object> taggedMultiCodec;
+
+  private RemoteEvent<byte[]> remoteEvent;
+  private byte[] payload;
+  private byte[] encodedRemoteEvent;
+  private byte[] encodedMultiCodec;
+  private byte[] encodedTaggedMultiCodec;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setUp() {
+    final ByteCodec byteCodec = new ByteCodec();
+    remoteEventCodec = new RemoteEventCodec<>(byteCodec);
+    remoteEventEncoder = new RemoteEventEncoder<>(byteCodec);
+    remoteEventDecoder = new RemoteEventDecoder<>(byteCodec);
+
+    final Map<Class<?>, Codec<?>> codecs = new HashMap<>();
+    codecs.put(String.class, new StringCodec());
+    codecs.put(byte[].class, byteCodec);
+    multiCodec = newMultiCodec(codecs, false);
+    taggedMultiCodec = newMultiCodec(codecs, true);
+
+    payload = new byte[payloadSize];
+    for (int i = 0; i < payloadSize; ++i) {
+      payload[i] = (byte) i;
+    }
+    remoteEvent = new RemoteEvent<>(new InetSocketAddress("localhost", 1),
+        new InetSocketAddress("localhost", 2), 1234567L, payload);
+    encodedRemoteEvent = remoteEventCodec.encode(remoteEvent);
+    encodedMultiCodec = multiCodec.encode(payload);
+    encodedTaggedMultiCodec = taggedMultiCodec.encode(payload);
+    buffer = ByteBuffer.allocateDirect(remoteEventEncoder.getEncodedSize(remoteEvent));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static MultiCodec<Object> newMultiCodec(final Map<Class<?>, Codec<?>> codecs, final boolean useTypeTags) {
+    return new MultiCodec<>((Map) codecs, useTypeTags);
+  }
+
+  @Benchmark
+  public byte[] remoteEventEncode() {
+    return remoteEventCodec.encode(remoteEvent);
+  }
+
+  @Benchmark
+  public RemoteEvent<byte[]> remoteEventDecode() {
+    return remoteEventCodec.decode(encodedRemoteEvent);
+  }
+
+  /**
+   * Encodes into a reused direct buffer, as the transport does with its pooled buffers.
+   */
+  @Benchmark
+  public ByteBuffer remoteEventEncodeToBuffer() {
+    buffer.clear();
+    remoteEventEncoder.encode(remoteEvent, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public RemoteEvent<byte[]> remoteEventDecodeFromBuffer() {
+    return remoteEventDecoder.decode(ByteBuffer.wrap(encodedRemoteEvent));
+  }
+
+  @Benchmark
+  public byte[] multiCodecEncode() {
+    return multiCodec.encode(payload);
+  }
+
+  @Benchmark
+  public Object multiCodecDecode() {
+    return multiCodec.decode(encodedMultiCodec);
+  }
+
+  @Benchmark
+  public byte[] multiCodecTaggedEncode() {
+    return taggedMultiCodec.encode(payload);
+  }
+
+  @Benchmark
+  public Object multiCodecTaggedDecode() {
+    return taggedMultiCodec.decode(encodedTaggedMultiCodec);
+  }
+}
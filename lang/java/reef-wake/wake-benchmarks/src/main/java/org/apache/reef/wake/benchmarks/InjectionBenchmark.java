@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.JavaConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.exceptions.NameResolutionException;
+import org.apache.reef.tang.types.Node;
+import org.apache.reef.tang.util.ReflectionUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tang lookups and injections from 4 threads that share a class hierarchy whose classes are all registered,
+ * as the injectors of a driver or an evaluator do.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InjectionBenchmark {
+
+  private static final String SERVICE_NAME = ReflectionUtilities.getFullName(Service.class);
+
+  private ClassHierarchy classHierarchy;
+  private Configuration configuration;
+
+  @Setup
+  public void setUp() throws InjectionException {
+    final JavaConfigurationBuilder builder = Tang.Factory.getTang().newConfigurationBuilder();
+    builder.bindImplementation(Store.class, MemoryStore.class);
+    classHierarchy = builder.getClassHierarchy();
+    configuration = builder.build();
+    Tang.Factory.getTang().newInjector(configuration).getInstance(Service.class);
+  }
+
+  /**
+   * Looks up the node of a registered class.
+   */
+  @Benchmark
+  public Node getNode() throws NameResolutionException {
+    return classHierarchy.getNode(SERVICE_NAME);
+  }
+
+  /**
+   * Injects a small object graph with a new injector.
+   */
+  @Benchmark
+  public Service inject() throws InjectionException {
+    return Tang.Factory.getTang().newInjector(configuration).getInstance(Service.class);
+  }
+
+  /**
+   * The interface of a store.
+   */
+  public interface Store {
+  }
+
+  /**
+   * The bound implementation of the store.
+   */
+  public static final class MemoryStore implements Store {
+    @Inject
+    MemoryStore() {
+    }
+  }
+
+  /**
+   * A dependency of the service.
+   */
+  public static final class Cache {
+    @Inject
+    Cache(final Store store) {
+    }
+  }
+
+  /**
+   * The injected root object.
+   */
+  public static final class Service {
+    @Inject
+    Service(final Store store, final Cache cache) {
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.wake.metrics.LogHistogram;
+import org.apache.reef.wake.metrics.Meter;
+import org.apache.reef.wake.metrics.StripedCounter;
+import org.apache.reef.wake.metrics.UniformHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of updating the metrics of a stage from many producer threads at once.
+ * {@code atomicLong} and {@code uniformHistogram} are the contended baselines.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(32)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+  private final AtomicLong atomicLong = new AtomicLong();
+  private final StripedCounter stripedCounter = new StripedCounter();
+  private final Meter meter = new Meter("benchmark");
+  private final UniformHistogram uniformHistogram = new UniformHistogram(1000, 1000);
+  private final LogHistogram logHistogram = new LogHistogram();
+
+  @Benchmark
+  public long atomicLong() {
+    return atomicLong.incrementAndGet();
+  }
+
+  @Benchmark
+  public void stripedCounter() {
+    stripedCounter.increment();
+  }
+
+  @Benchmark
+  public void meterMark() {
+    meter.mark(1);
+  }
+
+  @Benchmark
+  public void uniformHistogram() {
+    uniformHistogram.update(ThreadLocalRandom.current().nextInt(1000000));
+  }
+
+  @Benchmark
+  public void logHistogram() {
+    logHistogram.update(ThreadLocalRandom.current().nextInt(1000000));
+  }
+}
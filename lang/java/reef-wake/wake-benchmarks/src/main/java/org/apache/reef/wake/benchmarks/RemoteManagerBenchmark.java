@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.LoggingEventHandler;
+import org.apache.reef.wake.remote.RemoteManager;
+import org.apache.reef.wake.remote.RemoteManagerFactory;
+import org.apache.reef.wake.remote.RemoteMessage;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.apache.reef.wake.remote.impl.StringCodec;
+import org.apache.reef.wake.remote.ports.TcpPortProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Send and receive throughput of a remote manager sending to itself over loopback,
+ * with and without the per-sender ordering guarantee.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RemoteManagerBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"false", "true"})
+  private boolean orderingGuarantee;
+
+  private final AtomicLong received = new AtomicLong();
+  private long sent;
+  private RemoteManager remoteManager;
+  private EventHandler<String> proxy;
+
+  @Setup(Level.Trial)
+  public void setUp() throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    final RemoteManagerFactory factory = injector.getInstance(RemoteManagerFactory.class);
+    final LocalAddressProvider localAddressProvider = injector.getInstance(LocalAddressProvider.class);
+    remoteManager = factory.getInstance("benchmark", localAddressProvider.getLocalAddress(), 0, new StringCodec(),
+        new LoggingEventHandler<Throwable>(), orderingGuarantee, 3, 10000,
+        localAddressProvider, injector.getInstance(TcpPortProvider.class));
+    remoteManager.registerHandler(String.class, new EventHandler<RemoteMessage<String>>() {
+      @Override
+      public void onNext(final RemoteMessage<String> value) {
+        received.incrementAndGet();
+      }
+    });
+    proxy = remoteManager.getHandler(remoteManager.getMyIdentifier(), String.class);
+    received.set(0);
+    sent = 0;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    remoteManager.close();
+  }
+
+  /**
+   * Sends a batch of messages and waits for all of them to be received.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void sendReceive() {
+    for (int i = 0; i < BATCH_SIZE; ++i) {
+      proxy.onNext("message");
+    }
+    sent += BATCH_SIZE;
+    while (received.get() < sent) {
+      Thread.yield();
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.wake.EStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.ForkPoolStage;
+import org.apache.reef.wake.impl.RingBufferStage;
+import org.apache.reef.wake.impl.SingleThreadStage;
+import org.apache.reef.wake.impl.SyncStage;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.impl.WaitStrategy;
+import org.apache.reef.wake.impl.WakeSharedPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and dispatch latency of the Wake stages.
+ * Each operation hands an event to the stage and waits until its handler has run.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StageBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"SyncStage", "SingleThreadStage", "RingBufferStage", "ThreadPoolStage", "ForkPoolStage"})
+  private String stageType;
+
+  @Param({"4"})
+  private int numThreads;
+
+  @Param({"PARK"})
+  private WaitStrategy waitStrategy;
+
+  private final AtomicLong handled = new AtomicLong();
+  private final Integer event = 42;
+  private long submitted;
+  private WakeSharedPool pool;
+  private EStage<Integer> stage;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final EventHandler<Integer> handler = new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        handled.incrementAndGet();
+      }
+    };
+    switch (stageType) {
+    case "SyncStage":
+      stage = new SyncStage<>(handler);
+      break;
+    case "SingleThreadStage":
+      stage = new SingleThreadStage<>(handler, 2 * BATCH_SIZE);
+      break;
+    case "RingBufferStage":
+      stage = new RingBufferStage<>(stageType, handler, 2 * BATCH_SIZE, waitStrategy, 64);
+      break;
+    case "ThreadPoolStage":
+      stage = new ThreadPoolStage<>(handler, numThreads);
+      break;
+    case "ForkPoolStage":
+      pool = new WakeSharedPool(numThreads);
+      stage = new ForkPoolStage<>(handler, pool);
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown stage type: " + stageType);
+    }
+    handled.set(0);
+    submitted = 0;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    stage.close();
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  /**
+   * Hands a batch of events to the stage and waits for all of them to be handled.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void throughput() {
+    for (int i = 0; i < BATCH_SIZE; ++i) {
+      stage.onNext(event);
+    }
+    submitted += BATCH_SIZE;
+    awaitHandled();
+  }
+
+  /**
+   * Hands a single event to the stage and waits for it to be handled.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void latency() {
+    stage.onNext(event);
+    ++submitted;
+    awaitHandled();
+  }
+
+  private void awaitHandled() {
+    while (handled.get() < submitted) {
+      Thread.yield();
+    }
+  }
+}
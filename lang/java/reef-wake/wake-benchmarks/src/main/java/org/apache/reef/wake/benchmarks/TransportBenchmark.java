@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.benchmarks;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EStage;
+import org.apache.reef.wake.remote.RemoteConfiguration;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.apache.reef.wake.remote.impl.ByteCodec;
+import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.Transport;
+import org.apache.reef.wake.remote.transport.TransportFactory;
+import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips over a loopback Netty messaging transport: the server side echoes every message back.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransportBenchmark {
+
+  @Param({"false", "true"})
+  private boolean nativeTransport;
+
+  @Param({"64", "16384"})
+  private int messageSize;
+
+  private final BlockingQueue<byte[]> replies = new LinkedBlockingQueue<>();
+  private Transport transport;
+  private Link<byte[]> link;
+  private byte[] message;
+
+  @Setup(Level.Trial)
+  public void setUp() throws InjectionException, IOException {
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(RemoteConfiguration.NativeTransport.class, nativeTransport);
+    final TransportFactory factory = injector.getInstance(TransportFactory.class);
+    final String host = injector.getInstance(LocalAddressProvider.class).getLocalAddress();
+
+    transport = factory.newInstance(host, 0, new ReplyStage(), new EchoStage(), 1, 10000);
+    link = transport.open(new InetSocketAddress(host, transport.getListeningPort()),
+        new ByteCodec(), new LoggingLinkListener<byte[]>());
+    message = new byte[messageSize];
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    transport.close();
+  }
+
+  @Benchmark
+  public byte[] roundTrip() throws InterruptedException {
+    link.write(message);
+    return replies.take();
+  }
+
+  /**
+   * Sends every received message back to its sender.
+   */
+  private static final class EchoStage implements EStage<TransportEvent> {
+
+    @Override
+    public void onNext(final TransportEvent value) {
+      value.getLink().write(value.getData());
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Hands the echoed messages to the benchmark thread.
+   */
+  private final class ReplyStage implements EStage<TransportEvent> {
+
+    @Override
+    public void onNext(final TransportEvent value) {
+      replies.add(value.getData());
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.reef.wake;
 
 import org.apache.reef.wake.metrics.Meter;
+import org.apache.reef.wake.metrics.StageMetrics;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -38,6 +39,11 @@ public abstract class AbstractEStage<T> implements EStage<T> {
    */
   private final Meter outMeter;
 
+  /**
+   * Queue and service time of a sample of the events.
+   */
+  private final StageMetrics metrics;
+
   /**
    * Constructs an abstract estage.
    *
@@ -48,6 +54,7 @@ public abstract class AbstractEStage<T> implements EStage<T> {
     this.name = stageName;
     this.inMeter = new Meter(stageName + "_in");
     this.outMeter = new Meter(stageName + "_out");
+    this.metrics = new StageMetrics(stageName);
   }
 
   /**
@@ -68,6 +75,15 @@ public abstract class AbstractEStage<T> implements EStage<T> {
     return outMeter;
   }
 
+  /**
+   * Gets the queue and service time metrics of this stage.
+   *
+   * @return the stage metrics
+   */
+  public StageMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Updates the input meter.
    * <p>
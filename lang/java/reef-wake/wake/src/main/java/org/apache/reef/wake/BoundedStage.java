@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake;
+
+import org.apache.reef.wake.impl.OverflowPolicy;
+
+/**
+ * A stage that queues at most a fixed number of events,
+ * and applies an {@link OverflowPolicy} to the events that do not fit.
+ */
+public interface BoundedStage extends Stage {
+
+  /**
+   * Gets the maximum number of events this stage queues.
+   *
+   * @return the queue capacity
+   */
+  int getCapacity();
+
+  /**
+   * Gets the number of events that are queued but not yet being handled.
+   *
+   * @return the queue length
+   */
+  int getQueueLength();
+
+  /**
+   * Gets the policy applied to events that arrive while the queue is full.
+   *
+   * @return the overflow policy
+   */
+  OverflowPolicy getOverflowPolicy();
+
+  /**
+   * Gets the number of events that were rejected or dropped because the queue was full.
+   *
+   * @return the overflow count
+   */
+  long getOverflowCount();
+}
@@ -20,6 +20,9 @@ package org.apache.reef.wake;
 
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.wake.impl.LoggingEventHandler;
+import org.apache.reef.wake.impl.OverflowPolicy;
+import org.apache.reef.wake.impl.WaitStrategy;
 import org.apache.reef.wake.rx.Observer;
 
 import java.util.concurrent.ExecutorService;
@@ -64,6 +67,38 @@ public final class StageConfiguration {
   public static final class Capacity implements Name<Integer> {
   }
 
+  /**
+   * What a bounded stage does with an event that arrives while its queue is full.
+   */
+  @NamedParameter(doc = "What a bounded stage does with an event that arrives while its queue is full.",
+      default_value = "BLOCK")
+  public static final class QueueOverflowPolicy implements Name<OverflowPolicy> {
+  }
+
+  /**
+   * The handler that receives the events a bounded stage rejects or drops.
+   */
+  @NamedParameter(doc = "The handler that receives the events a bounded stage rejects or drops.",
+      default_class = LoggingEventHandler.class)
+  public static final class OverflowHandler implements Name<EventHandler<?>> {
+  }
+
+  /**
+   * How the threads of a lock-free stage wait for events or for room in the queue.
+   */
+  @NamedParameter(doc = "How the threads of a lock-free stage wait for events or for room in the queue.",
+      default_value = "PARK")
+  public static final class QueueWaitStrategy implements Name<WaitStrategy> {
+  }
+
+  /**
+   * The maximum number of events the consumer of a lock-free stage takes from the queue at a time.
+   */
+  @NamedParameter(doc = "The maximum number of events the consumer of a lock-free stage takes from the queue " +
+      "at a time.", default_value = "64")
+  public static final class DrainBatchSize implements Name<Integer> {
+  }
+
   /**
    * The executor service for the stage.
    */
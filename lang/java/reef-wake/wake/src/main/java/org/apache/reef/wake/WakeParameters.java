@@ -20,6 +20,7 @@ package org.apache.reef.wake;
 
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.wake.metrics.StageMetrics;
 
 /**
  * Default parameters for Wake.
@@ -53,6 +54,22 @@ public final class WakeParameters {
   public static final class RemoteSendTimeout implements Name<Integer> {
   }
 
+  /**
+   * How many events there are per event whose queue and service time a stage measures.
+   */
+  @NamedParameter(doc = "How many events there are per event whose queue and service time a stage measures. " +
+      "1 measures every event, 0 none.", default_value = "" + StageMetrics.DEFAULT_SAMPLE_INTERVAL)
+  public static final class StageMetricsSampleInterval implements Name<Integer> {
+  }
+
+  /**
+   * How often in milliseconds the stage metrics reporter logs the metrics of all stages.
+   */
+  @NamedParameter(doc = "How often in milliseconds the stage metrics reporter logs the metrics of all stages. " +
+      "0 disables the periodic report.", default_value = "60000")
+  public static final class StageMetricsReportPeriod implements Name<Long> {
+  }
+
   /**
    * Empty private constructor to prohibit instantiation of utility class.
    */
@@ -71,6 +71,7 @@ public class ForkPoolStage<T> extends AbstractEStage<T> {
   @Override
   public void onNext(final T value) {
     beforeOnNext();
+    final long enqueueTime = getMetrics().sample();
     pool.submit(new ForkJoinTask<T>() {
       @Override
       public T getRawResult() {
@@ -87,7 +88,9 @@ public class ForkPoolStage<T> extends AbstractEStage<T> {
 
       @Override
       protected boolean exec() {
+        final long startTime = getMetrics().startService(enqueueTime);
         handler.onNext(value);
+        getMetrics().endService(startTime);
         afterOnNext();
         return true;
       }
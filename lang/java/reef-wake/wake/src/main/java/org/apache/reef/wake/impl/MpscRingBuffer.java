@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, array-based queue for many producers and a single consumer.
+ * <p>
+ * Producers claim a slot by advancing the tail with a compare-and-set and then publish the element
+ * into it; the consumer takes elements in order, clears their slots and advances the head.
+ * A slot that has been claimed but not yet published reads as empty, so {@link #poll()} may return null
+ * for a moment while a concurrent {@link #offer(Object)} is in progress.
+ * <p>
+ * Only one thread at a time may call {@link #poll()}.
+ *
+ * @param <E> type of the elements
+ */
+public final class MpscRingBuffer<E> {
+
+  private final AtomicReferenceArray<E> slots;
+  private final int mask;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * Constructs a ring buffer.
+   *
+   * @param capacity the minimum capacity; it is rounded up to a power of two
+   */
+  public MpscRingBuffer(final int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    final int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+    this.mask = this.slots.length() - 1;
+  }
+
+  /**
+   * Adds an element if there is room for it. Safe to call from any thread.
+   *
+   * @param element the element
+   * @return true if the element was added, false if the buffer is full
+   */
+  public boolean offer(final E element) {
+    if (element == null) {
+      throw new NullPointerException("null element");
+    }
+    final int capacity = slots.length();
+    long t;
+    do {
+      t = tail.get();
+      if (t - head.get() >= capacity) {
+        return false;
+      }
+    } while (!tail.compareAndSet(t, t + 1));
+    slots.lazySet((int) t & mask, element);
+    return true;
+  }
+
+  /**
+   * Removes the oldest element. Must only be called by the consumer thread.
+   *
+   * @return the oldest element, or null if there is no published element
+   */
+  public E poll() {
+    final long h = head.get();
+    final int index = (int) h & mask;
+    final E element = slots.get(index);
+    if (element == null) {
+      return null;
+    }
+    slots.lazySet(index, null);
+    head.lazySet(h + 1);
+    return element;
+  }
+
+  /**
+   * @return true if no element is claimed or published
+   */
+  public boolean isEmpty() {
+    return head.get() == tail.get();
+  }
+
+  /**
+   * @return the number of claimed or published elements
+   */
+  public int size() {
+    final long h = head.get();
+    return (int) Math.max(0, tail.get() - h);
+  }
+
+  /**
+   * @return the number of elements the buffer holds at most
+   */
+  public int capacity() {
+    return slots.length();
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.AbstractEStage;
+import org.apache.reef.wake.BoundedStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.StageConfiguration.Capacity;
+import org.apache.reef.wake.StageConfiguration.DrainBatchSize;
+import org.apache.reef.wake.StageConfiguration.QueueWaitStrategy;
+import org.apache.reef.wake.StageConfiguration.StageHandler;
+import org.apache.reef.wake.StageConfiguration.StageName;
+import org.apache.reef.wake.exception.WakeRuntimeException;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single thread stage backed by a lock-free ring buffer.
+ * <p>
+ * Producers hand events over without taking a lock or allocating, and the stage thread drains them
+ * in batches. It is an alternative to {@link SingleThreadStage} for stages with a high event rate
+ * and many producers. When the ring buffer is full, {@link #onNext(Object)} waits for room
+ * according to the wait strategy instead of failing.
+ *
+ * @param <T> type
+ */
+public final class RingBufferStage<T> extends AbstractEStage<T> implements BoundedStage {
+  private static final Logger LOG = Logger.getLogger(RingBufferStage.class.getName());
+
+  /**
+   * Bounds a park so that a lost wake-up only delays an event.
+   */
+  private static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+  /**
+   * The number of failed checks after which a spinning thread yields.
+   */
+  private static final int SPIN_TRIES = 1000;
+
+  private final MpscRingBuffer<T> queue;
+  private final EventHandler<T> handler;
+  private final WaitStrategy waitStrategy;
+  private final int drainBatchSize;
+  private final Thread thread;
+  private volatile boolean consumerParked = false;
+
+  /**
+   * Constructs a ring buffer stage that parks its thread while idle.
+   *
+   * @param handler  the event handler to execute
+   * @param capacity the queue capacity; it is rounded up to a power of two
+   */
+  @Inject
+  public RingBufferStage(@Parameter(StageHandler.class) final EventHandler<T> handler,
+                         @Parameter(Capacity.class) final int capacity) {
+    this(handler.getClass().getName(), handler, capacity, WaitStrategy.PARK, 64);
+  }
+
+  /**
+   * Constructs a ring buffer stage.
+   *
+   * @param name           the stage name
+   * @param handler        the event handler to execute
+   * @param capacity       the queue capacity; it is rounded up to a power of two
+   * @param waitStrategy   how the stage thread waits for events and producers wait for room
+   * @param drainBatchSize the maximum number of events the stage thread takes from the queue at a time
+   */
+  @Inject
+  public RingBufferStage(@Parameter(StageName.class) final String name,
+                         @Parameter(StageHandler.class) final EventHandler<T> handler,
+                         @Parameter(Capacity.class) final int capacity,
+                         @Parameter(QueueWaitStrategy.class) final WaitStrategy waitStrategy,
+                         @Parameter(DrainBatchSize.class) final int drainBatchSize) {
+    super(name);
+    if (drainBatchSize <= 0) {
+      throw new WakeRuntimeException(name + " drainBatchSize " + drainBatchSize + " is less than or equal to 0");
+    }
+    this.queue = new MpscRingBuffer<>(capacity);
+    this.handler = handler;
+    this.waitStrategy = waitStrategy;
+    this.drainBatchSize = drainBatchSize;
+    this.thread = new Thread(new Consumer());
+    this.thread.setName("RingBufferStage<" + name + ">");
+    this.thread.start();
+    StageManager.instance().register(this);
+  }
+
+  /**
+   * Puts the value to the queue, which will be processed by the handler later.
+   * If the queue is full, waits until there is room.
+   *
+   * @param value the value
+   * @throws WakeRuntimeException if the stage is closed
+   */
+  @Override
+  public void onNext(final T value) {
+    beforeOnNext();
+    for (int attempt = 1; !queue.offer(value); ++attempt) {
+      if (closed.get()) {
+        throw new WakeRuntimeException(name + " is closed");
+      }
+      waitForRoom(attempt);
+    }
+    if (consumerParked) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  /**
+   * Closes the stage. The events already queued are processed before the stage thread exits;
+   * unless called from the stage thread itself, this waits for them.
+   *
+   * @throws Exception
+   */
+  @Override
+  public void close() throws Exception {
+    if (closed.compareAndSet(false, true)) {
+      LockSupport.unpark(thread);
+      if (Thread.currentThread() != thread) {
+        thread.join();
+      }
+    }
+  }
+
+  /**
+   * @return the number of events waiting in the queue
+   */
+  @Override
+  public int getQueueLength() {
+    return queue.size();
+  }
+
+  /**
+   * @return the capacity of the ring buffer
+   */
+  @Override
+  public int getCapacity() {
+    return queue.capacity();
+  }
+
+  /**
+   * @return {@link OverflowPolicy#BLOCK}, as producers wait for room in a full ring buffer
+   */
+  @Override
+  public OverflowPolicy getOverflowPolicy() {
+    return OverflowPolicy.BLOCK;
+  }
+
+  /**
+   * @return 0, as no event is ever rejected or dropped
+   */
+  @Override
+  public long getOverflowCount() {
+    return 0;
+  }
+
+  private void waitForRoom(final int attempt) {
+    switch (waitStrategy) {
+    case SPIN:
+      if (attempt % SPIN_TRIES == 0) {
+        Thread.yield();
+      }
+      break;
+    case YIELD:
+      Thread.yield();
+      break;
+    default:
+      LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+      break;
+    }
+  }
+
+  /**
+   * Takes events from the queue and provides them to the handler.
+   */
+  private final class Consumer implements Runnable {
+
+    @Override
+    public void run() {
+      int idleCount = 0;
+      while (true) {
+        if (drain() > 0) {
+          idleCount = 0;
+          continue;
+        }
+        if (closed.get()) {
+          if (queue.isEmpty()) {
+            break;
+          }
+          Thread.yield();
+        } else {
+          waitForEvents(++idleCount);
+        }
+      }
+      LOG.log(Level.FINEST, "{0} closed", name);
+    }
+
+    private int drain() {
+      int count = 0;
+      for (T value = queue.poll(); value != null; value = count < drainBatchSize ? queue.poll() : null) {
+        ++count;
+        final long startTime = getMetrics().sample();
+        try {
+          handler.onNext(value);
+          getMetrics().endService(startTime);
+        } catch (final Exception e) {
+          LOG.log(Level.SEVERE, name + " Exception from event handler", e);
+        }
+        afterOnNext();
+      }
+      return count;
+    }
+
+    private void waitForEvents(final int idleCount) {
+      switch (waitStrategy) {
+      case SPIN:
+        if (idleCount % SPIN_TRIES == 0) {
+          Thread.yield();
+        }
+        break;
+      case YIELD:
+        Thread.yield();
+        break;
+      default:
+        consumerParked = true;
+        // Producers check the flag after claiming a slot, so either they see it or the queue is not empty here.
+        if (queue.isEmpty() && !closed.get()) {
+          LockSupport.parkNanos(RingBufferStage.this, CONSUMER_PARK_NANOS);
+        }
+        consumerParked = false;
+        break;
+      }
+    }
+  }
+}
@@ -126,7 +126,9 @@ public final class SingleThreadStage<T> extends AbstractEStage<T> {
       while (true) {
         try {
           final U value = queue.take();
+          final long startTime = getMetrics().sample();
           handler.onNext(value);
+          getMetrics().endService(startTime);
           SingleThreadStage.this.afterOnNext();
         } catch (final InterruptedException e) {
           if (interrupted.get()) {
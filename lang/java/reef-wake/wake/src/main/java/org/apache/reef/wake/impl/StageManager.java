@@ -18,11 +18,13 @@
  */
 package org.apache.reef.wake.impl;
 
+import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Stage;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -37,6 +39,7 @@ public final class StageManager implements Stage {
   private static final StageManager INSTANCE = new StageManager();
 
   private final List<Stage> stages = Collections.synchronizedList(new ArrayList<Stage>());
+  private final List<EventHandler<Stage>> registrationHandlers = new CopyOnWriteArrayList<>();
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   private StageManager() {
@@ -64,6 +67,39 @@ public final class StageManager implements Stage {
   public void register(final Stage stage) {
     LOG.log(Level.FINEST, "StageManager adds stage {0}", stage);
     this.stages.add(stage);
+    for (final EventHandler<Stage> handler : this.registrationHandlers) {
+      handler.onNext(stage);
+    }
+  }
+
+  /**
+   * Adds a handler that is called with every stage registered from now on.
+   * Stages registered before are not passed to it; see {@link #getStages()}.
+   *
+   * @param handler the handler
+   */
+  public void addRegistrationHandler(final EventHandler<Stage> handler) {
+    this.registrationHandlers.add(handler);
+  }
+
+  /**
+   * Removes a handler added by {@link #addRegistrationHandler(EventHandler)}.
+   *
+   * @param handler the handler
+   */
+  public void removeRegistrationHandler(final EventHandler<Stage> handler) {
+    this.registrationHandlers.remove(handler);
+  }
+
+  /**
+   * Returns the registered stages, e.g. to report their metrics.
+   *
+   * @return a snapshot of the registered stages
+   */
+  public List<Stage> getStages() {
+    synchronized (this.stages) {
+      return new ArrayList<>(this.stages);
+    }
   }
 
   @Override
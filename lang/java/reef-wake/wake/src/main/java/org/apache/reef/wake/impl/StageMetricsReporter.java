@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.AbstractEStage;
+import org.apache.reef.wake.BoundedStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Stage;
+import org.apache.reef.wake.WakeParameters.StageMetricsReportPeriod;
+import org.apache.reef.wake.WakeParameters.StageMetricsSampleInterval;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports the metrics of the stages registered with the {@link StageManager}:
+ * event counts, queue depth, and queue and service time percentiles.
+ * <p>
+ * Instantiating it sets the sample interval of the metrics of the registered stages and of the stages
+ * registered later, until it is closed, and logs a report periodically unless the period is 0.
+ * {@link #report()} returns the same report, e.g. for a web page.
+ */
+public final class StageMetricsReporter implements Stage {
+
+  private static final Logger LOG = Logger.getLogger(StageMetricsReporter.class.getName());
+
+  private final int sampleInterval;
+  private final EventHandler<Stage> registrationHandler = new EventHandler<Stage>() {
+    @Override
+    public void onNext(final Stage stage) {
+      applySampleInterval(stage);
+    }
+  };
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Constructs a stage metrics reporter.
+   *
+   * @param sampleInterval how many events there are per timed event
+   * @param reportPeriod   how often in milliseconds to log the report, 0 to never log it
+   * @throws IllegalArgumentException if sampleInterval is negative
+   */
+  @Inject
+  public StageMetricsReporter(@Parameter(StageMetricsSampleInterval.class) final int sampleInterval,
+                              @Parameter(StageMetricsReportPeriod.class) final long reportPeriod) {
+    if (sampleInterval < 0) {
+      throw new IllegalArgumentException("Sample interval " + sampleInterval + " is negative");
+    }
+    this.sampleInterval = sampleInterval;
+    StageManager.instance().addRegistrationHandler(this.registrationHandler);
+    for (final Stage stage : StageManager.instance().getStages()) {
+      applySampleInterval(stage);
+    }
+    if (reportPeriod > 0) {
+      this.scheduler = Executors.newSingleThreadScheduledExecutor(
+          new DefaultThreadFactory(StageMetricsReporter.class.getSimpleName()));
+      this.scheduler.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          log();
+        }
+      }, reportPeriod, reportPeriod, TimeUnit.MILLISECONDS);
+    } else {
+      this.scheduler = null;
+    }
+  }
+
+  private void applySampleInterval(final Stage stage) {
+    if (stage instanceof AbstractEStage) {
+      ((AbstractEStage<?>) stage).getMetrics().setSampleInterval(sampleInterval);
+    }
+  }
+
+  /**
+   * Describes the metrics of every registered stage, one line per stage.
+   *
+   * @return the report
+   */
+  public static List<String> report() {
+    final List<String> lines = new ArrayList<>();
+    for (final Stage stage : StageManager.instance().getStages()) {
+      if (stage instanceof AbstractEStage) {
+        lines.add(report((AbstractEStage<?>) stage));
+      }
+    }
+    return lines;
+  }
+
+  private static String report(final AbstractEStage<?> stage) {
+    final long in = stage.getInMeter().getCount();
+    final long out = stage.getOutMeter().getCount();
+    final StringBuilder line = new StringBuilder()
+        .append(stage.getMetrics().getName())
+        .append(": in ").append(in)
+        .append(" out ").append(out);
+    if (stage instanceof BoundedStage) {
+      final BoundedStage bounded = (BoundedStage) stage;
+      line.append(" queued ").append(bounded.getQueueLength())
+          .append('/').append(bounded.getCapacity())
+          .append(" overflow ").append(bounded.getOverflowCount());
+    } else {
+      line.append(" pending ").append(in - out);
+    }
+    return line.append(", ").append(stage.getMetrics()).toString();
+  }
+
+  private static void log() {
+    if (LOG.isLoggable(Level.INFO)) {
+      final StringBuilder message = new StringBuilder("Stage metrics:");
+      for (final String line : report()) {
+        message.append("\n  ").append(line);
+      }
+      LOG.log(Level.INFO, message.toString());
+    }
+  }
+
+  /**
+   * Stops logging the report and setting the sample interval of newly registered stages.
+   */
+  @Override
+  public void close() {
+    StageManager.instance().removeRegistrationHandler(registrationHandler);
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+}
@@ -89,8 +89,10 @@ public final class SyncStage<T> extends AbstractEStage<T> {
   @SuppressWarnings("checkstyle:illegalcatch")
   public void onNext(final T value) {
     beforeOnNext();
+    final long startTime = getMetrics().sample();
     try {
       handler.onNext(value);
+      getMetrics().endService(startTime);
     } catch (final Throwable t) {
       if (errorHandler != null) {
         errorHandler.onNext(t);
@@ -20,6 +20,7 @@ package org.apache.reef.wake.impl;
 
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.AbstractEStage;
+import org.apache.reef.wake.BoundedStage;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.StageConfiguration.*;
 import org.apache.reef.wake.WakeParameters;
@@ -28,15 +29,18 @@ import org.apache.reef.wake.exception.WakeRuntimeException;
 import javax.inject.Inject;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Stage that executes an event handler with a thread pool.
+ * A stage that owns its thread pool can bound its queue, in which case the events that
+ * do not fit are handled according to its {@link OverflowPolicy}.
  *
  * @param <T> type
  */
-public final class ThreadPoolStage<T> extends AbstractEStage<T> {
+public final class ThreadPoolStage<T> extends AbstractEStage<T> implements BoundedStage {
 
   private static final Logger LOG = Logger.getLogger(ThreadPoolStage.class.getName());
 
@@ -46,6 +50,9 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
   private final EventHandler<Throwable> errorHandler;
   private final ExecutorService executor;
   private final int numThreads;
+  private final OverflowPolicy overflowPolicy;
+  private final EventHandler<?> overflowHandler;
+  private final AtomicLong overflowCount = new AtomicLong(0);
 
   /**
    * Constructs a thread-pool stage.
@@ -74,14 +81,65 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
                          @Parameter(StageHandler.class) final EventHandler<T> handler,
                          @Parameter(NumberOfThreads.class) final int numThreads,
                          @Parameter(ErrorHandler.class) final EventHandler<Throwable> errorHandler) {
+    this(name, handler, numThreads, errorHandler, Integer.MAX_VALUE, OverflowPolicy.BLOCK, null);
+  }
+
+  /**
+   * Constructs a thread-pool stage with a bounded queue.
+   *
+   * @param name            the stage name
+   * @param handler         the event handler to execute
+   * @param numThreads      the number of threads to use
+   * @param capacity        the maximum number of queued events
+   * @param overflowPolicy  what to do with an event that arrives while the queue is full
+   * @param overflowHandler the handler for the rejected or dropped events
+   * @throws WakeRuntimeException
+   */
+  public ThreadPoolStage(final String name,
+                         final EventHandler<T> handler,
+                         final int numThreads,
+                         final int capacity,
+                         final OverflowPolicy overflowPolicy,
+                         final EventHandler<? super T> overflowHandler) {
+    this(name, handler, numThreads, null, capacity, overflowPolicy, overflowHandler);
+  }
+
+  /**
+   * Constructs a thread-pool stage with a bounded queue.
+   * This is the constructor Tang uses when the capacity is bound;
+   * the overflow policy and the overflow handler default to BLOCK and a logging handler.
+   *
+   * @param name            the stage name
+   * @param handler         the event handler to execute
+   * @param numThreads      the number of threads to use
+   * @param errorHandler    the error handler
+   * @param capacity        the maximum number of queued events
+   * @param overflowPolicy  what to do with an event that arrives while the queue is full
+   * @param overflowHandler the handler for the rejected or dropped events; it must accept the events of the stage
+   * @throws WakeRuntimeException
+   */
+  @Inject
+  public ThreadPoolStage(@Parameter(StageName.class) final String name,
+                         @Parameter(StageHandler.class) final EventHandler<T> handler,
+                         @Parameter(NumberOfThreads.class) final int numThreads,
+                         @Parameter(ErrorHandler.class) final EventHandler<Throwable> errorHandler,
+                         @Parameter(Capacity.class) final int capacity,
+                         @Parameter(QueueOverflowPolicy.class) final OverflowPolicy overflowPolicy,
+                         @Parameter(OverflowHandler.class) final EventHandler<?> overflowHandler) {
     super(name);
     this.handler = handler;
     this.errorHandler = errorHandler;
     if (numThreads <= 0) {
       throw new WakeRuntimeException(name + " numThreads " + numThreads + " is less than or equal to 0");
     }
+    if (capacity <= 0) {
+      throw new WakeRuntimeException(name + " capacity " + capacity + " is less than or equal to 0");
+    }
     this.numThreads = numThreads;
-    this.executor = Executors.newFixedThreadPool(numThreads, new DefaultThreadFactory(name));
+    this.overflowPolicy = overflowPolicy;
+    this.overflowHandler = overflowHandler;
+    this.executor = new ThreadPoolExecutor(numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<Runnable>(capacity), new DefaultThreadFactory(name), new OverflowRejectionHandler());
     StageManager.instance().register(this);
   }
 
@@ -160,6 +218,8 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
     this.handler = handler;
     this.errorHandler = errorHandler;
     this.numThreads = 0;
+    this.overflowPolicy = OverflowPolicy.BLOCK;
+    this.overflowHandler = null;
     this.executor = executor;
     StageManager.instance().register(this);
   }
@@ -170,29 +230,10 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
    * @param value the event
    */
   @Override
-  @SuppressWarnings("checkstyle:illegalcatch")
   public void onNext(final T value) {
     beforeOnNext();
     try {
-      executor.submit(new Runnable() {
-
-        @Override
-        public void run() {
-          try {
-            handler.onNext(value);
-          } catch (final Throwable t) {
-            if (errorHandler != null) {
-              errorHandler.onNext(t);
-            } else {
-              LOG.log(Level.SEVERE, name + " Exception from event handler", t);
-              throw t;
-            }
-          } finally {
-            afterOnNext();
-          }
-        }
-
-      });
+      executor.execute(new EventTask(value));
     } catch (final Exception e) {
       LOG.log(Level.SEVERE, "Encountered error when submitting to executor in ThreadPoolStage.");
       afterOnNext();
@@ -238,10 +279,45 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
   /**
    * Gets the queue length of this stage.
    *
-   * @return the queue length
+   * @return the queue length, 0 if the external executor service has no queue
    */
+  @Override
   public int getQueueLength() {
-    return ((ThreadPoolExecutor) executor).getQueue().size();
+    return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+  }
+
+  /**
+   * Gets the capacity of the queue of this stage.
+   *
+   * @return the queue capacity, Integer.MAX_VALUE if the external executor service has no queue
+   */
+  @Override
+  public int getCapacity() {
+    if (!(executor instanceof ThreadPoolExecutor)) {
+      return Integer.MAX_VALUE;
+    }
+    final BlockingQueue<Runnable> queue = ((ThreadPoolExecutor) executor).getQueue();
+    return queue.size() + queue.remainingCapacity();
+  }
+
+  /**
+   * Gets the policy applied to events that arrive while the queue is full.
+   *
+   * @return the overflow policy
+   */
+  @Override
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Gets the number of events that were rejected or dropped because the queue was full.
+   *
+   * @return the overflow count
+   */
+  @Override
+  public long getOverflowCount() {
+    return overflowCount.get();
   }
 
   /**
@@ -251,4 +327,110 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
   public int getActiveCount() {
     return (int)(getInMeter().getCount() - getOutMeter().getCount());
   }
+
+  /**
+   * Hands an event that did not fit in the queue to the overflow handler.
+   */
+  @SuppressWarnings("unchecked")
+  private void overflow(final EventTask task) {
+    overflowCount.incrementAndGet();
+    LOG.log(Level.FINE, "{0} queue is full, {1} event {2}", new Object[] {name, overflowPolicy, task.value});
+    // the overflow handler is bound as an EventHandler<?>, like the stage handler
+    ((EventHandler<T>) overflowHandler).onNext(task.value);
+  }
+
+  /**
+   * A task that handles a single event.
+   * It keeps the event so that the event can be handed to the overflow handler.
+   */
+  private final class EventTask extends FutureTask<Void> {
+
+    private final T value;
+
+    EventTask(final T value) {
+      super(new EventRunner(value, getMetrics().sample()), null);
+      this.value = value;
+    }
+  }
+
+  /**
+   * Runs the event handler for an event.
+   */
+  private final class EventRunner implements Runnable {
+
+    private final T value;
+    private final long enqueueTime;
+
+    EventRunner(final T value, final long enqueueTime) {
+      this.value = value;
+      this.enqueueTime = enqueueTime;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:illegalcatch")
+    public void run() {
+      final long startTime = getMetrics().startService(enqueueTime);
+      try {
+        handler.onNext(value);
+        getMetrics().endService(startTime);
+      } catch (final Throwable t) {
+        if (errorHandler != null) {
+          errorHandler.onNext(t);
+        } else {
+          LOG.log(Level.SEVERE, name + " Exception from event handler", t);
+          throw t;
+        }
+      } finally {
+        afterOnNext();
+      }
+    }
+  }
+
+  /**
+   * Applies the overflow policy to a task that does not fit in the queue.
+   */
+  private final class OverflowRejectionHandler implements RejectedExecutionHandler {
+
+    @Override
+    @SuppressWarnings({"unchecked", "checkstyle:illegalcatch"})
+    public void rejectedExecution(final Runnable task, final ThreadPoolExecutor pool) {
+      if (pool.isShutdown()) {
+        throw new RejectedExecutionException(name + " is closed");
+      }
+      switch (overflowPolicy) {
+      case BLOCK:
+        try {
+          pool.getQueue().put(task);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RejectedExecutionException(name + " interrupted while waiting for room in the queue", e);
+        }
+        if (pool.isShutdown() && pool.remove(task)) {
+          throw new RejectedExecutionException(name + " is closed");
+        }
+        break;
+      case REJECT:
+        // if the overflow handler throws, onNext accounts for the event
+        overflow((EventTask) task);
+        afterOnNext();
+        break;
+      case DROP_OLDEST:
+        final Runnable oldest = pool.getQueue().poll();
+        if (oldest != null) {
+          // the failure concerns the dropped event, not the one being submitted
+          try {
+            overflow((EventTask) oldest);
+          } catch (final RuntimeException e) {
+            LOG.log(Level.WARNING, name + " overflow handler failed on a dropped event", e);
+          } finally {
+            afterOnNext();
+          }
+        }
+        pool.execute(task);
+        break;
+      default:
+        throw new IllegalStateException("Unknown overflow policy " + overflowPolicy);
+      }
+    }
+  }
 }
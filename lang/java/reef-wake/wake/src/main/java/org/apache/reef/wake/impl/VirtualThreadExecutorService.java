@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.StageConfiguration.StageName;
+
+import javax.inject.Inject;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor service that runs every task on a new virtual thread when the JVM supports them (Java 21 and later).
+ * <p>
+ * Blocking event handlers then do not need a large pool of platform threads.
+ * On older JVMs it falls back to a cached pool of platform threads.
+ * A stage opts in by binding {@link org.apache.reef.wake.StageConfiguration.StageExecutorService}
+ * to this class, for example for a {@link ThreadPoolStage}.
+ * As the stage does not own an external executor, the executor should be shut down by its owner.
+ */
+public final class VirtualThreadExecutorService extends AbstractExecutorService {
+
+  private static final Logger LOG = Logger.getLogger(VirtualThreadExecutorService.class.getName());
+
+  /**
+   * Executors.newThreadPerTaskExecutor(ThreadFactory), or null if virtual threads are not supported.
+   */
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_FACTORY;
+
+  static {
+    Method newExecutor = null;
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    try {
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      // Java 19 and 20 have the methods, but only with preview features enabled.
+      ofVirtual.invoke(null);
+    } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+      LOG.log(Level.FINE, "Virtual threads are not available: {0}", e.toString());
+      newExecutor = null;
+    } catch (final InvocationTargetException e) {
+      LOG.log(Level.FINE, "Virtual threads are not enabled: {0}", e.getCause().toString());
+      newExecutor = null;
+    }
+    NEW_THREAD_PER_TASK_EXECUTOR = newExecutor;
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+  }
+
+  private final ExecutorService executor;
+  private final boolean virtual;
+
+  /**
+   * Constructs an executor service whose threads are named after the stage.
+   *
+   * @param name the stage name
+   */
+  @Inject
+  public VirtualThreadExecutorService(@Parameter(StageName.class) final String name) {
+    final ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor(name);
+    this.virtual = virtualExecutor != null;
+    if (this.virtual) {
+      this.executor = virtualExecutor;
+    } else {
+      LOG.log(Level.WARNING, "Virtual threads are not supported by this JVM, {0} uses platform threads", name);
+      this.executor = Executors.newCachedThreadPool(new DefaultThreadFactory(name));
+    }
+  }
+
+  /**
+   * @return true if the JVM can run tasks on virtual threads
+   */
+  public static boolean isSupported() {
+    return NEW_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  /**
+   * @return true if this executor runs tasks on virtual threads
+   */
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor(final String name) {
+    if (!isSupported()) {
+      return null;
+    }
+    try {
+      final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + ":virtual-", 0L);
+      final ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+    } catch (final IllegalAccessException | InvocationTargetException e) {
+      LOG.log(Level.WARNING, "Cannot create virtual threads", e);
+      return null;
+    }
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    executor.execute(command);
+  }
+
+  @Override
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return executor.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return executor.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadExecutorService{virtual=" + virtual + ", executor=" + executor + "}";
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+/**
+ * How a thread waits for a lock-free queue to change state:
+ * the consumer for an event to arrive, a producer for room in a full queue.
+ */
+public enum WaitStrategy {
+
+  /**
+   * Busy spins. Lowest latency, but occupies a core while waiting.
+   * Yields after a long run of failed checks so that it stays live when threads outnumber cores.
+   */
+  SPIN,
+
+  /**
+   * Yields the processor between checks.
+   */
+  YIELD,
+
+  /**
+   * Parks the thread. An idle consumer is woken up by the next event, so waiting costs no processor time.
+   */
+  PARK
+}
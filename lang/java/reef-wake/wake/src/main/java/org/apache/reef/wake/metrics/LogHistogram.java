@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An {@link Histogram} with logarithmic bins of bounded relative width, for latencies and other
+ * non-negative values that span orders of magnitude.
+ * <p>
+ * Values below {@code 2^precisionBits} get a bin each. Above that, every power of two is split into
+ * {@code 2^precisionBits} bins, so the values of a bin differ by less than {@code 2^-precisionBits}
+ * relative to its lower bound. Bin counts are striped like {@link StripedCounter} by default, so that
+ * concurrent updates rarely contend. A striped histogram takes {@link StripedCounter#NUM_STRIPES} times
+ * the memory of an unstriped one; use an unstriped one where updates are rare, e.g. sampled.
+ */
+public final class LogHistogram implements Histogram {
+
+  private static final int MAX_PRECISION_BITS = 6;
+
+  private final int precisionBits;
+  private final int subBins;
+  private final int numBins;
+  private final boolean striped;
+
+  /**
+   * The bins of stripe s are at [s * numBins, (s + 1) * numBins).
+   */
+  private final AtomicLongArray counts;
+
+  /**
+   * Constructs a histogram with 8 bins per power of two, i.e. with a relative error below 12.5%.
+   */
+  public LogHistogram() {
+    this(3);
+  }
+
+  /**
+   * Constructs a striped histogram.
+   *
+   * @param precisionBits the base 2 logarithm of the number of bins per power of two, from 0 to 6
+   * @throws IllegalArgumentException if precisionBits is out of range
+   */
+  public LogHistogram(final int precisionBits) {
+    this(precisionBits, true);
+  }
+
+  /**
+   * Constructs a histogram.
+   *
+   * @param precisionBits the base 2 logarithm of the number of bins per power of two, from 0 to 6
+   * @param striped       whether to stripe the bin counts
+   * @throws IllegalArgumentException if precisionBits is out of range
+   */
+  public LogHistogram(final int precisionBits, final boolean striped) {
+    if (precisionBits < 0 || precisionBits > MAX_PRECISION_BITS) {
+      throw new IllegalArgumentException("precisionBits " + precisionBits + " is not between 0 and " +
+          MAX_PRECISION_BITS);
+    }
+    this.precisionBits = precisionBits;
+    this.subBins = 1 << precisionBits;
+    this.numBins = indexOf(Long.MAX_VALUE) + 1;
+    this.striped = striped;
+    this.counts = new AtomicLongArray((striped ? StripedCounter.NUM_STRIPES : 1) * numBins);
+  }
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   *
+   * @param value the new value
+   */
+  @Override
+  public void update(final long value) {
+    final int index = indexOf(Math.max(value, 0));
+    counts.incrementAndGet(striped ? StripedCounter.stripe() * numBins + index : index);
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return the number of recorded values
+   */
+  @Override
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < counts.length(); ++i) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of values recorded in a bin.
+   *
+   * @param index the bin index
+   * @return the number of values in the bin
+   * @throws IndexOutOfBoundsException
+   */
+  @Override
+  public long getValue(final int index) {
+    if (index < 0 || index >= numBins) {
+      throw new IndexOutOfBoundsException("index " + index + " is not between 0 and " + (numBins - 1));
+    }
+    long count = 0;
+    for (int i = index; i < counts.length(); i += numBins) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of bins.
+   *
+   * @return the number of bins
+   */
+  @Override
+  public int getNumBins() {
+    return numBins;
+  }
+
+  /**
+   * Returns the smallest value of a bin.
+   *
+   * @param index the bin index
+   * @return the lower bound of the bin
+   */
+  public long getLowerBound(final int index) {
+    if (index < subBins) {
+      return index;
+    }
+    final int shift = index / subBins - 1;
+    return (long) (index - shift * subBins) << shift;
+  }
+
+  /**
+   * Returns the largest value of a bin.
+   *
+   * @param index the bin index
+   * @return the upper bound of the bin
+   */
+  public long getUpperBound(final int index) {
+    return index + 1 == numBins ? Long.MAX_VALUE : getLowerBound(index + 1) - 1;
+  }
+
+  /**
+   * Returns the value below which the given percentage of the recorded values fall,
+   * as the upper bound of the bin that holds it.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the value at the percentile, 0 if no value was recorded
+   * @throws IllegalArgumentException if percentile is out of range
+   */
+  public long getValueAtPercentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile " + percentile + " is not between 0 and 100");
+    }
+    final long[] snapshot = new long[numBins];
+    long count = 0;
+    for (int i = 0; i < counts.length(); ++i) {
+      final long binCount = counts.get(i);
+      snapshot[i % numBins] += binCount;
+      count += binCount;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < numBins; ++i) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return getUpperBound(i);
+      }
+    }
+    return 0;
+  }
+
+  private int indexOf(final long value) {
+    if (value < subBins) {
+      return (int) value;
+    }
+    final int shift = 63 - Long.numberOfLeadingZeros(value) - precisionBits;
+    return shift * subBins + (int) (value >>> shift);
+  }
+}
@@ -23,15 +23,23 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Meter that monitors mean throughput and ewma (1m, 5m, 15m) throughput.
+ * <p>
+ * Marking only adds to a {@link StripedCounter}, so that concurrent producers do not contend.
+ * The EWMAs are brought up to date when they are read.
  */
 public class Meter {
 
   private static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(5);
 
-  private final AtomicLong count = new AtomicLong();
+  private final StripedCounter count = new StripedCounter();
   private final long startTime;
   private final AtomicLong lastTick;
 
+  /**
+   * The count at the last tick. Guarded by the lock of the meter.
+   */
+  private long lastTickCount = 0;
+
   private final EWMA m1Thp;
   private final EWMA m5Thp;
   private final EWMA m15Thp;
@@ -67,11 +75,7 @@ public class Meter {
    * @param n the number of events
    */
   public void mark(final long n) {
-    tickIfNecessary();
-    count.addAndGet(n);
-    m1Thp.update(n);
-    m5Thp.update(n);
-    m15Thp.update(n);
+    count.add(n);
   }
 
   /**
@@ -80,7 +84,7 @@ public class Meter {
    * @return the count
    */
   public long getCount() {
-    return count.get();
+    return count.sum();
   }
 
   /**
@@ -131,16 +135,34 @@ public class Meter {
     return System.nanoTime();
   }
 
+  /**
+   * Ticks the EWMAs once per elapsed tick interval. The events marked since the last tick
+   * are spread evenly over the elapsed intervals, as their exact times are not recorded.
+   */
   private void tickIfNecessary() {
     final long oldTick = lastTick.get();
     final long newTick = getTick();
     final long age = newTick - oldTick;
-    if (age > TICK_INTERVAL && lastTick.compareAndSet(oldTick, newTick)) {
-      final long requiredTicks = age / TICK_INTERVAL;
-      for (long i = 0; i < requiredTicks; i++) {
-        m1Thp.tick();
-        m5Thp.tick();
-        m15Thp.tick();
+    if (age > TICK_INTERVAL) {
+      synchronized (this) {
+        final long tick = lastTick.get();
+        final long requiredTicks = (newTick - tick) / TICK_INTERVAL;
+        if (requiredTicks <= 0) {
+          return;
+        }
+        lastTick.set(tick + requiredTicks * TICK_INTERVAL);
+        final long currentCount = count.sum();
+        final long uncounted = currentCount - lastTickCount;
+        lastTickCount = currentCount;
+        for (long i = 0; i < requiredTicks; i++) {
+          final long n = uncounted / requiredTicks + (i < uncounted % requiredTicks ? 1 : 0);
+          m1Thp.update(n);
+          m5Thp.update(n);
+          m15Thp.update(n);
+          m1Thp.tick();
+          m5Thp.tick();
+          m15Thp.tick();
+        }
       }
     }
   }
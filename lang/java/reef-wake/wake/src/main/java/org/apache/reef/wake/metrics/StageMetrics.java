@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency metrics of a stage: how long events wait in its queue, and how long its handler runs.
+ * <p>
+ * To keep the overhead low, only a sample of the events is timed. A stage calls {@link #sample()}
+ * when an event enters it, {@link #startService(long)} when its handler picks the event up, and
+ * {@link #endService(long)} when the handler returns. Stages that do not queue events
+ * call {@link #sample()} right before the handler runs instead.
+ * <p>
+ * No event is timed until a sample interval is set, e.g. by
+ * {@link org.apache.reef.wake.impl.StageMetricsReporter}. The histograms are only allocated
+ * when the first timed event is recorded.
+ */
+public final class StageMetrics {
+
+  /**
+   * The timestamp of an event that is not timed.
+   */
+  public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  /**
+   * The default number of events per timed event.
+   */
+  public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+  private final String name;
+  private volatile int sampleInterval = 0;
+  private volatile Latencies latencies;
+
+  /**
+   * Constructs the metrics of a stage.
+   *
+   * @param name the stage name
+   */
+  public StageMetrics(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * Sets how many events there are per timed event. 1 times every event, 0 none.
+   *
+   * @param interval the sample interval
+   * @throws IllegalArgumentException if interval is negative
+   */
+  public void setSampleInterval(final int interval) {
+    if (interval < 0) {
+      throw new IllegalArgumentException("Sample interval " + interval + " is negative");
+    }
+    sampleInterval = interval;
+  }
+
+  /**
+   * @return how many events there are per timed event, 0 if no event is timed
+   */
+  public int getSampleInterval() {
+    return sampleInterval;
+  }
+
+  /**
+   * Decides whether to time an event that enters the stage.
+   *
+   * @return the current time in nanoseconds, or {@link #NOT_SAMPLED}
+   */
+  public long sample() {
+    final int interval = sampleInterval;
+    if (interval == 1 || interval > 1 && ThreadLocalRandom.current().nextInt(interval) == 0) {
+      return System.nanoTime();
+    }
+    return NOT_SAMPLED;
+  }
+
+  /**
+   * Records the time an event waited in the queue.
+   *
+   * @param enqueueTime the result of {@link #sample()} when the event entered the stage
+   * @return the current time in nanoseconds, or {@link #NOT_SAMPLED} if the event is not timed
+   */
+  public long startService(final long enqueueTime) {
+    if (enqueueTime == NOT_SAMPLED) {
+      return NOT_SAMPLED;
+    }
+    final long now = System.nanoTime();
+    latencies().queueTime.update(now - enqueueTime);
+    return now;
+  }
+
+  /**
+   * Records the time the handler took for an event.
+   *
+   * @param startTime the result of {@link #startService(long)} or {@link #sample()}
+   */
+  public void endService(final long startTime) {
+    if (startTime != NOT_SAMPLED) {
+      latencies().serviceTime.update(System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * @return the stage name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the times in nanoseconds the timed events waited in the queue
+   */
+  public LogHistogram getQueueTime() {
+    return latencies().queueTime;
+  }
+
+  /**
+   * @return the times in nanoseconds the handler took for the timed events
+   */
+  public LogHistogram getServiceTime() {
+    return latencies().serviceTime;
+  }
+
+  @Override
+  public String toString() {
+    final Latencies current = latencies;
+    if (current == null) {
+      return "no timed events";
+    }
+    final LogHistogram queueTime = current.queueTime;
+    final LogHistogram serviceTime = current.serviceTime;
+    return String.format("queue time p50 %d us p99 %d us, service time p50 %d us p99 %d us (%d timed events)",
+        toMicros(queueTime.getValueAtPercentile(50)), toMicros(queueTime.getValueAtPercentile(99)),
+        toMicros(serviceTime.getValueAtPercentile(50)), toMicros(serviceTime.getValueAtPercentile(99)),
+        serviceTime.getCount());
+  }
+
+  private Latencies latencies() {
+    Latencies current = latencies;
+    if (current == null) {
+      synchronized (this) {
+        current = latencies;
+        if (current == null) {
+          current = new Latencies();
+          latencies = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private static long toMicros(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  /**
+   * The histograms of the timed events. They are unstriped, since only a sample of the events updates them.
+   */
+  private static final class Latencies {
+    private final LogHistogram queueTime = new LogHistogram(3, false);
+    private final LogHistogram serviceTime = new LogHistogram(3, false);
+  }
+}
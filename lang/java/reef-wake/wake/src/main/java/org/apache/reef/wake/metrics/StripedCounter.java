@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that spreads its updates over cells on separate cache lines, so that threads updating it
+ * concurrently rarely contend. Reading it sums the cells, so it is slower than an {@code AtomicLong}.
+ */
+public final class StripedCounter {
+
+  /**
+   * The number of longs between two cells, so that each cell has its own cache line.
+   */
+  static final int PADDING = 8;
+
+  private static final int MAX_STRIPES = 64;
+
+  /**
+   * A power of two, so that a thread picks its stripe with a mask.
+   */
+  static final int NUM_STRIPES = numStripes(Runtime.getRuntime().availableProcessors());
+
+  private final AtomicLongArray cells = new AtomicLongArray(NUM_STRIPES * PADDING);
+
+  /**
+   * Adds to the counter.
+   *
+   * @param n the number to add
+   */
+  public void add(final long n) {
+    cells.addAndGet(stripe() * PADDING, n);
+  }
+
+  /**
+   * Adds one to the counter.
+   */
+  public void increment() {
+    add(1);
+  }
+
+  /**
+   * Sums the cells. Concurrent updates may or may not be included.
+   *
+   * @return the current value of the counter
+   */
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < NUM_STRIPES; ++i) {
+      sum += cells.get(i * PADDING);
+    }
+    return sum;
+  }
+
+  @Override
+  public String toString() {
+    return Long.toString(sum());
+  }
+
+  /**
+   * Picks the stripe of the current thread. Thread ids are mixed so that threads created together
+   * and threads with a regular id pattern spread over the stripes.
+   *
+   * @return the stripe index of the current thread
+   */
+  static int stripe() {
+    final long id = Thread.currentThread().getId();
+    return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (NUM_STRIPES - 1);
+  }
+
+  private static int numStripes(final int processors) {
+    int stripes = 1;
+    while (stripes < processors && stripes < MAX_STRIPES) {
+      stripes <<= 1;
+    }
+    return stripes;
+  }
+}
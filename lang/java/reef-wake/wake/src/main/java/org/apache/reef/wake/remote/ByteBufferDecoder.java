@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decoder that reads its objects directly from a buffer supplied by the transport,
+ * which can be a view of a pooled network buffer, instead of a copied byte array.
+ *
+ * @param <T> The type of the objects de-serialized
+ */
+public interface ByteBufferDecoder<T> extends Decoder<T> {
+
+  /**
+   * Decodes the remaining bytes of the buffer into an object.
+   * The buffer is only valid during this call, so the decoded object must not keep a reference to it.
+   *
+   * @param buffer the data to be decoded
+   * @return the decoded object
+   */
+  T decode(ByteBuffer buffer);
+}
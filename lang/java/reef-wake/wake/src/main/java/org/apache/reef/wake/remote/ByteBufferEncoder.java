@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encoder that writes its objects directly into a buffer supplied by the transport
+ * instead of returning a new byte array. The transport can then hand out pooled
+ * direct buffers and avoid copying the encoded bytes.
+ *
+ * @param <T> The type of the objects serialized
+ */
+public interface ByteBufferEncoder<T> extends Encoder<T> {
+
+  /**
+   * Gets the exact number of bytes that {@link #encode(Object, ByteBuffer)} writes for the given object.
+   *
+   * @param obj an object to be encoded
+   * @return the size of the encoded object in bytes
+   */
+  int getEncodedSize(T obj);
+
+  /**
+   * Encodes the given object into the buffer, starting at its current position.
+   * Exactly {@link #getEncodedSize(Object)} bytes have to be written.
+   *
+   * @param obj    an object to be encoded
+   * @param buffer the buffer to write to
+   */
+  void encode(T obj, ByteBuffer buffer);
+}
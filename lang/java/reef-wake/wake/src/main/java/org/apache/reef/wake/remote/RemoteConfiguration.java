@@ -117,6 +117,97 @@ public final class RemoteConfiguration {
     // Intentionally empty       
   }
 
+  /**
+   * The maximum number of messages a link coalesces into a single flush.
+   */
+  @NamedParameter(doc = "The maximum number of messages a link coalesces into a single flush. " +
+      "1 flushes every message as it is written.", default_value = "1")
+  public static final class WriteBatchSize implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The time in microseconds a partially filled write batch may wait before it is flushed.
+   */
+  @NamedParameter(doc = "The time in microseconds a partially filled write batch may wait before it is flushed. " +
+      "0 flushes once the writes already queued on the channel have been processed.", default_value = "0")
+  public static final class WriteBatchDelay implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The number of threads accepting connections on the messaging transport.
+   */
+  @NamedParameter(doc = "The number of threads accepting connections on the messaging transport.",
+      default_value = "1")
+  public static final class ServerBossThreads implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The number of threads serving accepted connections on the messaging transport.
+   */
+  @NamedParameter(doc = "The number of threads serving accepted connections on the messaging transport. " +
+      "0 uses twice the number of available processors.", default_value = "0")
+  public static final class ServerWorkerThreads implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The number of threads serving outgoing connections on the messaging transport.
+   */
+  @NamedParameter(doc = "The number of threads serving outgoing connections on the messaging transport. " +
+      "0 uses the number of available processors.", default_value = "0")
+  public static final class ClientWorkerThreads implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * Whether or not to use the native epoll transport when it is available.
+   */
+  @NamedParameter(doc = "Whether or not to use the native epoll transport when it is available. " +
+      "Falls back to the NIO transport on other platforms.", default_value = "false")
+  public static final class NativeTransport implements Name<Boolean> {
+    // Intentionally empty
+  }
+
+  /**
+   * Whether or not to disable Nagle's algorithm on transport connections.
+   */
+  @NamedParameter(doc = "Whether or not to disable Nagle's algorithm on transport connections.",
+      default_value = "true")
+  public static final class TcpNoDelay implements Name<Boolean> {
+    // Intentionally empty
+  }
+
+  /**
+   * The socket send buffer size in bytes of transport connections.
+   */
+  @NamedParameter(doc = "The socket send buffer size in bytes of transport connections. " +
+      "0 keeps the operating system default.", default_value = "0")
+  public static final class SendBufferSize implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The socket receive buffer size in bytes of transport connections.
+   */
+  @NamedParameter(doc = "The socket receive buffer size in bytes of transport connections. " +
+      "0 keeps the operating system default.", default_value = "0")
+  public static final class ReceiveBufferSize implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The maximum number of events queued for a destination while its connection is being established.
+   */
+  @NamedParameter(doc = "The maximum number of events queued for a destination while its connection is " +
+      "being established. Sending more fails with a RemoteRuntimeException. 0 does not bound the queue.",
+      default_value = "0")
+  public static final class PendingSendCapacity implements Name<Integer> {
+    // Intentionally empty
+  }
+
   /**
    * Client stage for messaging transport.
    */
@@ -18,12 +18,16 @@
  */
 package org.apache.reef.wake.remote.impl;
 
+import org.apache.reef.wake.remote.ByteBufferDecoder;
+import org.apache.reef.wake.remote.ByteBufferEncoder;
 import org.apache.reef.wake.remote.Codec;
 
+import java.nio.ByteBuffer;
+
 /**
  * Codec that performs identity transformation on bytes.
  */
-public class ByteCodec implements Codec<byte[]> {
+public class ByteCodec implements Codec<byte[]>, ByteBufferEncoder<byte[]>, ByteBufferDecoder<byte[]> {
 
   /**
    * Returns the byte array argument.
@@ -36,6 +40,28 @@ public class ByteCodec implements Codec<byte[]> {
     return obj;
   }
 
+  /**
+   * Returns the length of the byte array argument.
+   *
+   * @param obj bytes
+   * @return the number of bytes
+   */
+  @Override
+  public int getEncodedSize(final byte[] obj) {
+    return obj.length;
+  }
+
+  /**
+   * Puts the byte array argument into the buffer.
+   *
+   * @param obj    bytes
+   * @param buffer the buffer to write to
+   */
+  @Override
+  public void encode(final byte[] obj, final ByteBuffer buffer) {
+    buffer.put(obj);
+  }
+
   /**
    * Returns the byte array argument.
    *
@@ -47,4 +73,17 @@ public class ByteCodec implements Codec<byte[]> {
     return buf;
   }
 
+  /**
+   * Copies the remaining bytes of the buffer into a byte array.
+   *
+   * @param buffer the buffer to read from
+   * @return the bytes
+   */
+  @Override
+  public byte[] decode(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
 }
@@ -79,6 +79,7 @@ public final class DefaultRemoteManagerImplementation implements RemoteManager {
         @Parameter(RemoteConfiguration.OrderingGuarantee.class) final boolean orderingGuarantee,
         @Parameter(RemoteConfiguration.NumberOfTries.class) final int numberOfTries,
         @Parameter(RemoteConfiguration.RetryTimeout.class) final int retryTimeout,
+        @Parameter(RemoteConfiguration.PendingSendCapacity.class) final int pendingSendCapacity,
         final LocalAddressProvider localAddressProvider,
         final TransportFactory tpFactory,
         final TcpPortProvider tcpPortProvider) {
@@ -97,7 +98,7 @@ public final class DefaultRemoteManagerImplementation implements RemoteManager {
 
     this.myIdentifier = new SocketRemoteIdentifier((InetSocketAddress)this.transport.getLocalAddress());
 
-    this.reSendStage = new RemoteSenderStage(codec, this.transport, 10);
+    this.reSendStage = new RemoteSenderStage(codec, this.transport, 10, pendingSendCapacity);
 
     StageManager.instance().register(this);
 
@@ -26,6 +26,8 @@ import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 import org.apache.reef.wake.remote.transport.Transport;
 
 import java.net.InetSocketAddress;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
@@ -35,16 +37,19 @@ import java.util.logging.Logger;
  * Main logic to dispatch messages.
  * An event handler that receives a remote message with a binary payload,
  * decodes a message from the blob, and dispatches that message to a proper handler.
+ * <p>
+ * The handlers are kept in a dispatch table with one entry per message type, which is rebuilt on registration.
+ * Dispatching a message takes a single identity lookup of its class, and only looks at the source of
+ * the message if a handler was registered for that source and message type.
  */
 final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
 
   private static final Logger LOG = Logger.getLogger(HandlerContainer.class.getName());
 
-  private final ConcurrentMap<Class<? extends T>,
-      EventHandler<RemoteMessage<? extends T>>> msgTypeToHandlerMap = new ConcurrentHashMap<>();
-
-  private final ConcurrentMap<Tuple2<RemoteIdentifier, Class<? extends T>>,
-      EventHandler<? extends T>> tupleToHandlerMap = new ConcurrentHashMap<>();
+  /**
+   * The dispatch table: an immutable snapshot, replaced when a new message type is registered.
+   */
+  private volatile Map<Class<?>, DispatchEntry<T>> dispatchTable = new IdentityHashMap<>();
 
   private final Codec<T> codec;
   private final String name;
@@ -85,7 +90,7 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
     final Tuple2<RemoteIdentifier, Class<? extends T>> tuple =
         new Tuple2<RemoteIdentifier, Class<? extends T>>(sourceIdentifier, messageType);
 
-    this.tupleToHandlerMap.put(tuple, theHandler);
+    this.getOrCreateEntry(messageType).sourceHandlers.put(sourceIdentifier, theHandler);
 
     LOG.log(Level.FINER,
         "Add handler for tuple: {0},{1}",
@@ -104,7 +109,7 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
       final Class<? extends T> messageType,
       final EventHandler<RemoteMessage<? extends T>> theHandler) {
 
-    this.msgTypeToHandlerMap.put(messageType, theHandler);
+    this.getOrCreateEntry(messageType).typeHandler = theHandler;
 
     LOG.log(Level.FINER, "Add handler for class: {0}", messageType.getName());
 
@@ -136,9 +141,9 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
     if (token instanceof Exception) {
       this.transport.registerErrorHandler(null);
     } else if (token instanceof Tuple2) {
-      this.tupleToHandlerMap.remove(token);
+      this.removeSourceHandler((Tuple2<RemoteIdentifier, Class<?>>) token);
     } else if (token instanceof Class) {
-      this.msgTypeToHandlerMap.remove(token);
+      this.removeTypeHandler((Class<?>) token);
     } else {
       throw new RemoteRuntimeException(
           "Unknown subscription type: " + subscription.getClass().getName());
@@ -151,7 +156,7 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
         @Override
         public void unsubscribe(final Class<? extends T> token) {
           LOG.log(Level.FINER, "Unsubscribe: {0} class {1}", new Object[] {name, token.getCanonicalName()});
-          msgTypeToHandlerMap.remove(token);
+          removeTypeHandler(token);
         }
       };
 
@@ -162,7 +167,7 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
         public void unsubscribe(final Tuple2<RemoteIdentifier, Class<? extends T>> token) {
           LOG.log(Level.FINER, "Unsubscribe: {0} tuple {1},{2}",
               new Object[] {name, token.getT1(), token.getT2().getCanonicalName()});
-          tupleToHandlerMap.remove(token);
+          removeSourceHandler(token);
         }
       };
 
@@ -176,12 +181,41 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
         }
       };
 
+  /**
+   * Get the dispatch entry of the message type, adding it to the dispatch table if needed.
+   * @param messageType Java class of messages to dispatch.
+   * @return The dispatch entry of the message type.
+   */
+  private synchronized DispatchEntry<T> getOrCreateEntry(final Class<?> messageType) {
+    DispatchEntry<T> entry = this.dispatchTable.get(messageType);
+    if (entry == null) {
+      entry = new DispatchEntry<>();
+      final Map<Class<?>, DispatchEntry<T>> newTable = new IdentityHashMap<>(this.dispatchTable);
+      newTable.put(messageType, entry);
+      this.dispatchTable = newTable;
+    }
+    return entry;
+  }
+
+  private void removeTypeHandler(final Class<?> messageType) {
+    final DispatchEntry<T> entry = this.dispatchTable.get(messageType);
+    if (entry != null) {
+      entry.typeHandler = null;
+    }
+  }
+
+  private void removeSourceHandler(final Tuple2<RemoteIdentifier, ? extends Class<?>> tuple) {
+    final DispatchEntry<T> entry = this.dispatchTable.get(tuple.getT2());
+    if (entry != null) {
+      entry.sourceHandlers.remove(tuple.getT1());
+    }
+  }
+
   /**
    * Dispatch message received from the remote to proper event handler.
    * @param value Remote message, encoded as byte[].
    */
   @Override
-  @SuppressWarnings("checkstyle:diamondoperatorforvariabledefinition")
   public synchronized void onNext(final RemoteEvent<byte[]> value) {
 
     LOG.log(Level.FINER, "RemoteManager: {0} value: {1}", new Object[] {this.name, value});
@@ -195,20 +229,20 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
     // check remote identifier and message type
     final SocketRemoteIdentifier id = new SocketRemoteIdentifier((InetSocketAddress)value.remoteAddress());
 
-    final Tuple2<RemoteIdentifier, Class<?>> tuple = new Tuple2<RemoteIdentifier, Class<?>>(id, clazz);
+    final DispatchEntry<T> entry = this.dispatchTable.get(clazz);
 
-    final EventHandler<T> tupleHandler = (EventHandler<T>) this.tupleToHandlerMap.get(tuple);
+    final EventHandler<T> tupleHandler = entry == null || entry.sourceHandlers.isEmpty() ?
+        null : (EventHandler<T>) entry.sourceHandlers.get(id);
 
     if (tupleHandler != null) {
 
-      LOG.log(Level.FINER, "Tuple handler: {0},{1}",
-          new Object[] {tuple.getT1(), tuple.getT2().getCanonicalName()});
+      LOG.log(Level.FINER, "Tuple handler: {0},{1}", new Object[] {id, clazz.getCanonicalName()});
 
       tupleHandler.onNext(decodedEvent);
 
     } else {
 
-      final EventHandler<RemoteMessage<? extends T>> messageHandler = this.msgTypeToHandlerMap.get(clazz);
+      final EventHandler<RemoteMessage<? extends T>> messageHandler = entry == null ? null : entry.typeHandler;
 
       if (messageHandler == null) {
         final RuntimeException ex = new RemoteRuntimeException(
@@ -222,4 +256,17 @@ final class HandlerContainer<T> implements EventHandler<RemoteEvent<byte[]>> {
       messageHandler.onNext(new DefaultRemoteMessage(id, decodedEvent));
     }
   }
+
+  /**
+   * The handlers of one message type.
+   */
+  private static final class DispatchEntry<T> {
+
+    /** The handler for the messages of this type from any source, if any. */
+    private volatile EventHandler<RemoteMessage<? extends T>> typeHandler;
+
+    /** The handlers for the messages of this type from given sources. */
+    private final ConcurrentMap<RemoteIdentifier, EventHandler<? extends T>> sourceHandlers =
+        new ConcurrentHashMap<>();
+  }
 }
@@ -28,7 +28,7 @@ import java.util.Map.Entry;
 
 /**
  * Codec using the WakeTuple protocol buffer.
- * (class name and bytes)
+ * (type tag or class name, and bytes)
  *
  * @param <T> type
  */
@@ -43,13 +43,25 @@ public class MultiCodec<T> implements Codec<T> {
    * @param clazzToCodecMap a map of codec for class
    */
   public MultiCodec(final Map<Class<? extends T>, Codec<? extends T>> clazzToCodecMap) {
+    this(clazzToCodecMap, false);
+  }
+
+  /**
+   * Constructs a codec that encodes/decodes an object to/from bytes based on the class.
+   * It decodes both type tags and class names.
+   *
+   * @param clazzToCodecMap a map of codec for class
+   * @param useTypeTags     whether encoded objects carry the compact type tag of their class rather than its name;
+   *                        only use it if every peer decodes type tags (e.g. not with the .NET MultiCodec)
+   */
+  public MultiCodec(final Map<Class<? extends T>, Codec<? extends T>> clazzToCodecMap, final boolean useTypeTags) {
     final Map<Class<? extends T>, Encoder<? extends T>> clazzToEncoderMap = new HashMap<>();
     final Map<Class<? extends T>, Decoder<? extends T>> clazzToDecoderMap = new HashMap<>();
     for (final Entry<Class<? extends T>, Codec<? extends T>> e : clazzToCodecMap.entrySet()) {
       clazzToEncoderMap.put(e.getKey(), e.getValue());
       clazzToDecoderMap.put(e.getKey(), e.getValue());
     }
-    encoder = new MultiEncoder<>(clazzToEncoderMap);
+    encoder = new MultiEncoder<>(clazzToEncoderMap, useTypeTags);
     decoder = new MultiDecoder<>(clazzToDecoderMap);
   }
 
@@ -66,7 +78,7 @@ public class MultiCodec<T> implements Codec<T> {
   /**
    * Decodes byte array.
    *
-   * @param data class name and byte payload
+   * @param data type tag or class name, and byte payload
    */
   @Override
   public T decode(final byte[] data) {
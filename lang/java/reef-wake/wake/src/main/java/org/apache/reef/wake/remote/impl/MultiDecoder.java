@@ -23,30 +23,46 @@ import org.apache.reef.wake.remote.Decoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeTuplePBuf;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Decoder using the WakeTuple protocol buffer.
- * (class name and bytes)
+ * (type tag or class name, and bytes)
  *
  * @param <T> type
  */
 public class MultiDecoder<T> implements Decoder<T> {
   private final Map<Class<? extends T>, Decoder<? extends T>> clazzToDecoderMap;
 
+  /**
+   * The decoders by class name, so that decoding a message does not have to load its class by name.
+   */
+  private final Map<String, Decoder<? extends T>> nameToDecoderMap = new HashMap<>();
+
+  /**
+   * The decoders by the type tag of their class.
+   */
+  private final Map<Long, Decoder<? extends T>> tagToDecoderMap;
+
   /**
    * Constructs a decoder that decodes bytes based on the class name.
    *
    * @param clazzToDecoderMap a map of decoder for class
+   * @throws RemoteRuntimeException if two of the classes have the same type tag
    */
   public MultiDecoder(final Map<Class<? extends T>, Decoder<? extends T>> clazzToDecoderMap) {
     this.clazzToDecoderMap = clazzToDecoderMap;
+    for (final Map.Entry<Class<? extends T>, Decoder<? extends T>> e : clazzToDecoderMap.entrySet()) {
+      this.nameToDecoderMap.put(e.getKey().getName(), e.getValue());
+    }
+    this.tagToDecoderMap = TypeTag.tagMap(clazzToDecoderMap);
   }
 
   /**
    * Decodes byte array.
    *
-   * @param data class name and byte payload
+   * @param data type tag or class name, and byte payload
    */
   @Override
   public T decode(final byte[] data) {
@@ -58,8 +74,21 @@ public class MultiDecoder<T> implements Decoder<T> {
       throw new RemoteRuntimeException(e);
     }
 
-    final String className = tuple.getClassName();
     final byte[] message = tuple.getData().toByteArray();
+    if (tuple.hasClassTag()) {
+      final Decoder<? extends T> decoder = tagToDecoderMap.get(tuple.getClassTag());
+      if (decoder == null) {
+        throw new RemoteRuntimeException("Decoder for type tag " + Long.toHexString(tuple.getClassTag()) +
+            " not known.");
+      }
+      return decoder.decode(message);
+    }
+
+    final String className = tuple.getClassName();
+    final Decoder<? extends T> decoder = nameToDecoderMap.get(className);
+    if (decoder != null) {
+      return decoder.decode(message);
+    }
     final Class<?> clazz;
     try {
       clazz = Class.forName(className);
@@ -23,11 +23,12 @@ import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeTuplePBuf;
 
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
  * Encoder using the WakeTuple protocol buffer.
- * (class name and bytes)
+ * (type tag or class name, and bytes)
  *
  * @param <T> type
  */
@@ -35,13 +36,40 @@ public class MultiEncoder<T> implements Encoder<T> {
 
   private final Map<Class<? extends T>, Encoder<? extends T>> clazzToEncoderMap;
 
+  /**
+   * The type tags of the registered classes; null if the messages carry class names.
+   */
+  private final Map<Class<?>, Long> clazzToTagMap;
+
   /**
    * Constructs an encoder that encodes an object to bytes based on the class name.
    *
    * @param clazzToEncoderMap a map of encoder for class
    */
   public MultiEncoder(final Map<Class<? extends T>, Encoder<? extends T>> clazzToEncoderMap) {
+    this(clazzToEncoderMap, false);
+  }
+
+  /**
+   * Constructs an encoder that encodes an object to bytes based on the class.
+   *
+   * @param clazzToEncoderMap a map of encoder for class
+   * @param useTypeTags       whether the class is identified by its compact type tag rather than its name;
+   *                          only use it if every peer decodes type tags (e.g. not with the .NET MultiDecoder)
+   * @throws RemoteRuntimeException if two of the classes have the same type tag
+   */
+  public MultiEncoder(final Map<Class<? extends T>, Encoder<? extends T>> clazzToEncoderMap,
+                      final boolean useTypeTags) {
     this.clazzToEncoderMap = clazzToEncoderMap;
+    if (useTypeTags) {
+      TypeTag.tagMap(clazzToEncoderMap);
+      this.clazzToTagMap = new IdentityHashMap<>();
+      for (final Class<? extends T> clazz : clazzToEncoderMap.keySet()) {
+        this.clazzToTagMap.put(clazz, TypeTag.of(clazz.getName()));
+      }
+    } else {
+      this.clazzToTagMap = null;
+    }
   }
 
   /**
@@ -57,7 +85,12 @@ public class MultiEncoder<T> implements Encoder<T> {
     }
 
     final WakeTuplePBuf.Builder tupleBuilder = WakeTuplePBuf.newBuilder();
-    tupleBuilder.setClassName(obj.getClass().getName());
+    final Long tag = clazzToTagMap == null ? null : clazzToTagMap.get(obj.getClass());
+    if (tag != null) {
+      tupleBuilder.setClassTag(tag);
+    } else {
+      tupleBuilder.setClassName(obj.getClass().getName());
+    }
     tupleBuilder.setData(ByteString.copyFrom(encoder.encode(obj)));
     return tupleBuilder.build().toByteArray();
   }
@@ -22,17 +22,25 @@ import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.WakeParameters;
 import org.apache.reef.wake.impl.DefaultThreadFactory;
-import org.apache.reef.wake.impl.ThreadPoolStage;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 
 import java.net.SocketAddress;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Receive incoming events and dispatch to correct handlers in order.
+ * <p>
+ * The events are decoded and put in sequence order on the transport thread that receives them.
+ * Each sender has a stream of events that are ready for dispatch; a stream is handed off to the
+ * dispatch executor only when it becomes non-empty, and its worker then dispatches the whole run of
+ * in-order events. An event that arrives ahead of its sequence number waits in the stream until the
+ * events before it have arrived.
  */
 public class OrderedRemoteReceiverStage implements EStage<TransportEvent> {
 
@@ -42,10 +50,14 @@ public class OrderedRemoteReceiverStage implements EStage<TransportEvent> {
 
   private static final long SHUTDOWN_TIMEOUT = WakeParameters.REMOTE_EXECUTOR_SHUTDOWN_TIMEOUT;
 
-  private final ExecutorService pushExecutor;
-  private final ExecutorService pullExecutor;
+  private final RemoteEventDecoder<byte[]> decoder = new RemoteEventDecoder<>(new ByteCodec());
 
-  private final ThreadPoolStage<TransportEvent> pushStage;
+  private final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap = new ConcurrentHashMap<>();
+
+  private final EventHandler<RemoteEvent<byte[]>> handler;
+  private final EventHandler<Throwable> errorHandler;
+
+  private final ExecutorService dispatchExecutor;
 
   /**
    * Constructs an ordered remote receiver stage.
@@ -55,67 +67,23 @@ public class OrderedRemoteReceiverStage implements EStage<TransportEvent> {
    */
   public OrderedRemoteReceiverStage(
       final EventHandler<RemoteEvent<byte[]>> handler, final EventHandler<Throwable> errorHandler) {
-
-    this.pushExecutor = Executors.newCachedThreadPool(new DefaultThreadFactory(CLASS_NAME + ":Push"));
-    this.pullExecutor = Executors.newCachedThreadPool(new DefaultThreadFactory(CLASS_NAME + ":Pull"));
-
-    final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap = new ConcurrentHashMap<>();
-
-    final ThreadPoolStage<OrderedEventStream> pullStage = new ThreadPoolStage<>(
-        new OrderedPullEventHandler(handler), this.pullExecutor, errorHandler);
-
-    this.pushStage = new ThreadPoolStage<>(
-        new OrderedPushEventHandler(streamMap, pullStage), this.pushExecutor, errorHandler); // for decoupling
+    this.handler = handler;
+    this.errorHandler = errorHandler;
+    this.dispatchExecutor = Executors.newCachedThreadPool(new DefaultThreadFactory(CLASS_NAME + ":Dispatch"));
   }
 
   @Override
+  @SuppressWarnings("checkstyle:illegalcatch")
   public void onNext(final TransportEvent value) {
     LOG.log(Level.FINEST, "Push: {0}", value);
-    this.pushStage.onNext(value);
-  }
-
-  @Override
-  public void close() throws Exception {
-    close("PushExecutor", this.pushExecutor);
-    close("PullExecutor", this.pullExecutor);
-  }
 
-  private static void close(final String name, final ExecutorService executor) {
-    LOG.log(Level.FINE, "Close {0} begin", name);
-    executor.shutdown();
+    final RemoteEvent<byte[]> re;
     try {
-      // wait for threads to finish for timeout
-      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
-        LOG.log(Level.WARNING, "{0}: Executor did not terminate in {1} ms.", new Object[] {name, SHUTDOWN_TIMEOUT});
-        final List<Runnable> droppedRunnables = executor.shutdownNow();
-        LOG.log(Level.WARNING, "{0}: Executor dropped {1} tasks.", new Object[] {name, droppedRunnables.size()});
-      }
-    } catch (final InterruptedException e) {
-      LOG.log(Level.WARNING, "Close interrupted");
-      throw new RemoteRuntimeException(e);
+      re = this.decoder.decode(value.getBuffer());
+    } catch (final Throwable t) {
+      this.onError(t);
+      return;
     }
-    LOG.log(Level.FINE, "Close {0} end", name);
-  }
-}
-
-class OrderedPushEventHandler implements EventHandler<TransportEvent> {
-
-  private static final Logger LOG = Logger.getLogger(OrderedPushEventHandler.class.getName());
-
-  private final RemoteEventCodec<byte[]> codec;
-  private final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap; // per remote address
-  private final ThreadPoolStage<OrderedEventStream> pullStage;
-
-  OrderedPushEventHandler(final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap,
-                          final ThreadPoolStage<OrderedEventStream> pullStage) {
-    this.codec = new RemoteEventCodec<>(new ByteCodec());
-    this.streamMap = streamMap;
-    this.pullStage = pullStage;
-  }
-
-  @Override
-  public void onNext(final TransportEvent value) {
-    final RemoteEvent<byte[]> re = codec.decode(value.getData());
     re.setLocalAddress(value.getLocalAddress());
     re.setRemoteAddress(value.getRemoteAddress());
 
@@ -123,76 +91,127 @@ class OrderedPushEventHandler implements EventHandler<TransportEvent> {
       LOG.log(Level.FINER, "{0} {1}", new Object[]{value, re});
     }
 
-    LOG.log(Level.FINER, "Value length is {0}", value.getData().length);
-
     final SocketAddress addr = re.remoteAddress();
-    OrderedEventStream stream = streamMap.get(re.remoteAddress());
+    OrderedEventStream stream = this.streamMap.get(addr);
     if (stream == null) {
       stream = new OrderedEventStream();
-      if (streamMap.putIfAbsent(addr, stream) != null) {
-        stream = streamMap.get(addr);
+      final OrderedEventStream existing = this.streamMap.putIfAbsent(addr, stream);
+      if (existing != null) {
+        stream = existing;
       }
     }
-    stream.add(re);
-    pullStage.onNext(stream);
-  }
-}
-
-class OrderedPullEventHandler implements EventHandler<OrderedEventStream> {
 
-  private static final Logger LOG = Logger.getLogger(OrderedPullEventHandler.class.getName());
-
-  private final EventHandler<RemoteEvent<byte[]>> handler;
-
-  OrderedPullEventHandler(final EventHandler<RemoteEvent<byte[]>> handler) {
-    this.handler = handler;
+    if (stream.add(re)) {
+      this.dispatchExecutor.execute(stream);
+    }
   }
 
   @Override
-  public void onNext(final OrderedEventStream stream) {
-    if (LOG.isLoggable(Level.FINER)) {
-      LOG.log(Level.FINER, "{0}", stream);
+  public void close() throws Exception {
+    LOG.log(Level.FINE, "Close DispatchExecutor begin");
+    this.dispatchExecutor.shutdown();
+    try {
+      // wait for threads to finish for timeout
+      if (!this.dispatchExecutor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        LOG.log(Level.WARNING, "DispatchExecutor did not terminate in {0} ms.", SHUTDOWN_TIMEOUT);
+        final List<Runnable> droppedRunnables = this.dispatchExecutor.shutdownNow();
+        LOG.log(Level.WARNING, "DispatchExecutor dropped {0} tasks.", droppedRunnables.size());
+      }
+    } catch (final InterruptedException e) {
+      LOG.log(Level.WARNING, "Close interrupted");
+      throw new RemoteRuntimeException(e);
     }
+    LOG.log(Level.FINE, "Close DispatchExecutor end");
+  }
 
-    synchronized (stream) {
-      RemoteEvent<byte[]> event;
-      while ((event = stream.consume()) != null) {
-        handler.onNext(event);
-      }
+  private void onError(final Throwable t) {
+    if (this.errorHandler != null) {
+      this.errorHandler.onNext(t);
+    } else {
+      LOG.log(Level.SEVERE, CLASS_NAME + " Exception from event handler", t);
     }
   }
-}
 
-class OrderedEventStream {
-  private static final Logger LOG = Logger.getLogger(OrderedEventStream.class.getName());
-  private final BlockingQueue<RemoteEvent<byte[]>> queue; // a queue of remote events
-  private long nextSeq; // the number of the next event to consume
+  /**
+   * The events from one sender, in sequence order.
+   * While the stream has events ready for dispatch, exactly one worker dispatches them.
+   */
+  private final class OrderedEventStream implements Runnable {
 
-  OrderedEventStream() {
-    queue = new PriorityBlockingQueue<>(11, new RemoteEventComparator<byte[]>());
-    nextSeq = 0;
-  }
+    /** The events that are ready for dispatch, in sequence order. */
+    private Queue<RemoteEvent<byte[]>> ready = new ArrayDeque<>();
 
-  synchronized void add(final RemoteEvent<byte[]> event) {
-    queue.add(event);
-  }
+    /** The events that arrived ahead of their sequence number; created on first use. */
+    private PriorityQueue<RemoteEvent<byte[]>> pending;
+
+    /** The sequence number of the next event to become ready. */
+    private long nextSeq = 0;
 
-  synchronized RemoteEvent<byte[]> consume() {
-    RemoteEvent<byte[]> event = queue.peek();
-    if (event != null) {
+    /** Whether a worker is dispatching the ready events. */
+    private boolean scheduled = false;
 
-      if (event.getSeq() == nextSeq) {
-        event = queue.poll();
-        ++nextSeq;
-        return event;
-      } else {
+    /**
+     * Adds an event to the stream.
+     *
+     * @param event the event
+     * @return true if the stream now has ready events and no worker to dispatch them
+     */
+    synchronized boolean add(final RemoteEvent<byte[]> event) {
+      if (event.getSeq() != this.nextSeq) {
         LOG.log(Level.FINER, "Event sequence is {0} does not match expected {1}",
-            new Object[]{event.getSeq(), nextSeq});
+            new Object[]{event.getSeq(), this.nextSeq});
+        if (this.pending == null) {
+          this.pending = new PriorityQueue<>(11, new RemoteEventComparator<byte[]>());
+        }
+        this.pending.add(event);
+        return false;
       }
-    } else {
-      LOG.log(Level.FINER, "Event is null");
+
+      this.ready.add(event);
+      ++this.nextSeq;
+      while (this.pending != null && !this.pending.isEmpty() && this.pending.peek().getSeq() == this.nextSeq) {
+        this.ready.add(this.pending.poll());
+        ++this.nextSeq;
+      }
+
+      if (this.scheduled) {
+        return false;
+      }
+      this.scheduled = true;
+      return true;
+    }
+
+    /**
+     * Takes all the ready events, or releases the stream if there are none.
+     *
+     * @return the ready events, or null if there are none
+     */
+    private synchronized Queue<RemoteEvent<byte[]>> takeReady() {
+      if (this.ready.isEmpty()) {
+        this.scheduled = false;
+        return null;
+      }
+      final Queue<RemoteEvent<byte[]>> batch = this.ready;
+      this.ready = new ArrayDeque<>();
+      return batch;
     }
 
-    return null;
+    /**
+     * Dispatches runs of ready events until there are none.
+     */
+    @Override
+    @SuppressWarnings("checkstyle:illegalcatch")
+    public void run() {
+      for (Queue<RemoteEvent<byte[]>> batch = takeReady(); batch != null; batch = takeReady()) {
+        LOG.log(Level.FINER, "Dispatch {0} events", batch.size());
+        for (final RemoteEvent<byte[]> event : batch) {
+          try {
+            handler.onNext(event);
+          } catch (final Throwable t) {
+            onError(t);
+          }
+        }
+      }
+    }
   }
 }
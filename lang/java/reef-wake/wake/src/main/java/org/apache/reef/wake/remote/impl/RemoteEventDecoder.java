@@ -19,26 +19,37 @@
 package org.apache.reef.wake.remote.impl;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.reef.wake.remote.ByteBufferDecoder;
 import org.apache.reef.wake.remote.Decoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Remote event decoder using the WakeMessage protocol buffer.
+ * <p>
+ * Remote events can also be decoded directly from a buffer in the WakeMessage wire format.
+ * If the decoder of the event is a {@link ByteBufferDecoder}, it reads the event data
+ * from a view of that buffer; otherwise the event data is copied once into a byte array.
  *
  * @param <T> type
  */
-public class RemoteEventDecoder<T> implements Decoder<RemoteEvent<T>> {
+public class RemoteEventDecoder<T> implements ByteBufferDecoder<RemoteEvent<T>> {
 
   private final Decoder<T> decoder;
+  private final ByteBufferDecoder<T> bufferDecoder;
 
   /**
    * Constructs a remote event decoder.
    *
    * @param decoder the decoder of the event
    */
+  @SuppressWarnings("unchecked")
   public RemoteEventDecoder(final Decoder<T> decoder) {
     this.decoder = decoder;
+    this.bufferDecoder = decoder instanceof ByteBufferDecoder ? (ByteBufferDecoder<T>) decoder : null;
   }
 
   /**
@@ -59,4 +70,50 @@ public class RemoteEventDecoder<T> implements Decoder<RemoteEvent<T>> {
     }
   }
 
+  /**
+   * Decodes a remote event from the remaining bytes of the buffer.
+   *
+   * @param buffer the buffer in the WakeMessage wire format
+   * @return a remote event object
+   * @throws RemoteRuntimeException
+   */
+  @Override
+  public RemoteEvent<T> decode(final ByteBuffer buffer) {
+    final ByteBuffer in = buffer.slice();
+    ByteBuffer data = null;
+    Long seq = null;
+    try {
+      while (in.hasRemaining()) {
+        final int tag = (int) WakeMessageWireFormat.readVarint(in);
+        if (tag == WakeMessageWireFormat.DATA_TAG) {
+          final int length = WakeMessageWireFormat.readLength(in);
+          data = in.slice();
+          data.limit(length);
+          in.position(in.position() + length);
+        } else if (tag == WakeMessageWireFormat.SEQ_TAG) {
+          seq = WakeMessageWireFormat.readVarint(in);
+        } else {
+          WakeMessageWireFormat.skipField(in, tag);
+        }
+      }
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      throw new RemoteRuntimeException("Truncated WakeMessage", e);
+    }
+
+    if (data == null || seq == null) {
+      throw new RemoteRuntimeException("WakeMessage is missing a required field: data "
+          + (data != null) + " seq " + (seq != null));
+    }
+
+    final T event;
+    if (bufferDecoder != null) {
+      event = bufferDecoder.decode(data);
+    } else {
+      final byte[] bytes = new byte[data.remaining()];
+      data.get(bytes);
+      event = decoder.decode(bytes);
+    }
+    return new RemoteEvent<T>(null, null, seq, event);
+  }
+
 }
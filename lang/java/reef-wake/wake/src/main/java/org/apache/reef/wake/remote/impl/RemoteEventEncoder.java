@@ -19,26 +19,47 @@
 package org.apache.reef.wake.remote.impl;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import org.apache.reef.wake.remote.ByteBufferEncoder;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
 
+import java.nio.ByteBuffer;
+
 /**
  * Remote event encoder using the WakeMessage protocol buffer.
+ * <p>
+ * If the encoder of the event is a {@link ByteBufferEncoder}, the remote event can be
+ * written directly into a buffer in the WakeMessage wire format without building
+ * the protocol buffer message.
  *
  * @param <T> type
  */
-public class RemoteEventEncoder<T> implements Encoder<RemoteEvent<T>> {
+public class RemoteEventEncoder<T> implements ByteBufferEncoder<RemoteEvent<T>> {
 
   private final Encoder<T> encoder;
+  private final ByteBufferEncoder<T> bufferEncoder;
 
   /**
    * Constructs a remote event encoder.
    *
    * @param encoder the encoder of the event
    */
+  @SuppressWarnings("unchecked")
   public RemoteEventEncoder(final Encoder<T> encoder) {
     this.encoder = encoder;
+    this.bufferEncoder = encoder instanceof ByteBufferEncoder ? (ByteBufferEncoder<T>) encoder : null;
+  }
+
+  /**
+   * Checks whether the encoder of the event can write directly into a buffer.
+   * Otherwise, the buffer methods of this encoder fall back to {@link #encode(RemoteEvent)}.
+   *
+   * @return true if the event encoder is a {@link ByteBufferEncoder}
+   */
+  public boolean isByteBufferEncoder() {
+    return bufferEncoder != null;
   }
 
   /**
@@ -50,9 +71,7 @@ public class RemoteEventEncoder<T> implements Encoder<RemoteEvent<T>> {
    */
   @Override
   public byte[] encode(final RemoteEvent<T> obj) {
-    if (obj.getEvent() == null) {
-      throw new RemoteRuntimeException("Event is null");
-    }
+    checkEvent(obj);
 
     final WakeMessagePBuf.Builder builder = WakeMessagePBuf.newBuilder();
     builder.setSeq(obj.getSeq());
@@ -61,4 +80,60 @@ public class RemoteEventEncoder<T> implements Encoder<RemoteEvent<T>> {
     return builder.build().toByteArray();
   }
 
+  /**
+   * Gets the size of the remote event in the WakeMessage wire format.
+   *
+   * @param obj the remote event
+   * @return the size in bytes
+   * @throws RemoteRuntimeException
+   */
+  @Override
+  public int getEncodedSize(final RemoteEvent<T> obj) {
+    if (bufferEncoder == null) {
+      return encode(obj).length;
+    }
+    checkEvent(obj);
+
+    final int dataSize = bufferEncoder.getEncodedSize(obj.getEvent());
+    return CodedOutputStream.computeRawVarint32Size(WakeMessageWireFormat.DATA_TAG)
+        + CodedOutputStream.computeRawVarint32Size(dataSize) + dataSize
+        + CodedOutputStream.computeRawVarint32Size(WakeMessageWireFormat.SEQ_TAG)
+        + CodedOutputStream.computeRawVarint64Size(obj.getSeq());
+  }
+
+  /**
+   * Encodes the remote event into the buffer in the WakeMessage wire format.
+   * The output is identical to the bytes returned by {@link #encode(RemoteEvent)}.
+   *
+   * @param obj    the remote event
+   * @param buffer the buffer to write to
+   * @throws RemoteRuntimeException
+   */
+  @Override
+  public void encode(final RemoteEvent<T> obj, final ByteBuffer buffer) {
+    if (bufferEncoder == null) {
+      buffer.put(encode(obj));
+      return;
+    }
+    checkEvent(obj);
+
+    final int dataSize = bufferEncoder.getEncodedSize(obj.getEvent());
+    WakeMessageWireFormat.writeVarint(buffer, WakeMessageWireFormat.DATA_TAG);
+    WakeMessageWireFormat.writeVarint(buffer, dataSize);
+    final int dataStart = buffer.position();
+    bufferEncoder.encode(obj.getEvent(), buffer);
+    if (buffer.position() - dataStart != dataSize) {
+      throw new RemoteRuntimeException("Encoder " + bufferEncoder + " wrote " + (buffer.position() - dataStart)
+          + " bytes but reported an encoded size of " + dataSize);
+    }
+    WakeMessageWireFormat.writeVarint(buffer, WakeMessageWireFormat.SEQ_TAG);
+    WakeMessageWireFormat.writeVarint(buffer, obj.getSeq());
+  }
+
+  private static void checkEvent(final RemoteEvent<?> obj) {
+    if (obj.getEvent() == null) {
+      throw new RemoteRuntimeException("Event is null");
+    }
+  }
+
 }
@@ -30,7 +30,7 @@ class RemoteReceiverEventHandler implements EventHandler<TransportEvent> {
 
   private static final Logger LOG = Logger.getLogger(RemoteReceiverEventHandler.class.getName());
 
-  private final RemoteEventCodec<byte[]> codec;
+  private final RemoteEventDecoder<byte[]> decoder;
   private final EventHandler<RemoteEvent<byte[]>> handler;
 
   /**
@@ -39,18 +39,24 @@ class RemoteReceiverEventHandler implements EventHandler<TransportEvent> {
    * @param handler the upstream handler
    */
   RemoteReceiverEventHandler(final EventHandler<RemoteEvent<byte[]>> handler) {
-    this.codec = new RemoteEventCodec<byte[]>(new ByteCodec());
+    this.decoder = new RemoteEventDecoder<>(new ByteCodec());
     this.handler = handler;
   }
 
   /**
    * Handles the event received from a remote node.
+   * The event is decoded straight from its transport buffer, which is then released.
    *
    * @param e the event
    */
   @Override
   public void onNext(final TransportEvent e) {
-    final RemoteEvent<byte[]> re = codec.decode(e.getData());
+    final RemoteEvent<byte[]> re;
+    try {
+      re = decoder.decode(e.getBuffer());
+    } finally {
+      e.release();
+    }
     re.setLocalAddress(e.getLocalAddress());
     re.setRemoteAddress(e.getRemoteAddress());
 
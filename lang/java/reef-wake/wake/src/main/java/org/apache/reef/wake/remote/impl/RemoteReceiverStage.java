@@ -69,9 +69,18 @@ public class RemoteReceiverStage implements EStage<TransportEvent> {
    * @param value the event
    */
   @Override
+  @SuppressWarnings("checkstyle:illegalcatch")
   public void onNext(final TransportEvent value) {
     LOG.log(Level.FINEST, "{0}", value);
-    stage.onNext(value);
+    // keep the transport buffer until the handler thread has decoded the event
+    value.retain();
+    try {
+      stage.onNext(value);
+    } catch (final Throwable t) {
+      // the handler thread will never see the event, so give its reference back
+      value.release();
+      throw t;
+    }
   }
 
   /**
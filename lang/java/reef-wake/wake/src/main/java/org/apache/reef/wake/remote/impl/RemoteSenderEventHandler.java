@@ -21,7 +21,9 @@ package org.apache.reef.wake.remote.impl;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.transport.ByteBufferLink;
 import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.LinkListener;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
 
@@ -40,10 +42,11 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
 
   private static final Logger LOG = Logger.getLogger(RemoteSenderEventHandler.class.getName());
 
-  private final BlockingQueue<RemoteEvent<T>> queue = new LinkedBlockingQueue<>();
+  private final BlockingQueue<RemoteEvent<T>> queue;
   private final AtomicReference<Link<byte[]>> linkRef = new AtomicReference<>();
 
   private final RemoteEventEncoder<T> encoder;
+  private final LinkListener<RemoteEvent<T>> listener = new LoggingLinkListener<>();
   private final Transport transport;
   private final ExecutorService executor;
 
@@ -53,8 +56,12 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
    * @param encoder   the encoder
    * @param transport the transport to send events
    * @param executor  the executor service used for creating channels
+   * @param capacity  the maximum number of events queued while connecting, 0 if unbounded
    */
-  RemoteSenderEventHandler(final Encoder<T> encoder, final Transport transport, final ExecutorService executor) {
+  RemoteSenderEventHandler(final Encoder<T> encoder, final Transport transport, final ExecutorService executor,
+                           final int capacity) {
+    this.queue = capacity > 0 ? new LinkedBlockingQueue<RemoteEvent<T>>(capacity)
+        : new LinkedBlockingQueue<RemoteEvent<T>>();
     this.encoder = new RemoteEventEncoder<>(encoder);
     this.transport = transport;
     this.executor = executor;
@@ -76,7 +83,7 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
       RemoteEvent<T> event;
       while ((event = queue.poll(0, TimeUnit.MICROSECONDS)) != null) {
         LOG.log(Level.FINEST, "Event: {0}", event);
-        linkRef.get().write(encoder.encode(event));
+        send(linkRef.get(), event);
       }
     } catch (final InterruptedException ex) {
       LOG.log(Level.SEVERE, "Interrupted", ex);
@@ -84,6 +91,18 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
     }
   }
 
+  /**
+   * Writes the event to the link, encoding it directly into a transport buffer
+   * when both the event encoder and the link support it.
+   */
+  private void send(final Link<byte[]> link, final RemoteEvent<T> event) {
+    if (encoder.isByteBufferEncoder() && link instanceof ByteBufferLink) {
+      ((ByteBufferLink<byte[]>) link).write(event, encoder, listener);
+    } else {
+      link.write(encoder.encode(event));
+    }
+  }
+
   /**
    * Handles the event to send to a remote node.
    *
@@ -97,7 +116,9 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
       LOG.log(Level.FINEST, "Link: {0} event: {1}", new Object[] {linkRef, value});
 
       if (linkRef.get() == null) {
-        queue.add(value);
+        if (!queue.offer(value)) {
+          throw new RemoteRuntimeException("Too many events pending while connecting to " + value.remoteAddress());
+        }
 
         final Link<byte[]> link = transport.get(value.remoteAddress());
         if (link != null) {
@@ -115,7 +136,7 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
         // encode and write bytes
         // consumeQueue();
         LOG.log(Level.FINEST, "Send: {0} event: {1}", new Object[] {linkRef, value});
-        linkRef.get().write(encoder.encode(value));
+        send(linkRef.get(), value);
       }
 
     } catch (final RemoteRuntimeException ex) {
@@ -45,6 +45,7 @@ public class RemoteSenderStage implements Stage {
   private final ExecutorService executor;
   private final Encoder encoder;
   private final Transport transport;
+  private final int pendingCapacity;
 
   /**
    * Constructs a remote sender stage.
@@ -54,8 +55,25 @@ public class RemoteSenderStage implements Stage {
    * @param numThreads the number of threads
    */
   public RemoteSenderStage(final Encoder encoder, final Transport transport, final int numThreads) {
+    this(encoder, transport, numThreads, 0);
+  }
+
+  /**
+   * Constructs a remote sender stage.
+   *
+   * @param encoder         the encoder of the event
+   * @param transport       the transport to send events
+   * @param numThreads      the number of threads
+   * @param pendingCapacity the maximum number of events queued for a destination while connecting, 0 if unbounded
+   */
+  public RemoteSenderStage(final Encoder encoder, final Transport transport, final int numThreads,
+                           final int pendingCapacity) {
+    if (pendingCapacity < 0) {
+      throw new RemoteRuntimeException("Pending send capacity " + pendingCapacity + " is negative");
+    }
     this.encoder = encoder;
     this.transport = transport;
+    this.pendingCapacity = pendingCapacity;
     this.executor = Executors.newFixedThreadPool(
         numThreads, new DefaultThreadFactory(RemoteSenderStage.class.getName()));
   }
@@ -66,7 +84,7 @@ public class RemoteSenderStage implements Stage {
    * @return a remote sender event handler
    */
   public <T> EventHandler<RemoteEvent<T>> getHandler() {
-    return new RemoteSenderEventHandler<T>(encoder, transport, executor);
+    return new RemoteSenderEventHandler<T>(encoder, transport, executor, pendingCapacity);
   }
 
   /**
@@ -20,17 +20,37 @@ package org.apache.reef.wake.remote.impl;
 
 import org.apache.reef.wake.remote.transport.Link;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 
 /**
  * Event sent from a remote node.
+ * <p>
+ * An event created by the transport may hold a reference to a pooled network buffer
+ * instead of a byte array. The transport releases its reference after the event handler returns.
+ * A handler that reads the buffer after returning, e.g. from another thread, has to {@link #retain()}
+ * the event and {@link #release()} it when done. If no handler retained the event, the data is
+ * copied out of the buffer before it is released, so {@link #getData()} always works.
+ * <p>
+ * A large message may be held in several transport buffers. Its data is only merged into
+ * a single array when {@link #getData()} or {@link #getBuffer()} is called;
+ * {@link #getInputStream()} reads it without merging.
  */
 public class TransportEvent {
 
-  private final byte[] data;
   private final SocketAddress localAddr;
   private final SocketAddress remoteAddr;
   private final Link<byte[]> link;
+  private final int size;
+  private final Runnable bufferReleaser;
+
+  private byte[] data;
+  private ByteBuffer[] buffers;
+  private int refCnt;
+  private boolean retained = false;
 
   /**
    * Constructs an object event.
@@ -41,9 +61,11 @@ public class TransportEvent {
    */
   public TransportEvent(final byte[] data, final SocketAddress localAddr, final SocketAddress remoteAddr) {
     this.data = data;
+    this.size = data.length;
     this.localAddr = localAddr;
     this.remoteAddr = remoteAddr;
-    link = null;
+    this.link = null;
+    this.bufferReleaser = null;
   }
 
   /**
@@ -55,6 +77,7 @@ public class TransportEvent {
    */
   public TransportEvent(final byte[] data, final Link<byte[]> link) {
     this.data = data;
+    this.size = data.length;
     this.link = link;
     if (this.link != null) {
       localAddr = link.getLocalAddress();
@@ -63,24 +86,196 @@ public class TransportEvent {
       localAddr = null;
       remoteAddr = null;
     }
+    this.bufferReleaser = null;
+  }
+
+  /**
+   * Constructs an object event that holds a reference to a transport buffer.
+   *
+   * @param buffer         the data; the remaining bytes of the buffer are the event data
+   * @param localAddr      the local socket address
+   * @param remoteAddr     the remote socket address
+   * @param bufferReleaser releases the buffer when the last reference to the event is released
+   */
+  public TransportEvent(final ByteBuffer buffer, final SocketAddress localAddr, final SocketAddress remoteAddr,
+                        final Runnable bufferReleaser) {
+    this(new ByteBuffer[]{buffer}, localAddr, remoteAddr, bufferReleaser, null);
+  }
+
+  /**
+   * Constructs an object event that holds references to the transport buffers of a large message.
+   *
+   * @param buffers        the data; the remaining bytes of the buffers, in order, are the event data
+   * @param localAddr      the local socket address
+   * @param remoteAddr     the remote socket address
+   * @param bufferReleaser releases the buffers when the last reference to the event is released
+   */
+  public TransportEvent(final ByteBuffer[] buffers, final SocketAddress localAddr, final SocketAddress remoteAddr,
+                        final Runnable bufferReleaser) {
+    this(buffers, localAddr, remoteAddr, bufferReleaser, null);
+  }
+
+  /**
+   * Constructs an object event that holds a reference to a transport buffer, using a link to
+   * initialize the local and remote address if the link is not null.
+   *
+   * @param buffer         the data; the remaining bytes of the buffer are the event data
+   * @param link           the link the event was received from
+   * @param bufferReleaser releases the buffer when the last reference to the event is released
+   */
+  public TransportEvent(final ByteBuffer buffer, final Link<byte[]> link, final Runnable bufferReleaser) {
+    this(new ByteBuffer[]{buffer}, link, bufferReleaser);
+  }
+
+  /**
+   * Constructs an object event that holds references to the transport buffers of a large message,
+   * using a link to initialize the local and remote address if the link is not null.
+   *
+   * @param buffers        the data; the remaining bytes of the buffers, in order, are the event data
+   * @param link           the link the event was received from
+   * @param bufferReleaser releases the buffers when the last reference to the event is released
+   */
+  public TransportEvent(final ByteBuffer[] buffers, final Link<byte[]> link, final Runnable bufferReleaser) {
+    this(buffers, link == null ? null : link.getLocalAddress(), link == null ? null : link.getRemoteAddress(),
+        bufferReleaser, link);
+  }
+
+  private TransportEvent(final ByteBuffer[] buffers, final SocketAddress localAddr, final SocketAddress remoteAddr,
+                         final Runnable bufferReleaser, final Link<byte[]> link) {
+    this.buffers = new ByteBuffer[buffers.length];
+    int total = 0;
+    for (int i = 0; i < buffers.length; ++i) {
+      this.buffers[i] = buffers[i].asReadOnlyBuffer();
+      total += buffers[i].remaining();
+    }
+    this.size = total;
+    this.localAddr = localAddr;
+    this.remoteAddr = remoteAddr;
+    this.link = link;
+    this.bufferReleaser = bufferReleaser;
+    this.refCnt = 1;
   }
 
   @Override
   public String toString() {
     return String.format(
         "TransportEvent: {local: %s remote: %s size: %d bytes}",
-        this.localAddr, this.remoteAddr, this.data.length);
+        this.localAddr, this.remoteAddr, this.size);
   }
 
   /**
    * Gets the data.
+   * If the event holds a transport buffer, the data is copied out of it on the first call.
    *
    * @return data
    */
-  public byte[] getData() {
+  public synchronized byte[] getData() {
+    if (data == null) {
+      data = merge(checkBuffers(), size);
+    }
     return data;
   }
 
+  /**
+   * Gets a read-only view of the data without copying it.
+   * A view of a transport buffer is only valid while the event handler runs or the event is retained.
+   * The data of a large message held in several buffers is merged into an array first.
+   *
+   * @return a read-only buffer whose remaining bytes are the data
+   */
+  public synchronized ByteBuffer getBuffer() {
+    if (data == null && checkBuffers().length == 1) {
+      return buffers[0].duplicate();
+    }
+    return ByteBuffer.wrap(getData()).asReadOnlyBuffer();
+  }
+
+  /**
+   * Gets a stream over the data that reads the buffers of a large message in place.
+   * A stream over transport buffers holds its own reference to them, so it can be read from any thread
+   * after the event handler returns. The reference is released when the stream is closed or read to the end;
+   * close a stream that is not read to the end.
+   *
+   * @return a stream of the data
+   */
+  public synchronized InputStream getInputStream() {
+    if (data != null) {
+      return new ByteArrayInputStream(data);
+    }
+    final ByteBuffer[] views = checkBuffers().clone();
+    for (int i = 0; i < views.length; ++i) {
+      views[i] = views[i].duplicate();
+    }
+    if (refCnt == 0) {
+      // the buffers were copied when the transport released them
+      return new ByteBuffersInputStream(views, null);
+    }
+    // not retain(): when the stream releases the last reference without a retain() by the handler,
+    // the data is still copied out of the buffers so that getData() keeps working
+    ++refCnt;
+    return new ByteBuffersInputStream(views, this);
+  }
+
+  /**
+   * Gets the size of the data.
+   *
+   * @return the size in bytes
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Adds a reference to the transport buffer of this event so that it stays valid
+   * after the event handler returns. Has no effect on events created from a byte array.
+   */
+  public synchronized void retain() {
+    if (refCnt > 0) {
+      ++refCnt;
+      retained = true;
+    }
+  }
+
+  /**
+   * Releases a reference to the transport buffer of this event. The buffer is returned to the
+   * transport when the last reference is released. Has no effect on events created from a byte array.
+   */
+  public synchronized void release() {
+    if (refCnt == 0) {
+      return;
+    }
+    if (--refCnt == 0) {
+      // Copy each buffer on its own so that a large message is not merged into a single array.
+      buffers = data == null && !retained ? copy(buffers) : null;
+      bufferReleaser.run();
+    }
+  }
+
+  private ByteBuffer[] checkBuffers() {
+    if (buffers == null) {
+      throw new IllegalStateException("The transport buffer of " + this + " has already been released");
+    }
+    return buffers;
+  }
+
+  private static ByteBuffer[] copy(final ByteBuffer[] sources) {
+    final ByteBuffer[] copies = new ByteBuffer[sources.length];
+    for (int i = 0; i < sources.length; ++i) {
+      final byte[] bytes = new byte[sources[i].remaining()];
+      sources[i].duplicate().get(bytes);
+      copies[i] = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+    return copies;
+  }
+
+  private static byte[] merge(final ByteBuffer[] sources, final int size) {
+    final ByteBuffer merged = ByteBuffer.allocate(size);
+    for (final ByteBuffer source : sources) {
+      merged.put(source.duplicate());
+    }
+    return merged.array();
+  }
+
   /**
    * Returns the link associated with the event.
    * which can be used to write back to the client
@@ -109,4 +304,75 @@ public class TransportEvent {
   public SocketAddress getRemoteAddress() {
     return remoteAddr;
   }
+
+  /**
+   * Reads a sequence of buffers in order.
+   * Holds a reference to the event that owns the buffers until it is closed or read to the end.
+   */
+  private static final class ByteBuffersInputStream extends InputStream {
+
+    private final ByteBuffer[] buffers;
+    private TransportEvent owner;
+    private boolean closed = false;
+    private int current = 0;
+
+    ByteBuffersInputStream(final ByteBuffer[] buffers, final TransportEvent owner) {
+      this.buffers = buffers;
+      this.owner = owner;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      final ByteBuffer buffer = nextReadable();
+      return buffer == null ? -1 : buffer.get() & 0xFF;
+    }
+
+    @Override
+    public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      final ByteBuffer buffer = nextReadable();
+      if (buffer == null) {
+        return -1;
+      }
+      final int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+      final ByteBuffer buffer = nextReadable();
+      return buffer == null ? 0 : buffer.remaining();
+    }
+
+    @Override
+    public synchronized void close() {
+      closed = true;
+      releaseOwner();
+    }
+
+    private ByteBuffer nextReadable() throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      while (current < buffers.length && !buffers[current].hasRemaining()) {
+        ++current;
+      }
+      if (current < buffers.length) {
+        return buffers[current];
+      }
+      releaseOwner();
+      return null;
+    }
+
+    private void releaseOwner() {
+      if (owner != null) {
+        final TransportEvent event = owner;
+        owner = null;
+        event.release();
+      }
+    }
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.impl;
+
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact type tags for the messages of {@link MultiEncoder} and {@link MultiDecoder}.
+ * <p>
+ * The tag of a type is the 64-bit FNV-1a hash of its class name, so both ends of a connection
+ * derive the same tag for the same type without exchanging any state, and an 8-byte tag
+ * replaces a class name that is often longer than a small payload.
+ */
+final class TypeTag {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /**
+   * @param className the fully qualified class name
+   * @return the type tag of the class
+   */
+  static long of(final String className) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < className.length(); ++i) {
+      final char c = className.charAt(i);
+      hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+      hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /**
+   * Maps the type tags of the registered classes to their values.
+   *
+   * @param clazzToValueMap the values by class
+   * @param <T>             the value type
+   * @return the values by type tag
+   * @throws RemoteRuntimeException if two of the classes have the same tag
+   */
+  static <T> Map<Long, T> tagMap(final Map<? extends Class<?>, T> clazzToValueMap) {
+    final Map<Long, T> tagToValueMap = new HashMap<>();
+    final Map<Long, String> tagToNameMap = new HashMap<>();
+    for (final Map.Entry<? extends Class<?>, T> e : clazzToValueMap.entrySet()) {
+      final String className = e.getKey().getName();
+      final long tag = of(className);
+      final String other = tagToNameMap.put(tag, className);
+      if (other != null) {
+        throw new RemoteRuntimeException("Classes " + other + " and " + className + " have the same type tag");
+      }
+      tagToValueMap.put(tag, e.getValue());
+    }
+    return tagToValueMap;
+  }
+
+  /**
+   * Empty private constructor to prohibit instantiation of utility class.
+   */
+  private TypeTag() {
+  }
+}
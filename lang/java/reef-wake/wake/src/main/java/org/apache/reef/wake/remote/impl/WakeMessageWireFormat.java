@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.impl;
+
+import com.google.protobuf.WireFormat;
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes the WakeMessage protocol buffer wire format directly on ByteBuffers,
+ * without building the protocol buffer message.
+ */
+final class WakeMessageWireFormat {
+
+  static final int DATA_TAG =
+      WakeMessagePBuf.DATA_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  static final int SEQ_TAG =
+      WakeMessagePBuf.SEQ_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_VARINT;
+
+  private static final int TAG_TYPE_MASK = 0x7;
+  private static final int FIXED32_SIZE = 4;
+  private static final int FIXED64_SIZE = 8;
+
+  /**
+   * Empty private constructor to prohibit instantiation of utility class.
+   */
+  private WakeMessageWireFormat() {
+  }
+
+  /**
+   * Writes the value as a protocol buffer base 128 varint.
+   */
+  static void writeVarint(final ByteBuffer buffer, final long value) {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      buffer.put((byte) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+    buffer.put((byte) remaining);
+  }
+
+  /**
+   * Reads a protocol buffer base 128 varint.
+   *
+   * @throws RemoteRuntimeException if the varint is longer than 10 bytes
+   */
+  static long readVarint(final ByteBuffer buffer) {
+    long result = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      final byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new RemoteRuntimeException("Malformed varint in WakeMessage");
+  }
+
+  /**
+   * Reads the length of a length-delimited field and checks it against the remaining bytes.
+   */
+  static int readLength(final ByteBuffer buffer) {
+    final long length = readVarint(buffer);
+    if (length < 0 || length > buffer.remaining()) {
+      throw new RemoteRuntimeException("Invalid field length " + length + " in WakeMessage; "
+          + buffer.remaining() + " bytes remaining");
+    }
+    return (int) length;
+  }
+
+  /**
+   * Skips the value of a field that this reader does not know.
+   */
+  static void skipField(final ByteBuffer buffer, final int tag) {
+    switch (tag & TAG_TYPE_MASK) {
+    case WireFormat.WIRETYPE_VARINT:
+      readVarint(buffer);
+      break;
+    case WireFormat.WIRETYPE_FIXED64:
+      buffer.position(buffer.position() + FIXED64_SIZE);
+      break;
+    case WireFormat.WIRETYPE_LENGTH_DELIMITED:
+      final int length = readLength(buffer);
+      buffer.position(buffer.position() + length);
+      break;
+    case WireFormat.WIRETYPE_FIXED32:
+      buffer.position(buffer.position() + FIXED32_SIZE);
+      break;
+    default:
+      throw new RemoteRuntimeException("Unsupported wire type in WakeMessage tag " + tag);
+    }
+  }
+}
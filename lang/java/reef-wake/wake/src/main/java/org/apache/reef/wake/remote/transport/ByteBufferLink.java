@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport;
+
+import org.apache.reef.wake.remote.ByteBufferEncoder;
+
+/**
+ * Link that can encode values directly into the buffers of its transport.
+ *
+ * @param <T> type of the message.
+ */
+public interface ByteBufferLink<T> extends Link<T> {
+
+  /**
+   * Asynchronously encodes the value into a buffer of the transport and writes it to this link.
+   * The value bypasses the encoder and the listener of the link, since both handle messages of type T;
+   * the given listener is notified whether the value was transferred instead.
+   *
+   * @param value    the data value.
+   * @param encoder  the encoder that writes the value into the buffer.
+   * @param listener the listener to notify of the write, or null to only log a failure.
+   * @param <U>      type of the value.
+   */
+  <U> void write(U value, ByteBufferEncoder<? super U> encoder, LinkListener<? super U> listener);
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport;
+
+import java.io.InputStream;
+
+/**
+ * Link that can stream a large message from an input stream.
+ *
+ * @param <T> type of the message.
+ */
+public interface StreamLink<T> extends Link<T> {
+
+  /**
+   * Asynchronously writes the next length bytes of the stream to this link as a single message.
+   * The stream is read chunk by chunk as the link is able to send, so the message is never held
+   * in memory as a whole, and closed when the message is sent or fails.
+   * The message bypasses the encoder of the link, so the link listener is not notified.
+   *
+   * @param stream the stream to read the message from.
+   * @param length the size of the message in bytes.
+   */
+  void write(InputStream stream, int length);
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.reef.wake.remote.transport.netty;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.reef.wake.EStage;
@@ -25,6 +26,7 @@ import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -56,16 +58,24 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
     final Channel channel = ctx.channel();
-    final byte[] message = (byte[]) msg;
+    final ByteBuf message = (ByteBuf) msg;
 
     if (LOG.isLoggable(Level.FINEST)) {
       LOG.log(Level.FINEST, "MessageEvent: local: {0} remote: {1} :: {2}", new Object[]{
           channel.localAddress(), channel.remoteAddress(), message});
     }
 
-    if (message.length > 0) {
-      // send to the dispatch stage
-      this.stage.onNext(this.getTransportEvent(message, channel));
+    if (message.isReadable()) {
+      // The event holds its own reference to the buffer; the caller releases the one passed in.
+      // A large message arrives as a composite of its frames, which the event reads in place.
+      final TransportEvent event = this.getTransportEvent(
+          message.nioBuffers(), new ByteBufReleaser(message.retain()), channel);
+      try {
+        // send to the dispatch stage
+        this.stage.onNext(event);
+      } finally {
+        event.release();
+      }
     }
   }
 
@@ -85,7 +95,8 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
     this.closeChannel(ctx.channel());
   }
 
-  protected abstract TransportEvent getTransportEvent(final byte[] message, final Channel channel);
+  protected abstract TransportEvent getTransportEvent(
+      final ByteBuffer[] message, final Runnable releaser, final Channel channel);
 
   protected abstract void exceptionCleanup(final ChannelHandlerContext ctx, Throwable cause);
 
@@ -96,4 +107,21 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
     LOG.log(Level.FINER, "Channel closed: {0}. Link ref found and removed: {1}",
         new Object[]{channel, refRemoved != null});
   }
+
+  /**
+   * Releases a reference to a ByteBuf.
+   */
+  private static final class ByteBufReleaser implements Runnable {
+
+    private final ByteBuf buffer;
+
+    ByteBufReleaser(final ByteBuf buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void run() {
+      buffer.release();
+    }
+  }
 }
@@ -20,13 +20,17 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.handler.stream.ChunkedInput;
 import io.netty.handler.stream.ChunkedStream;
 import io.netty.handler.stream.ChunkedWriteHandler;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.logging.Logger;
 
 /**
@@ -46,66 +50,75 @@ import java.util.logging.Logger;
  * We do not need to tag the writes since the base class ChunkedWriteHandler
  * serializes access to the channel and first write will complete before
  * the second begins.
+ * <p>
+ * A {@link StreamedMessage} is sent in small chunks read from its stream
+ * only as the channel becomes writable, so it is never held in memory as a whole.
  */
 public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
 
   public static final int INT_SIZE = Integer.SIZE / Byte.SIZE;
 
+  private static final int CHUNK_SIZE = NettyChannelInitializer.MAXFRAMELENGTH - 1024;
+
+  private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+
   private static final Logger LOG = Logger.getLogger(ChunkedReadWriteHandler.class.getName());
 
-  private boolean start = true;
   private int expectedSize = 0;
 
-  private ByteBuf readBuffer;
-  private byte[] retArr;
+  private CompositeByteBuf readBuffer;
 
   /**
-   * @see org.jboss.netty.handler.stream.ChunkedWriteHandler#handleUpstream(
-   *      org.jboss.netty.channel.ChannelHandlerContext, org.jboss.netty.channel.ChannelEvent)
+   * Reassembles the frames of a chunked write into the original message.
+   * A message that arrives in a single frame is passed upstream as is, without copying;
+   * the frames of a larger message are collected, again without copying, into a composite buffer.
+   * The handler upstream owns, and has to release, the message buffer.
    */
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
 
-    if (msg instanceof byte[]) {
-
-      final byte[] data = (byte[]) msg;
-
-      if (start) {
-        //LOG.log(Level.FINEST, "{0} Starting dechunking of a chunked write", curThrName);
-        expectedSize = getSize(data);
-        // LOG.log(Level.FINEST, "Expected Size = {0}. Wrapping byte[{1}] into a ChannelBuffer",
-        // new Object[]{expectedSize,expectedSize});
-        retArr = new byte[expectedSize];
-        readBuffer = Unpooled.wrappedBuffer(retArr);
-        readBuffer.clear();
-        //if (LOG.isLoggable(Level.FINEST)) LOG.log(Level.FINEST, curThrName + "read buffer: cur sz = " +
-        // readBuffer.writerIndex() + " + " + (data.length - INT_SIZE) + " bytes will added by current chunk");
-        readBuffer.writeBytes(data, INT_SIZE, data.length - INT_SIZE);
-        //if (LOG.isLoggable(Level.FINEST)) LOG.log(Level.FINEST, curThrName + "read buffer: new sz = " +
-        // readBuffer.writerIndex());
-        start = false;
-      } else {
-        readBuffer.writeBytes(data);
+    if (msg instanceof ByteBuf) {
+
+      final ByteBuf frame = (ByteBuf) msg;
+
+      if (readBuffer == null) {
+        expectedSize = frame.order(Unpooled.LITTLE_ENDIAN).readInt();
+        if (frame.readableBytes() == expectedSize) {
+          super.channelRead(ctx, frame);
+          return;
+        }
+        readBuffer = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+      }
+
+      final int frameSize = frame.readableBytes();
+      if (readBuffer.writerIndex() + frameSize > expectedSize) {
+        frame.release();
+        throw new IllegalStateException("Received " + (readBuffer.writerIndex() + frameSize)
+            + " bytes of a message of " + expectedSize + " bytes");
       }
+      readBuffer.addComponent(frame);
+      readBuffer.writerIndex(readBuffer.writerIndex() + frameSize);
 
       if (readBuffer.writerIndex() == expectedSize) {
-        //if (LOG.isLoggable(Level.FINEST)) LOG.log(Level.FINEST, "{0} Dechunking complete." +
-        // "Creating upstream msg event with the dechunked byte[{1}]", new Object[]{curThrName, expectedSize});
-        //if (LOG.isLoggable(Level.FINEST)) LOG.log(Level.FINEST, "Resetting state to begin another dechunking",
-        // curThrName);
-        final byte[] temp = retArr;
-        start = true;
+        final ByteBuf message = readBuffer;
+        readBuffer = null;
         expectedSize = 0;
-        readBuffer.release();
-        retArr = null;
-        //LOG.log(Level.FINEST, "{0} Sending dechunked message upstream", curThrName);
-        super.channelRead(ctx, temp);
+        super.channelRead(ctx, message);
       }
     } else {
       super.channelRead(ctx, msg);
     }
   }
 
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    if (readBuffer != null) {
+      readBuffer.release();
+      readBuffer = null;
+    }
+    super.channelInactive(ctx);
+  }
+
   /**
    * Thread-safe since there is no shared instance state.
    * Just prepend size to the message and stream it through
@@ -128,13 +141,24 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
         final byte[] size = sizeAsByteArr(data.length);
         final ByteBuf writeBuffer = Unpooled.wrappedBuffer(size, data);
         final ByteBufCloseableStream stream = new ByteBufCloseableStream(writeBuffer);
-        final ChunkedStream chunkedStream = new ChunkedStream(
-            stream, NettyChannelInitializer.MAXFRAMELENGTH - 1024);
+        final ChunkedStream chunkedStream = new ChunkedStream(stream, CHUNK_SIZE);
         super.write(ctx, chunkedStream, promise);
       } else {
-        super.write(ctx, msg, promise);
+        // Direct buffers are framed by wrapping, not copying, them.
+        final ByteBuf writeBuffer = Unpooled.wrappedBuffer(
+            Unpooled.wrappedBuffer(sizeAsByteArr(bf.readableBytes())), bf);
+        if (writeBuffer.readableBytes() <= CHUNK_SIZE) {
+          super.write(ctx, writeBuffer, promise);
+        } else {
+          super.write(ctx, new ChunkedStream(new ByteBufCloseableStream(writeBuffer), CHUNK_SIZE), promise);
+        }
       }
 
+    } else if (msg instanceof StreamedMessage) {
+
+      final StreamedMessage message = (StreamedMessage) msg;
+      super.write(ctx, new SizePrefixedChunkedStream(message.getStream(), message.getLength()), promise);
+
     } else {
       super.write(ctx, msg, promise);
     }
@@ -154,29 +178,6 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
     return ret;
   }
 
-  /**
-   * Get expected size encoded as the first 4 bytes of data.
-   */
-  private int getSize(final byte[] data) {
-    return getSize(data, 0);
-  }
-
-  /**
-   * Get expected size encoded as offset + 4 bytes of data.
-   */
-  private int getSize(final byte[] data, final int offset) {
-
-    if (data.length - offset < INT_SIZE) {
-      return 0;
-    }
-
-    final ByteBuf intBuffer = Unpooled.wrappedBuffer(data, offset, INT_SIZE).order(Unpooled.LITTLE_ENDIAN);
-    final int ret = intBuffer.readInt();
-    intBuffer.release();
-
-    return ret;
-  }
-
   /**
    * Release Bytebuf when the stream closes.
    */
@@ -194,4 +195,60 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
       buffer.release();
     }
   }
+
+  /**
+   * Reads a size-prefixed message from a stream in chunks of at most STREAM_CHUNK_SIZE bytes.
+   */
+  private static final class SizePrefixedChunkedStream implements ChunkedInput<ByteBuf> {
+
+    private final InputStream stream;
+    private final int length;
+    private boolean sizeSent = false;
+    private int offset = 0;
+
+    SizePrefixedChunkedStream(final InputStream stream, final int length) {
+      this.stream = stream;
+      this.length = length;
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+      return sizeSent && offset == length;
+    }
+
+    @Override
+    public void close() throws IOException {
+      stream.close();
+    }
+
+    @Override
+    public ByteBuf readChunk(final ChannelHandlerContext ctx) throws IOException {
+      if (isEndOfInput()) {
+        return null;
+      }
+      final int chunkLength = Math.min(STREAM_CHUNK_SIZE, length - offset);
+      final ByteBuf chunk = ctx.alloc().buffer(sizeSent ? chunkLength : INT_SIZE + chunkLength);
+      boolean read = false;
+      try {
+        if (!sizeSent) {
+          chunk.order(Unpooled.LITTLE_ENDIAN).writeInt(length);
+        }
+        for (int remaining = chunkLength; remaining > 0;) {
+          final int n = chunk.writeBytes(stream, remaining);
+          if (n < 0) {
+            throw new EOFException("The stream ended after " + offset + " of " + length + " bytes");
+          }
+          offset += n;
+          remaining -= n;
+        }
+        sizeSent = true;
+        read = true;
+        return chunk;
+      } finally {
+        if (!read) {
+          chunk.release();
+        }
+      }
+    }
+  }
 }
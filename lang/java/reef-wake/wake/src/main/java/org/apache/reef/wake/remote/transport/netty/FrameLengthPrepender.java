@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
+
+/**
+ * Prepends the 4-byte length of each outgoing frame.
+ * <p>
+ * Unlike LengthFieldPrepender of Netty 4.0, the frame is not copied into a new buffer:
+ * the length field is written as a separate buffer in front of it.
+ */
+final class FrameLengthPrepender extends MessageToMessageEncoder<ByteBuf> {
+
+  static final int LENGTH_FIELD_SIZE = 4;
+
+  @Override
+  protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) {
+    out.add(ctx.alloc().buffer(LENGTH_FIELD_SIZE).writeInt(msg.readableBytes()));
+    out.add(msg.retain());
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import org.apache.reef.tang.Injector;
 import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
@@ -39,10 +40,20 @@ import javax.inject.Inject;
 public final class MessagingTransportFactory implements TransportFactory {
 
   private final String localAddress;
+  private final int writeBatchSize;
+  private final int writeBatchDelay;
+  private final NettyTransportOptions transportOptions;
 
   @Inject
-  private MessagingTransportFactory(final LocalAddressProvider localAddressProvider) {
+  private MessagingTransportFactory(
+      final LocalAddressProvider localAddressProvider,
+      @Parameter(RemoteConfiguration.WriteBatchSize.class) final int writeBatchSize,
+      @Parameter(RemoteConfiguration.WriteBatchDelay.class) final int writeBatchDelay,
+      final NettyTransportOptions transportOptions) {
     this.localAddress = localAddressProvider.getLocalAddress();
+    this.writeBatchSize = writeBatchSize;
+    this.writeBatchDelay = writeBatchDelay;
+    this.transportOptions = transportOptions;
   }
 
   /**
@@ -64,6 +75,9 @@ public final class MessagingTransportFactory implements TransportFactory {
     injector.bindVolatileParameter(RemoteConfiguration.Port.class, port);
     injector.bindVolatileParameter(RemoteConfiguration.RemoteClientStage.class, new SyncStage<>(clientHandler));
     injector.bindVolatileParameter(RemoteConfiguration.RemoteServerStage.class, new SyncStage<>(serverHandler));
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchSize.class, this.writeBatchSize);
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchDelay.class, this.writeBatchDelay);
+    injector.bindVolatileInstance(NettyTransportOptions.class, this.transportOptions);
 
     final Transport transport;
     try {
@@ -128,6 +142,9 @@ public final class MessagingTransportFactory implements TransportFactory {
     injector.bindVolatileParameter(RemoteConfiguration.RemoteServerStage.class, serverStage);
     injector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, numberOfTries);
     injector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, retryTimeout);
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchSize.class, this.writeBatchSize);
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchDelay.class, this.writeBatchDelay);
+    injector.bindVolatileInstance(NettyTransportOptions.class, this.transportOptions);
     injector.bindVolatileInstance(TcpPortProvider.class, tcpPortProvider);
     try {
       return injector.getInstance(NettyMessagingTransport.class);
@@ -20,13 +20,11 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
-import io.netty.handler.codec.LengthFieldPrepender;
-import io.netty.handler.codec.bytes.ByteArrayDecoder;
 import io.netty.handler.codec.bytes.ByteArrayEncoder;
 
 /**
  * Netty channel initializer for Transport.
+ * Incoming messages are passed to the handler as reference-counted ByteBufs without being copied.
  */
 class NettyChannelInitializer extends ChannelInitializer<SocketChannel> {
   /**
@@ -42,9 +40,8 @@ class NettyChannelInitializer extends ChannelInitializer<SocketChannel> {
   @Override
   protected void initChannel(final SocketChannel ch) throws Exception {
     ch.pipeline()
-        .addLast("frameDecoder", new LengthFieldBasedFrameDecoder(MAXFRAMELENGTH, 0, 4, 0, 4))
-        .addLast("bytesDecoder", new ByteArrayDecoder())
-        .addLast("frameEncoder", new LengthFieldPrepender(4))
+        .addLast("frameDecoder", new SlicingFrameDecoder(MAXFRAMELENGTH))
+        .addLast("frameEncoder", new FrameLengthPrepender())
         .addLast("bytesEncoder", new ByteArrayEncoder())
         .addLast("chunker", new ChunkedReadWriteHandler())
         .addLast("handler", handlerFactory.createChannelInboundHandler());
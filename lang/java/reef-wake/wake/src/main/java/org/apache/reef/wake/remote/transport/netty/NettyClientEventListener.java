@@ -24,6 +24,7 @@ import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -48,8 +49,9 @@ final class NettyClientEventListener extends AbstractNettyEventListener {
   }
 
   @Override
-  protected TransportEvent getTransportEvent(final byte[] message, final Channel channel) {
-    return new TransportEvent(message, channel.localAddress(), channel.remoteAddress());
+  protected TransportEvent getTransportEvent(
+      final ByteBuffer[] message, final Runnable releaser, final Channel channel) {
+    return new TransportEvent(message, channel.localAddress(), channel.remoteAddress(), releaser);
   }
 
   @Override
@@ -18,15 +18,21 @@
  */
 package org.apache.reef.wake.remote.transport.netty;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import org.apache.reef.wake.remote.ByteBufferEncoder;
 import org.apache.reef.wake.remote.Encoder;
-import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.transport.ByteBufferLink;
 import org.apache.reef.wake.remote.transport.LinkListener;
+import org.apache.reef.wake.remote.transport.StreamLink;
 
+import java.io.InputStream;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,16 +41,30 @@ import java.util.logging.Logger;
  *
  * If you set a {@code LinkListener<T>}, it keeps message until writeAndFlush operation completes
  * and notifies whether the sent message transferred successfully through the listener.
+ *
+ * Values written with a {@link ByteBufferEncoder} are encoded directly into a direct buffer
+ * taken from the allocator of the channel. Streamed messages are sent in chunks as the channel
+ * becomes writable.
  */
-public class NettyLink<T> implements Link<T> {
+public class NettyLink<T> implements ByteBufferLink<T>, StreamLink<T> {
 
   public static final int INT_SIZE = Integer.SIZE / Byte.SIZE;
 
   private static final Logger LOG = Logger.getLogger(NettyLink.class.getName());
 
+  private static final ChannelFutureListener LOG_FAILURE_LISTENER = new ChannelFutureListener() {
+    @Override
+    public void operationComplete(final ChannelFuture channelFuture) {
+      if (!channelFuture.isSuccess()) {
+        LOG.log(Level.WARNING, "Failed to write to " + channelFuture.channel(), channelFuture.cause());
+      }
+    }
+  };
+
   private final Channel channel;
   private final Encoder<? super T> encoder;
   private final LinkListener<? super T> listener;
+  private final NettyWriteCoalescer coalescer;
 
   /**
    * Constructs a link.
@@ -64,9 +84,23 @@ public class NettyLink<T> implements Link<T> {
    * @param listener the link listener
    */
   public NettyLink(final Channel channel, final Encoder<? super T> encoder, final LinkListener<? super T> listener) {
+    this(channel, encoder, listener, null);
+  }
+
+  /**
+   * Constructs a link that coalesces its writes.
+   *
+   * @param channel   the channel
+   * @param encoder   the encoder
+   * @param listener  the link listener
+   * @param coalescer the write coalescer of the channel; null to flush every write
+   */
+  NettyLink(final Channel channel, final Encoder<? super T> encoder, final LinkListener<? super T> listener,
+            final NettyWriteCoalescer coalescer) {
     this.channel = channel;
     this.encoder = encoder;
     this.listener = listener;
+    this.coalescer = coalescer;
   }
 
   /**
@@ -77,12 +111,72 @@ public class NettyLink<T> implements Link<T> {
   @Override
   public void write(final T message) {
     LOG.log(Level.FINEST, "write {0} :: {1}", new Object[] {channel, message});
-    final ChannelFuture future = channel.writeAndFlush(Unpooled.wrappedBuffer(encoder.encode(message)));
+    final ChannelFuture future = writeBuffer(Unpooled.wrappedBuffer(encoder.encode(message)));
     if (listener !=  null) {
       future.addListener(new NettyChannelFutureListener<>(message, listener));
     }
   }
 
+  /**
+   * Encodes the value into a direct buffer of the channel allocator and writes it to this link.
+   *
+   * @param value         the value
+   * @param valueEncoder  the encoder that writes the value into the buffer
+   * @param valueListener the listener to notify of the write, or null to only log a failure
+   * @param <U>           type of the value
+   */
+  @Override
+  public <U> void write(final U value, final ByteBufferEncoder<? super U> valueEncoder,
+                        final LinkListener<? super U> valueListener) {
+    LOG.log(Level.FINEST, "write {0} :: {1}", new Object[] {channel, value});
+    final int size = valueEncoder.getEncodedSize(value);
+    final ByteBuf buffer = channel.alloc().directBuffer(size, size);
+    boolean encoded = false;
+    try {
+      final ByteBuffer nioBuffer = buffer.nioBuffer(0, size);
+      valueEncoder.encode(value, nioBuffer);
+      if (nioBuffer.position() != size) {
+        throw new RemoteRuntimeException("Encoder " + valueEncoder + " wrote " + nioBuffer.position()
+            + " bytes but reported an encoded size of " + size);
+      }
+      buffer.writerIndex(size);
+      encoded = true;
+    } finally {
+      if (!encoded) {
+        buffer.release();
+      }
+    }
+    final ChannelFuture future = writeBuffer(buffer);
+    if (valueListener != null) {
+      future.addListener(new NettyChannelFutureListener<>(value, valueListener));
+    } else {
+      future.addListener(LOG_FAILURE_LISTENER);
+    }
+  }
+
+  /**
+   * Streams the next length bytes of the stream to this link as a single message.
+   * The channel is closed if the stream fails or ends early, since the peer cannot recover
+   * from a partially sent message.
+   *
+   * @param stream the stream to read the message from
+   * @param length the size of the message in bytes
+   */
+  @Override
+  public void write(final InputStream stream, final int length) {
+    LOG.log(Level.FINEST, "write {0} :: stream of {1} bytes", new Object[] {channel, length});
+    if (length < 0) {
+      throw new RemoteRuntimeException("Invalid message length: " + length);
+    }
+    channel.writeAndFlush(new StreamedMessage(stream, length))
+        .addListener(LOG_FAILURE_LISTENER)
+        .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+  }
+
+  private ChannelFuture writeBuffer(final ByteBuf buffer) {
+    return coalescer == null ? channel.writeAndFlush(buffer) : coalescer.write(buffer);
+  }
+
   /**
    * Gets a local address of the link.
    *
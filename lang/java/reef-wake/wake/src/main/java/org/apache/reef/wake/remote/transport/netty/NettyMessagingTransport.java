@@ -20,6 +20,7 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
@@ -27,15 +28,11 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
-import org.apache.reef.wake.impl.DefaultThreadFactory;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
@@ -75,10 +72,6 @@ public final class NettyMessagingTransport implements Transport {
 
   private static final Logger LOG = Logger.getLogger(CLASS_NAME);
 
-  private static final int SERVER_BOSS_NUM_THREADS = 3;
-  private static final int SERVER_WORKER_NUM_THREADS = 20;
-  private static final int CLIENT_WORKER_NUM_THREADS = 10;
-
   private final ConcurrentMap<SocketAddress, LinkReference> addrToLinkRefMap = new ConcurrentHashMap<>();
 
   private final EventLoopGroup clientWorkerGroup;
@@ -101,6 +94,10 @@ public final class NettyMessagingTransport implements Transport {
   private final int numberOfTries;
   private final int retryTimeout;
 
+  private final int writeBatchSize;
+  private final int writeBatchDelay;
+  private final WriteBatchMetrics writeBatchMetrics;
+
   /**
    * Constructs a messaging transport.
    *
@@ -111,6 +108,9 @@ public final class NettyMessagingTransport implements Transport {
    * @param numberOfTries the number of tries of connection
    * @param retryTimeout  the timeout of reconnection
    * @param tcpPortProvider  gives an iterator that produces random tcp ports in a range
+   * @param writeBatchSize  the maximum number of messages a link coalesces into a single flush
+   * @param writeBatchDelay the time in microseconds a partially filled write batch may wait before it is flushed
+   * @param transportOptions the event loop sizing, channel implementation and socket options
    */
   @Inject
   private NettyMessagingTransport(
@@ -121,7 +121,10 @@ public final class NettyMessagingTransport implements Transport {
       @Parameter(RemoteConfiguration.NumberOfTries.class) final int numberOfTries,
       @Parameter(RemoteConfiguration.RetryTimeout.class) final int retryTimeout,
       final TcpPortProvider tcpPortProvider,
-      final LocalAddressProvider localAddressProvider) {
+      final LocalAddressProvider localAddressProvider,
+      @Parameter(RemoteConfiguration.WriteBatchSize.class) final int writeBatchSize,
+      @Parameter(RemoteConfiguration.WriteBatchDelay.class) final int writeBatchDelay,
+      final NettyTransportOptions transportOptions) {
 
     int p = port;
     if (p < 0) {
@@ -130,34 +133,45 @@ public final class NettyMessagingTransport implements Transport {
 
     final String host = UNKNOWN_HOST_NAME.equals(hostAddress) ? localAddressProvider.getLocalAddress() : hostAddress;
 
+    if (writeBatchSize < 1) {
+      throw new RemoteRuntimeException("Invalid write batch size: " + writeBatchSize);
+    }
+
+    if (writeBatchDelay < 0) {
+      throw new RemoteRuntimeException("Invalid write batch delay: " + writeBatchDelay);
+    }
+
     this.numberOfTries = numberOfTries;
     this.retryTimeout = retryTimeout;
+    this.writeBatchSize = writeBatchSize;
+    this.writeBatchDelay = writeBatchDelay;
+    this.writeBatchMetrics = new WriteBatchMetrics(writeBatchSize);
     this.clientEventListener = new NettyClientEventListener(this.addrToLinkRefMap, clientStage);
-    this.serverEventListener = new NettyServerEventListener(this.addrToLinkRefMap, serverStage);
+    this.serverEventListener = new NettyServerEventListener(this.addrToLinkRefMap, serverStage,
+        writeBatchSize, writeBatchDelay, this.writeBatchMetrics);
 
-    this.serverBossGroup = new NioEventLoopGroup(SERVER_BOSS_NUM_THREADS,
-        new DefaultThreadFactory(CLASS_NAME + ":ServerBoss"));
-    this.serverWorkerGroup = new NioEventLoopGroup(SERVER_WORKER_NUM_THREADS,
-        new DefaultThreadFactory(CLASS_NAME + ":ServerWorker"));
-    this.clientWorkerGroup = new NioEventLoopGroup(CLIENT_WORKER_NUM_THREADS,
-        new DefaultThreadFactory(CLASS_NAME + ":ClientWorker"));
+    LOG.log(Level.FINE, "Transport options: {0}", transportOptions);
 
-    this.clientBootstrap = new Bootstrap();
+    this.serverBossGroup = transportOptions.newServerBossGroup(CLASS_NAME);
+    this.serverWorkerGroup = transportOptions.newServerWorkerGroup(CLASS_NAME);
+    this.clientWorkerGroup = transportOptions.newClientWorkerGroup(CLASS_NAME);
+
+    this.clientBootstrap = transportOptions.configure(new Bootstrap());
     this.clientBootstrap.group(this.clientWorkerGroup)
-        .channel(NioSocketChannel.class)
         .handler(new NettyChannelInitializer(new NettyDefaultChannelHandlerFactory("client",
             this.clientChannelGroup, this.clientEventListener)))
         .option(ChannelOption.SO_REUSEADDR, true)
-        .option(ChannelOption.SO_KEEPALIVE, true);
+        .option(ChannelOption.SO_KEEPALIVE, true)
+        .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
 
-    this.serverBootstrap = new ServerBootstrap();
+    this.serverBootstrap = transportOptions.configure(new ServerBootstrap());
     this.serverBootstrap.group(this.serverBossGroup, this.serverWorkerGroup)
-        .channel(NioServerSocketChannel.class)
         .childHandler(new NettyChannelInitializer(new NettyDefaultChannelHandlerFactory("server",
             this.serverChannelGroup, this.serverEventListener)))
         .option(ChannelOption.SO_BACKLOG, 128)
         .option(ChannelOption.SO_REUSEADDR, true)
-        .childOption(ChannelOption.SO_KEEPALIVE, true);
+        .childOption(ChannelOption.SO_KEEPALIVE, true)
+        .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
 
     LOG.log(Level.FINE, "Binding to {0}", p);
 
@@ -311,7 +325,9 @@ public final class NettyMessagingTransport implements Transport {
         connectFuture = this.clientBootstrap.connect(remoteAddr);
         connectFuture.syncUninterruptibly();
 
-        link = new NettyLink<>(connectFuture.channel(), encoder, listener);
+        final NettyWriteCoalescer coalescer = this.writeBatchSize > 1 ? new NettyWriteCoalescer(
+            connectFuture.channel(), this.writeBatchSize, this.writeBatchDelay, this.writeBatchMetrics) : null;
+        link = new NettyLink<>(connectFuture.channel(), encoder, listener, coalescer);
         linkRef.setLink(link);
 
         synchronized (flag) {
@@ -355,6 +371,16 @@ public final class NettyMessagingTransport implements Transport {
     return linkRef != null ? (Link<T>) linkRef.getLink() : null;
   }
 
+  /**
+   * Gets the metrics of the write batching done by the links of this transport.
+   * The metrics are only updated when the write batch size is greater than 1.
+   *
+   * @return the write batch metrics
+   */
+  public WriteBatchMetrics getWriteBatchMetrics() {
+    return this.writeBatchMetrics;
+  }
+
   /**
    * Gets a server local socket address of this transport.
    *
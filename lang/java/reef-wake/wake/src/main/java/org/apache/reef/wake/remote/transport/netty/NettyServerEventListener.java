@@ -25,6 +25,7 @@ import org.apache.reef.wake.remote.impl.ByteCodec;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 
@@ -33,10 +34,20 @@ import java.util.logging.Level;
  */
 final class NettyServerEventListener extends AbstractNettyEventListener {
 
+  private final int writeBatchSize;
+  private final int writeBatchDelay;
+  private final WriteBatchMetrics writeBatchMetrics;
+
   NettyServerEventListener(
       final ConcurrentMap<SocketAddress, LinkReference> addrToLinkRefMap,
-      final EStage<TransportEvent> stage) {
+      final EStage<TransportEvent> stage,
+      final int writeBatchSize,
+      final int writeBatchDelay,
+      final WriteBatchMetrics writeBatchMetrics) {
     super(addrToLinkRefMap, stage);
+    this.writeBatchSize = writeBatchSize;
+    this.writeBatchDelay = writeBatchDelay;
+    this.writeBatchMetrics = writeBatchMetrics;
   }
 
 
@@ -48,17 +59,20 @@ final class NettyServerEventListener extends AbstractNettyEventListener {
       LOG.log(Level.FINEST, "Channel active. key: {0}", channel.remoteAddress());
     }
 
+    final NettyWriteCoalescer coalescer = writeBatchSize > 1 ?
+        new NettyWriteCoalescer(channel, writeBatchSize, writeBatchDelay, writeBatchMetrics) : null;
     this.addrToLinkRefMap.putIfAbsent(
         channel.remoteAddress(), new LinkReference(new NettyLink<>(
-            channel, new ByteCodec(), new LoggingLinkListener<byte[]>())));
+            channel, new ByteCodec(), new LoggingLinkListener<byte[]>(), coalescer)));
 
     LOG.log(Level.FINER, "Add connected channel ref: {0}", this.addrToLinkRefMap.get(channel.remoteAddress()));
 
   }
 
   @Override
-  protected TransportEvent getTransportEvent(final byte[] message, final Channel channel) {
-    return new TransportEvent(message, new NettyLink<>(channel, new ByteEncoder()));
+  protected TransportEvent getTransportEvent(
+      final ByteBuffer[] message, final Runnable releaser, final Channel channel) {
+    return new TransportEvent(message, new NettyLink<>(channel, new ByteEncoder()), releaser);
   }
 
   @Override
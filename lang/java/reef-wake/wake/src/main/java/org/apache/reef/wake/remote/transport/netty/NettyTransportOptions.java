@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+import org.apache.reef.wake.remote.RemoteConfiguration;
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+
+import javax.inject.Inject;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Event loop sizing, channel implementation and socket options of a Netty messaging transport.
+ * Uses the native epoll transport when it is requested and available, and NIO otherwise.
+ */
+final class NettyTransportOptions {
+
+  private static final Logger LOG = Logger.getLogger(NettyTransportOptions.class.getName());
+
+  private final int serverBossThreads;
+  private final int serverWorkerThreads;
+  private final int clientWorkerThreads;
+  private final boolean useEpoll;
+  private final boolean tcpNoDelay;
+  private final int sendBufferSize;
+  private final int receiveBufferSize;
+
+  /**
+   * @param serverBossThreads   the number of threads accepting connections
+   * @param serverWorkerThreads the number of threads serving accepted connections; 0 derives it from the cores
+   * @param clientWorkerThreads the number of threads serving outgoing connections; 0 derives it from the cores
+   * @param nativeTransport     whether to use the native epoll transport when it is available
+   * @param tcpNoDelay          whether to disable Nagle's algorithm
+   * @param sendBufferSize      the socket send buffer size; 0 keeps the operating system default
+   * @param receiveBufferSize   the socket receive buffer size; 0 keeps the operating system default
+   */
+  @Inject
+  NettyTransportOptions(
+      @Parameter(RemoteConfiguration.ServerBossThreads.class) final int serverBossThreads,
+      @Parameter(RemoteConfiguration.ServerWorkerThreads.class) final int serverWorkerThreads,
+      @Parameter(RemoteConfiguration.ClientWorkerThreads.class) final int clientWorkerThreads,
+      @Parameter(RemoteConfiguration.NativeTransport.class) final boolean nativeTransport,
+      @Parameter(RemoteConfiguration.TcpNoDelay.class) final boolean tcpNoDelay,
+      @Parameter(RemoteConfiguration.SendBufferSize.class) final int sendBufferSize,
+      @Parameter(RemoteConfiguration.ReceiveBufferSize.class) final int receiveBufferSize) {
+
+    if (serverBossThreads < 1) {
+      throw new RemoteRuntimeException("Invalid number of server boss threads: " + serverBossThreads);
+    }
+    if (serverWorkerThreads < 0) {
+      throw new RemoteRuntimeException("Invalid number of server worker threads: " + serverWorkerThreads);
+    }
+    if (clientWorkerThreads < 0) {
+      throw new RemoteRuntimeException("Invalid number of client worker threads: " + clientWorkerThreads);
+    }
+    if (sendBufferSize < 0) {
+      throw new RemoteRuntimeException("Invalid send buffer size: " + sendBufferSize);
+    }
+    if (receiveBufferSize < 0) {
+      throw new RemoteRuntimeException("Invalid receive buffer size: " + receiveBufferSize);
+    }
+
+    final int processors = Runtime.getRuntime().availableProcessors();
+    this.serverBossThreads = serverBossThreads;
+    this.serverWorkerThreads = serverWorkerThreads == 0 ? 2 * processors : serverWorkerThreads;
+    this.clientWorkerThreads = clientWorkerThreads == 0 ? processors : clientWorkerThreads;
+    this.tcpNoDelay = tcpNoDelay;
+    this.sendBufferSize = sendBufferSize;
+    this.receiveBufferSize = receiveBufferSize;
+
+    if (nativeTransport && !Epoll.isAvailable()) {
+      LOG.log(Level.WARNING, "Native epoll transport is not available, falling back to NIO",
+          Epoll.unavailabilityCause());
+    }
+    this.useEpoll = nativeTransport && Epoll.isAvailable();
+  }
+
+  /**
+   * @return true if the transport runs on the native epoll transport
+   */
+  boolean isNative() {
+    return this.useEpoll;
+  }
+
+  /**
+   * @param namePrefix the prefix of the thread names
+   * @return a new event loop group accepting connections
+   */
+  EventLoopGroup newServerBossGroup(final String namePrefix) {
+    return newEventLoopGroup(this.serverBossThreads, namePrefix + ":ServerBoss");
+  }
+
+  /**
+   * @param namePrefix the prefix of the thread names
+   * @return a new event loop group serving accepted connections
+   */
+  EventLoopGroup newServerWorkerGroup(final String namePrefix) {
+    return newEventLoopGroup(this.serverWorkerThreads, namePrefix + ":ServerWorker");
+  }
+
+  /**
+   * @param namePrefix the prefix of the thread names
+   * @return a new event loop group serving outgoing connections
+   */
+  EventLoopGroup newClientWorkerGroup(final String namePrefix) {
+    return newEventLoopGroup(this.clientWorkerThreads, namePrefix + ":ClientWorker");
+  }
+
+  /**
+   * Sets the channel implementation and socket options of a client bootstrap.
+   *
+   * @param bootstrap the bootstrap to configure
+   * @return the given bootstrap
+   */
+  Bootstrap configure(final Bootstrap bootstrap) {
+    final Class<? extends SocketChannel> channelClass =
+        this.useEpoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    bootstrap.channel(channelClass).option(ChannelOption.TCP_NODELAY, this.tcpNoDelay);
+    if (this.sendBufferSize > 0) {
+      bootstrap.option(ChannelOption.SO_SNDBUF, this.sendBufferSize);
+    }
+    if (this.receiveBufferSize > 0) {
+      bootstrap.option(ChannelOption.SO_RCVBUF, this.receiveBufferSize);
+    }
+    return bootstrap;
+  }
+
+  /**
+   * Sets the channel implementation and accepted socket options of a server bootstrap.
+   * The receive buffer size is also set on the listening socket so that it applies to the TCP window
+   * negotiated during the handshake.
+   *
+   * @param bootstrap the bootstrap to configure
+   * @return the given bootstrap
+   */
+  ServerBootstrap configure(final ServerBootstrap bootstrap) {
+    final Class<? extends ServerChannel> channelClass =
+        this.useEpoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    bootstrap.channel(channelClass).childOption(ChannelOption.TCP_NODELAY, this.tcpNoDelay);
+    if (this.sendBufferSize > 0) {
+      bootstrap.childOption(ChannelOption.SO_SNDBUF, this.sendBufferSize);
+    }
+    if (this.receiveBufferSize > 0) {
+      bootstrap.option(ChannelOption.SO_RCVBUF, this.receiveBufferSize);
+      bootstrap.childOption(ChannelOption.SO_RCVBUF, this.receiveBufferSize);
+    }
+    return bootstrap;
+  }
+
+  private EventLoopGroup newEventLoopGroup(final int numThreads, final String name) {
+    final DefaultThreadFactory threadFactory = new DefaultThreadFactory(name);
+    return this.useEpoll ?
+        new EpollEventLoopGroup(numThreads, threadFactory) :
+        new NioEventLoopGroup(numThreads, threadFactory);
+  }
+
+  @Override
+  public String toString() {
+    return "NettyTransportOptions{native=" + this.useEpoll +
+        ", serverBossThreads=" + this.serverBossThreads +
+        ", serverWorkerThreads=" + this.serverWorkerThreads +
+        ", clientWorkerThreads=" + this.clientWorkerThreads +
+        ", tcpNoDelay=" + this.tcpNoDelay +
+        ", sendBufferSize=" + this.sendBufferSize +
+        ", receiveBufferSize=" + this.receiveBufferSize + '}';
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the writes to a channel into batches that share a single flush.
+ * <p>
+ * A batch is flushed when it reaches the maximum batch size, when the maximum delay expires,
+ * or, without a delay, once the channel's event loop has processed the writes queued before it.
+ * All batching state is confined to the channel's event loop, so no locking is needed.
+ */
+final class NettyWriteCoalescer {
+
+  private final Channel channel;
+  private final int maxBatchSize;
+  private final long maxDelayMicros;
+  private final WriteBatchMetrics metrics;
+
+  private int pendingWrites = 0;
+  private boolean flushScheduled = false;
+  private ScheduledFuture<?> delayedFlush = null;
+
+  private final Runnable flushTask = new Runnable() {
+    @Override
+    public void run() {
+      flushScheduled = false;
+      delayedFlush = null;
+      flush();
+    }
+  };
+
+  /**
+   * Constructs a write coalescer.
+   *
+   * @param channel        the channel
+   * @param maxBatchSize   the maximum number of writes per flush
+   * @param maxDelayMicros the maximum delay in microseconds before a partial batch is flushed
+   * @param metrics        the metrics to update on every flush
+   */
+  NettyWriteCoalescer(final Channel channel, final int maxBatchSize, final long maxDelayMicros,
+                      final WriteBatchMetrics metrics) {
+    this.channel = channel;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayMicros = maxDelayMicros;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Writes the message to the channel as part of the current batch.
+   *
+   * @param msg the message
+   * @return a future that completes when the message has been written
+   */
+  ChannelFuture write(final Object msg) {
+    final ChannelPromise promise = channel.newPromise();
+    final EventLoop eventLoop = channel.eventLoop();
+    if (eventLoop.inEventLoop()) {
+      writeInEventLoop(msg, promise);
+    } else {
+      try {
+        eventLoop.execute(new Runnable() {
+          @Override
+          public void run() {
+            writeInEventLoop(msg, promise);
+          }
+        });
+      } catch (final RejectedExecutionException e) {
+        promise.setFailure(e);
+      }
+    }
+    return promise;
+  }
+
+  private void writeInEventLoop(final Object msg, final ChannelPromise promise) {
+    channel.write(msg, promise);
+    ++pendingWrites;
+    if (pendingWrites >= maxBatchSize) {
+      flush();
+      if (delayedFlush != null) {
+        // The delay of the next batch starts with its first write, not with a write of this one.
+        delayedFlush.cancel(false);
+        delayedFlush = null;
+        flushScheduled = false;
+      }
+    } else if (!flushScheduled) {
+      flushScheduled = true;
+      if (maxDelayMicros > 0) {
+        delayedFlush = channel.eventLoop().schedule(flushTask, maxDelayMicros, TimeUnit.MICROSECONDS);
+      } else {
+        channel.eventLoop().execute(flushTask);
+      }
+    }
+  }
+
+  private void flush() {
+    if (pendingWrites > 0) {
+      channel.flush();
+      metrics.onFlush(pendingWrites);
+      pendingWrites = 0;
+    }
+  }
+}
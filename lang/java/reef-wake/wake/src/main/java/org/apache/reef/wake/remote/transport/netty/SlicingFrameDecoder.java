@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * Length field based frame decoder that hands out retained slices of the read buffer
+ * instead of copying every frame into a new buffer.
+ * <p>
+ * The frames keep the read buffer alive until they are released. The base class
+ * replaces its cumulation buffer rather than writing into a buffer that is still referenced.
+ */
+final class SlicingFrameDecoder extends LengthFieldBasedFrameDecoder {
+
+  /**
+   * Constructs a frame decoder for frames with a 4-byte length field at offset 0 that is stripped.
+   *
+   * @param maxFrameLength the maximum length of a frame
+   */
+  SlicingFrameDecoder(final int maxFrameLength) {
+    super(maxFrameLength, 0, 4, 0, 4);
+  }
+
+  @Override
+  protected ByteBuf extractFrame(final ChannelHandlerContext ctx, final ByteBuf buffer,
+                                 final int index, final int length) {
+    return buffer.slice(index, length).retain();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import java.io.InputStream;
+
+/**
+ * A message written to a channel by streaming it from an input stream.
+ */
+final class StreamedMessage {
+
+  private final InputStream stream;
+  private final int length;
+
+  /**
+   * @param stream the stream to read the message from
+   * @param length the size of the message in bytes
+   */
+  StreamedMessage(final InputStream stream, final int length) {
+    this.stream = stream;
+    this.length = length;
+  }
+
+  InputStream getStream() {
+    return stream;
+  }
+
+  int getLength() {
+    return length;
+  }
+
+  @Override
+  public String toString() {
+    return "StreamedMessage{length=" + length + '}';
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import org.apache.reef.wake.metrics.Histogram;
+import org.apache.reef.wake.metrics.UniformHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the write batching done by the links of a messaging transport.
+ */
+public final class WriteBatchMetrics {
+
+  private final AtomicLong messageCount = new AtomicLong();
+  private final AtomicLong flushCount = new AtomicLong();
+  private final Histogram batchSizes;
+
+  /**
+   * Constructs write batch metrics.
+   *
+   * @param maxBatchSize the maximum number of messages in a batch
+   */
+  WriteBatchMetrics(final int maxBatchSize) {
+    this.batchSizes = new UniformHistogram(1, maxBatchSize + 1);
+  }
+
+  /**
+   * Records a flush of a batch.
+   *
+   * @param batchSize the number of messages flushed
+   */
+  void onFlush(final int batchSize) {
+    messageCount.addAndGet(batchSize);
+    flushCount.incrementAndGet();
+    batchSizes.update(batchSize);
+  }
+
+  /**
+   * Gets the number of messages flushed.
+   *
+   * @return the number of messages
+   */
+  public long getMessageCount() {
+    return messageCount.get();
+  }
+
+  /**
+   * Gets the number of flushes.
+   *
+   * @return the number of flushes
+   */
+  public long getFlushCount() {
+    return flushCount.get();
+  }
+
+  /**
+   * Gets the average number of messages per flush.
+   *
+   * @return the average batch size
+   */
+  public double getAverageBatchSize() {
+    final long flushes = getFlushCount();
+    return flushes == 0 ? 0.0 : (double) getMessageCount() / flushes;
+  }
+
+  /**
+   * Gets the histogram of batch sizes; bin i counts the flushes of i messages.
+   *
+   * @return the batch size histogram
+   */
+  public Histogram getBatchSizeHistogram() {
+    return batchSizes;
+  }
+
+  @Override
+  public String toString() {
+    return "WriteBatchMetrics: messages=" + getMessageCount() + " flushes=" + getFlushCount()
+        + " avgBatchSize=" + getAverageBatchSize();
+  }
+}
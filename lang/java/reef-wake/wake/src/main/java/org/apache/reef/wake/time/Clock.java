@@ -119,4 +119,28 @@ public interface Clock extends Runnable, AutoCloseable {
   @NamedParameter(default_class = LoggingEventHandler.class, doc = "Will be called upon the Idle event")
   class IdleHandler implements Name<Set<EventHandler<IdleClock>>> {
   }
+
+  /**
+   * The number of threads that run the due alarms. With 0, the alarms run on the clock thread.
+   */
+  @NamedParameter(default_value = "0",
+      doc = "The number of threads that run the due alarms. With 0, the alarms run on the clock thread.")
+  class AlarmDispatchThreads implements Name<Integer> {
+  }
+
+  /**
+   * The maximum number of due alarms that wait for a dispatch thread; the clock thread blocks beyond it.
+   */
+  @NamedParameter(default_value = "1024",
+      doc = "The maximum number of due alarms that wait for a dispatch thread; the clock thread blocks beyond it.")
+  class AlarmDispatchQueueCapacity implements Name<Integer> {
+  }
+
+  /**
+   * Whether the alarms with the same event handler run one at a time, in the order they became due.
+   */
+  @NamedParameter(default_value = "true",
+      doc = "Whether the alarms with the same event handler run one at a time, in the order they became due.")
+  class OrderedAlarmDispatch implements Name<Boolean> {
+  }
 }
@@ -34,6 +34,13 @@ public abstract class Alarm extends Time implements Runnable {
     this.handler = handler;
   }
 
+  /**
+   * @return the event handler to invoke.
+   */
+  public final EventHandler<Alarm> getHandler() {
+    return this.handler;
+  }
+
   /**
    * Invoke the event handler and pass a reference to self as a parameter.
    */
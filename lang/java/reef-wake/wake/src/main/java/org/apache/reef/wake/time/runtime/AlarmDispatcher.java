@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.time.runtime;
+
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+import org.apache.reef.wake.time.event.Alarm;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the due alarms of a {@link RuntimeClock} on a bounded pool of worker threads,
+ * so that a slow alarm handler does not delay the other timers of the process.
+ * <p>
+ * In the ordered mode, the alarms of the same event handler run one at a time, in the order they became due;
+ * the alarms of other handlers are not held up by them.
+ * At most {@code capacity} alarms wait for a worker; beyond that, the clock thread blocks until one starts.
+ * The alarms that wait for an earlier alarm of the same handler do not count against the capacity,
+ * so a blocked handler cannot stall the clock thread and the alarms of the other handlers.
+ */
+final class AlarmDispatcher {
+
+  private static final Logger LOG = Logger.getLogger(AlarmDispatcher.class.getName());
+
+  private final ExecutorService executor;
+
+  /**
+   * Permits for the alarms that have been handed to the executor but have not started yet.
+   */
+  private final Semaphore room;
+
+  private final boolean ordered;
+
+  /**
+   * The alarms that wait for an earlier alarm of the same handler to finish.
+   * A handler has an entry while one of its alarms is queued or running. Guarded by itself.
+   */
+  private final Map<EventHandler<Alarm>, Queue<Runnable>> backlogs = new HashMap<>();
+
+  /**
+   * @param numThreads the number of worker threads
+   * @param capacity   the maximum number of due alarms that wait for a worker
+   * @param ordered    whether the alarms of the same handler must run one at a time, in order
+   */
+  AlarmDispatcher(final int numThreads, final int capacity, final boolean ordered) {
+    if (numThreads <= 0) {
+      throw new IllegalArgumentException("Number of alarm dispatch threads must be positive: " + numThreads);
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Alarm dispatch queue capacity must be positive: " + capacity);
+    }
+    this.executor = Executors.newFixedThreadPool(numThreads,
+        new DefaultThreadFactory(RuntimeClock.class.getSimpleName()));
+    this.room = new Semaphore(capacity);
+    this.ordered = ordered;
+    LOG.log(Level.FINE, "Alarm dispatch: {0} threads, capacity {1}, ordered {2}",
+        new Object[] {numThreads, capacity, ordered});
+  }
+
+  /**
+   * Hands the alarm off to a worker thread.
+   * Blocks while the maximum number of alarms are waiting for a worker.
+   *
+   * @param alarm the due alarm
+   * @param task  the task that runs the alarm
+   * @throws RejectedExecutionException if the dispatcher is closed
+   */
+  void dispatch(final Alarm alarm, final Runnable task) {
+    final EventHandler<Alarm> handler = this.ordered ? alarm.getHandler() : null;
+    if (handler != null) {
+      synchronized (this.backlogs) {
+        final Queue<Runnable> backlog = this.backlogs.get(handler);
+        if (backlog != null) {
+          backlog.add(task);
+          return;
+        }
+        this.backlogs.put(handler, new ArrayDeque<Runnable>());
+      }
+    }
+    this.room.acquireUninterruptibly();
+    try {
+      this.executor.execute(new Dispatch(handler, task, true));
+    } catch (final RejectedExecutionException e) {
+      this.room.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Stops the workers.
+   *
+   * @param discardPending whether the alarms that have not started yet are dropped
+   */
+  void close(final boolean discardPending) {
+    if (discardPending) {
+      this.executor.shutdownNow();
+    } else {
+      this.executor.shutdown();
+    }
+  }
+
+  /**
+   * Runs the next alarm of the handler, if any.
+   */
+  private void next(final EventHandler<Alarm> handler) {
+    final Runnable task;
+    synchronized (this.backlogs) {
+      task = this.backlogs.get(handler).poll();
+      if (task == null) {
+        this.backlogs.remove(handler);
+        return;
+      }
+    }
+    // A worker must not block on the capacity, so the alarm only takes a permit if one is free.
+    final boolean permit = this.room.tryAcquire();
+    try {
+      this.executor.execute(new Dispatch(handler, task, permit));
+    } catch (final RejectedExecutionException e) {
+      if (permit) {
+        this.room.release();
+      }
+      LOG.log(Level.FINE, "Alarm dispatcher is closed; dropping the pending alarms of {0}", handler);
+    }
+  }
+
+  /**
+   * An alarm on its way to a worker thread.
+   */
+  private final class Dispatch implements Runnable {
+
+    private final EventHandler<Alarm> handler;
+    private final Runnable task;
+    private final boolean permit;
+
+    /**
+     * @param handler the handler to run the next alarm of, or null if the dispatch is not ordered
+     * @param task    the task that runs the alarm
+     * @param permit  whether the alarm holds a permit of the capacity
+     */
+    Dispatch(final EventHandler<Alarm> handler, final Runnable task, final boolean permit) {
+      this.handler = handler;
+      this.task = task;
+      this.permit = permit;
+    }
+
+    @Override
+    public void run() {
+      if (this.permit) {
+        room.release();
+      }
+      try {
+        this.task.run();
+      } finally {
+        if (this.handler != null) {
+          next(this.handler);
+        }
+      }
+    }
+  }
+}
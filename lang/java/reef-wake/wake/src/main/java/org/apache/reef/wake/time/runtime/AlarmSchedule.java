@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.time.runtime;
+
+import org.apache.reef.wake.time.Time;
+
+import java.util.TreeSet;
+
+/**
+ * The schedule of a {@link RuntimeClock}: a queue of timed events in ascending order of their timestamps,
+ * with a single consumer that waits for the first event to be due.
+ * <p>
+ * Events with equal timestamps are taken in the order they were added.
+ * Adding an event only wakes the consumer up if the event becomes the first one.
+ */
+final class AlarmSchedule {
+
+  private final TreeSet<Entry> entries = new TreeSet<>();
+
+  /**
+   * Orders the events with equal timestamps.
+   */
+  private long sequence = 0;
+
+  /**
+   * Adds an event to the schedule.
+   *
+   * @param time the event
+   */
+  synchronized void add(final Time time) {
+    final Entry entry = new Entry(time, sequence++);
+    entries.add(entry);
+    if (entries.first() == entry) {
+      this.notify();
+    }
+  }
+
+  /**
+   * Removes the first event from the schedule, if any.
+   *
+   * @return the removed event, or null if the schedule is empty
+   */
+  synchronized Time poll() {
+    final Entry entry = entries.pollFirst();
+    return entry == null ? null : entry.time;
+  }
+
+  /**
+   * Waits until the first event of the schedule is due according to the timer, and removes it.
+   * Only one thread at a time may call it.
+   *
+   * @param timer the timer that tells when an event is due
+   * @return the first event
+   * @throws InterruptedException if the thread is interrupted while it waits
+   */
+  synchronized Time take(final Timer timer) throws InterruptedException {
+    while (true) {
+      if (entries.isEmpty()) {
+        this.wait();
+      } else {
+        final Entry first = entries.first();
+        final long waitDuration = timer.getDuration(first.time);
+        if (waitDuration <= 0) {
+          entries.pollFirst();
+          return first.time;
+        }
+        this.wait(waitDuration);
+      }
+    }
+  }
+
+  synchronized boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  /**
+   * An event and its position among the events with the same timestamp.
+   */
+  private static final class Entry implements Comparable<Entry> {
+
+    private final Time time;
+    private final long sequence;
+
+    Entry(final Time time, final long sequence) {
+      this.time = time;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(final Entry other) {
+      final int cmp = Long.compare(time.getTimestamp(), other.time.getTimestamp());
+      return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (other == null || getClass() != other.getClass()) {
+        return false;
+      }
+      final Entry that = (Entry) other;
+      return time.getTimestamp() == that.time.getTimestamp() && sequence == that.sequence;
+    }
+
+    @Override
+    public int hashCode() {
+      final long timestamp = time.getTimestamp();
+      return 31 * (int) (timestamp ^ (timestamp >>> 32)) + (int) (sequence ^ (sequence >>> 32));
+    }
+  }
+}
@@ -22,6 +22,8 @@ import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.impl.PubSubEventHandler;
+import org.apache.reef.wake.metrics.Histogram;
+import org.apache.reef.wake.metrics.LogHistogram;
 import org.apache.reef.wake.time.Clock;
 import org.apache.reef.wake.time.Time;
 import org.apache.reef.wake.time.event.Alarm;
@@ -31,7 +33,9 @@ import org.apache.reef.wake.time.runtime.event.*;
 
 import javax.inject.Inject;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,6 +45,11 @@ import java.util.logging.Logger;
  * After invoking `RuntimeStart` and `StartTime` events initially,
  * this invokes scheduled events on time. If there is no scheduled event,
  * `IdleClock` event is invoked.
+ *
+ * By default, the alarms run on the clock thread. With a positive number of
+ * `AlarmDispatchThreads`, the due alarms are handed off to a bounded pool of
+ * worker threads instead, so that a slow alarm handler does not delay the
+ * other timers; the clock thread then only keeps time.
  */
 public final class RuntimeClock implements Clock {
 
@@ -54,10 +63,10 @@ public final class RuntimeClock implements Clock {
   private final Timer timer;
 
   /**
-   * An ordered set of timed objects, in ascending order of their timestamps.
-   * It also serves as the main synchronization monitor for the class.
+   * A queue of timed objects, in ascending order of their timestamps.
+   * Objects with equal timestamps are processed in the order they were scheduled.
    */
-  private final TreeSet<Time> schedule = new TreeSet<>();
+  private final AlarmSchedule schedule = new AlarmSchedule();
 
   /** Event handlers - populated with the injectable parameters provided to the RuntimeClock constructor. */
   private final PubSubEventHandler<Time> handlers = new PubSubEventHandler<>();
@@ -72,19 +81,34 @@ public final class RuntimeClock implements Clock {
    * Timestamp of the last client alarm in the schedule.
    * We use it to schedule a graceful shutdown event immediately after all client alarms.
    */
-  private long lastClientAlarm = 0;
+  private final AtomicLong lastClientAlarm = new AtomicLong(0);
 
   /**
    * Number of client alarms in the schedule.
    * We need it to determine whether event loop is idle (i.e. has no client alarms scheduled)
    */
-  private int numClientAlarms = 0;
+  private final AtomicInteger numClientAlarms = new AtomicInteger(0);
 
   /** Set to true when the clock is closed. */
-  private boolean isClosed = false;
+  private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+  /** Set to true when the clock is stopped without waiting for the client alarms. */
+  private volatile boolean isStopped = false;
 
   /** Exception that caused the clock to stop. */
-  private Throwable exceptionCausedStop = null;
+  private volatile Throwable exceptionCausedStop = null;
+
+  /** Runs the due alarms on worker threads; null if they run on the clock thread. */
+  private final AlarmDispatcher dispatcher;
+
+  /**
+   * Number of client alarms that were handed off to the dispatcher and have not finished yet.
+   * The clock is not idle and does not stop gracefully while there are any.
+   */
+  private final AtomicInteger numRunningAlarms = new AtomicInteger(0);
+
+  /** Milliseconds between the timestamp of an alarm and the moment its handler is invoked. */
+  private final LogHistogram alarmLateness = new LogHistogram();
 
   @Inject
   private RuntimeClock(
@@ -98,7 +122,10 @@ public final class RuntimeClock implements Clock {
       @Parameter(Clock.RuntimeStopHandler.class)
           final InjectionFuture<Set<EventHandler<RuntimeStop>>> runtimeStopHandler,
       @Parameter(Clock.IdleHandler.class)
-          final InjectionFuture<Set<EventHandler<IdleClock>>> idleHandler) {
+          final InjectionFuture<Set<EventHandler<IdleClock>>> idleHandler,
+      @Parameter(Clock.AlarmDispatchThreads.class) final int numDispatchThreads,
+      @Parameter(Clock.AlarmDispatchQueueCapacity.class) final int dispatchQueueCapacity,
+      @Parameter(Clock.OrderedAlarmDispatch.class) final boolean orderedDispatch) {
 
     this.timer = timer;
     this.startHandler = startHandler;
@@ -106,6 +133,8 @@ public final class RuntimeClock implements Clock {
     this.runtimeStartHandler = runtimeStartHandler;
     this.runtimeStopHandler = runtimeStopHandler;
     this.idleHandler = idleHandler;
+    this.dispatcher = numDispatchThreads > 0 ?
+        new AlarmDispatcher(numDispatchThreads, dispatchQueueCapacity, orderedDispatch) : null;
 
     LOG.log(Level.FINE, "RuntimeClock instantiated.");
   }
@@ -123,34 +152,25 @@ public final class RuntimeClock implements Clock {
 
     final Time alarm = new ClientAlarm(this.timer.getCurrent() + offset, handler);
 
-    if (LOG.isLoggable(Level.FINEST)) {
-
-      final int eventQueueLen;
-      synchronized (this.schedule) {
-        eventQueueLen = this.numClientAlarms;
-      }
-
-      LOG.log(Level.FINEST,
-          "Schedule alarm: {0} Outstanding client alarms: {1}",
-          new Object[] {alarm, eventQueueLen});
+    if (this.isClosed.get()) {
+      throw new IllegalStateException("Scheduling alarm on a closed clock");
     }
 
-    synchronized (this.schedule) {
-
-      if (this.isClosed) {
-        throw new IllegalStateException("Scheduling alarm on a closed clock");
-      }
-
-      if (alarm.getTimestamp() > this.lastClientAlarm) {
-        this.lastClientAlarm = alarm.getTimestamp();
+    // An alarm that races with close() may still be added after the clock is closed;
+    // the event loop then postpones the graceful shutdown until the alarm has fired.
+    for (long last = this.lastClientAlarm.get(); alarm.getTimestamp() > last;
+         last = this.lastClientAlarm.get()) {
+      if (this.lastClientAlarm.compareAndSet(last, alarm.getTimestamp())) {
+        break;
       }
+    }
 
-      assert this.numClientAlarms >= 0;
-      ++this.numClientAlarms;
+    final int eventQueueLen = this.numClientAlarms.incrementAndGet();
+    this.schedule.add(alarm);
 
-      this.schedule.add(alarm);
-      this.schedule.notify();
-    }
+    LOG.log(Level.FINEST,
+        "Schedule alarm: {0} Outstanding client alarms: {1}",
+        new Object[] {alarm, eventQueueLen});
 
     return alarm;
   }
@@ -175,28 +195,26 @@ public final class RuntimeClock implements Clock {
 
     LOG.entering(CLASS_NAME, "stop");
 
-    synchronized (this.schedule) {
-
-      if (this.isClosed) {
-        LOG.log(Level.FINEST, "Clock has already been closed");
-        return;
-      }
+    if (!this.isClosed.compareAndSet(false, true)) {
+      LOG.log(Level.FINEST, "Clock has already been closed");
+      return;
+    }
 
-      this.isClosed = true;
-      this.exceptionCausedStop = exception;
+    this.isStopped = true;
+    this.exceptionCausedStop = exception;
 
-      final Time stopEvent = new StopTime(this.timer.getCurrent());
-      LOG.log(Level.FINE,
-          "Stop scheduled immediately: {0} Outstanding client alarms: {1}",
-          new Object[] {stopEvent, this.numClientAlarms});
+    for (Time event = this.schedule.poll(); event != null; event = this.schedule.poll()) {
+      if (event instanceof ClientAlarm) {
+        this.numClientAlarms.decrementAndGet();
+      }
+    }
 
-      assert this.numClientAlarms >= 0;
-      this.numClientAlarms = 0;
+    final Time stopEvent = new StopTime(this.timer.getCurrent());
+    LOG.log(Level.FINE,
+        "Stop scheduled immediately: {0} Outstanding client alarms: {1}",
+        new Object[] {stopEvent, this.numClientAlarms.get()});
 
-      this.schedule.clear();
-      this.schedule.add(stopEvent);
-      this.schedule.notify();
-    }
+    this.schedule.add(stopEvent);
 
     LOG.exiting(CLASS_NAME, "stop");
   }
@@ -209,23 +227,17 @@ public final class RuntimeClock implements Clock {
 
     LOG.entering(CLASS_NAME, "close");
 
-    synchronized (this.schedule) {
-
-      if (this.isClosed) {
-        LOG.exiting(CLASS_NAME, "close", "Clock has already been closed");
-        return;
-      }
-
-      this.isClosed = true;
+    if (!this.isClosed.compareAndSet(false, true)) {
+      LOG.exiting(CLASS_NAME, "close", "Clock has already been closed");
+      return;
+    }
 
-      final Time stopEvent = new StopTime(Math.max(this.timer.getCurrent(), this.lastClientAlarm + 1));
-      LOG.log(Level.FINE,
-          "Graceful shutdown scheduled: {0} Outstanding client alarms: {1}",
-          new Object[] {stopEvent, this.numClientAlarms});
+    final Time stopEvent = newGracefulStopTime();
+    LOG.log(Level.FINE,
+        "Graceful shutdown scheduled: {0} Outstanding client alarms: {1}",
+        new Object[] {stopEvent, this.numClientAlarms.get()});
 
-      this.schedule.add(stopEvent);
-      this.schedule.notify();
-    }
+    this.schedule.add(stopEvent);
 
     LOG.exiting(CLASS_NAME, "close");
   }
@@ -236,10 +248,16 @@ public final class RuntimeClock implements Clock {
    */
   @Override
   public boolean isIdle() {
-    synchronized (this.schedule) {
-      assert this.numClientAlarms >= 0;
-      return this.numClientAlarms == 0;
-    }
+    return this.numClientAlarms.get() == 0 && this.numRunningAlarms.get() == 0;
+  }
+
+  /**
+   * The lateness of the alarms: the number of milliseconds between the timestamp of an alarm
+   * and the moment its event handler is invoked. Includes the time a dispatched alarm waits for a worker.
+   * @return histogram of the alarm lateness.
+   */
+  public Histogram getAlarmLateness() {
+    return this.alarmLateness;
   }
 
   /**
@@ -250,9 +268,14 @@ public final class RuntimeClock implements Clock {
    */
   @Override
   public boolean isClosed() {
-    synchronized (this.schedule) {
-      return this.isClosed;
-    }
+    return this.isClosed.get();
+  }
+
+  /**
+   * @return a stop event right after the last client alarm, or now if that is later.
+   */
+  private Time newGracefulStopTime() {
+    return new StopTime(Math.max(this.timer.getCurrent(), this.lastClientAlarm.get() + 1));
   }
 
   /**
@@ -294,6 +317,9 @@ public final class RuntimeClock implements Clock {
       LOG.log(Level.FINE, "Initiate start time");
       this.handlers.onNext(new StartTime(this.timer.getCurrent()));
 
+      // A graceful stop that waits for the dispatched alarms to finish.
+      Time deferredStop = null;
+
       while (true) {
 
         LOG.log(Level.FINEST, "Enter clock main loop.");
@@ -301,40 +327,42 @@ public final class RuntimeClock implements Clock {
         try {
 
           if (this.isIdle()) {
-            // Handle an idle clock event, without locking this.schedule
+            // Handle an idle clock event
             this.handlers.onNext(new IdleClock(this.timer.getCurrent()));
           }
 
-          final Time event;
-          final int eventQueueLen;
-          synchronized (this.schedule) {
+          // Wait until the first scheduled time is ready, and remove the event from the schedule.
+          // An alarm scheduled with a shorter duration in the meantime becomes the first one.
+          Time event = this.schedule.take(this.timer);
 
-            while (this.schedule.isEmpty()) {
-              this.schedule.wait();
+          if (event instanceof DispatchDone) {
+            // The last dispatched alarm has finished: resume the deferred stop, or check for idleness.
+            if (deferredStop == null) {
+              continue;
             }
+            event = deferredStop;
+            deferredStop = null;
+          }
 
-            assert this.schedule.first() != null;
-
-            // Wait until the first scheduled time is ready.
-            // NOTE: while waiting, another alarm could be scheduled with a shorter duration
-            // so the next time I go around the loop I need to revise my duration.
-            while (true) {
-              final long waitDuration = this.timer.getDuration(this.schedule.first());
-              if (waitDuration <= 0) {
-                break;
-              }
-              this.schedule.wait(waitDuration);
+          if (event instanceof ClientAlarm) {
+            if (this.dispatcher != null) {
+              this.numRunningAlarms.incrementAndGet();
             }
+            this.numClientAlarms.decrementAndGet();
+          }
 
-            // Remove the event from the schedule and process it:
-            event = this.schedule.pollFirst();
-
-            if (event instanceof ClientAlarm) {
-              --this.numClientAlarms;
-              assert this.numClientAlarms >= 0;
+          final int eventQueueLen = this.numClientAlarms.get();
+          if (event instanceof StopTime && !this.isStopped) {
+            if (eventQueueLen > 0) {
+              // Client alarms were scheduled while the clock was being closed: process them first.
+              this.schedule.add(newGracefulStopTime());
+              continue;
+            }
+            if (this.numRunningAlarms.get() > 0) {
+              // Dispatched alarms can still schedule new ones: wait for them to finish.
+              deferredStop = event;
+              continue;
             }
-
-            eventQueueLen = this.numClientAlarms;
           }
 
           assert event != null;
@@ -342,7 +370,10 @@ public final class RuntimeClock implements Clock {
           LOG.log(Level.FINER,
               "Process event: {0} Outstanding client alarms: {1}", new Object[] {event, eventQueueLen});
 
-          if (event instanceof Alarm) {
+          if (event instanceof ClientAlarm && this.dispatcher != null) {
+            this.dispatcher.dispatch((Alarm) event, new DispatchedAlarm((Alarm) event));
+          } else if (event instanceof Alarm) {
+            this.recordLateness((Alarm) event);
             ((Alarm) event).run();
           } else {
             this.handlers.onNext(event);
@@ -364,9 +395,58 @@ public final class RuntimeClock implements Clock {
       this.handlers.onNext(new RuntimeStop(this.timer.getCurrent(), e));
 
     } finally {
-      LOG.log(Level.FINE, "Runtime clock exit");
+      if (this.dispatcher != null) {
+        this.dispatcher.close(this.isStopped);
+      }
+      LOG.log(Level.FINE, "Runtime clock exit. Alarm lateness: p50 {0} ms, p99 {1} ms, {2} alarms",
+          new Object[] {this.alarmLateness.getValueAtPercentile(50), this.alarmLateness.getValueAtPercentile(99),
+              this.alarmLateness.getCount()});
     }
 
     LOG.exiting(CLASS_NAME, "run");
   }
+
+  private void recordLateness(final Alarm alarm) {
+    this.alarmLateness.update(Math.max(0, this.timer.getCurrent() - alarm.getTimestamp()));
+  }
+
+  /**
+   * Runs a client alarm on a dispatch thread.
+   * An exception in the alarm handler stops the clock, as it does on the clock thread.
+   */
+  private final class DispatchedAlarm implements Runnable {
+
+    private final Alarm alarm;
+
+    DispatchedAlarm(final Alarm alarm) {
+      this.alarm = alarm;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:illegalcatch")
+    public void run() {
+      try {
+        recordLateness(this.alarm);
+        this.alarm.run();
+      } catch (final Throwable t) {
+        LOG.log(Level.SEVERE, "Error in alarm " + this.alarm, t);
+        stop(t);
+      } finally {
+        if (numRunningAlarms.decrementAndGet() == 0) {
+          schedule.add(new DispatchDone(timer.getCurrent()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Wakes the clock thread up after the last dispatched alarm has finished,
+   * so that it can fire the IdleClock event or complete a graceful stop.
+   */
+  private static final class DispatchDone extends Time {
+
+    DispatchDone(final long timestamp) {
+      super(timestamp);
+    }
+  }
 }
@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.StageConfiguration;
+import org.apache.reef.wake.impl.LoggingEventHandler;
+import org.apache.reef.wake.impl.OverflowPolicy;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the overflow policies of a thread pool stage with a bounded queue.
+ */
+public class BoundedThreadPoolStageTest {
+
+  private static final int CAPACITY = 2;
+
+  @Test
+  public void testReject() throws Exception {
+    final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Integer> overflowed = Collections.synchronizedList(new ArrayList<Integer>());
+    final GatedHandler handler = new GatedHandler(handled);
+
+    try (final ThreadPoolStage<Integer> stage = new ThreadPoolStage<>("reject", handler, 1, CAPACITY,
+        OverflowPolicy.REJECT, new ListHandler(overflowed))) {
+      fill(stage, handler);
+      stage.onNext(3);
+      stage.onNext(4);
+
+      Assert.assertEquals(Arrays.asList(3, 4), overflowed);
+      Assert.assertEquals(2, stage.getOverflowCount());
+      Assert.assertEquals(CAPACITY, stage.getQueueLength());
+      Assert.assertEquals(CAPACITY, stage.getCapacity());
+
+      handler.open();
+      awaitSize(handled, 3);
+      Assert.assertEquals(Arrays.asList(0, 1, 2), handled);
+      awaitIdle(stage);
+    }
+  }
+
+  @Test
+  public void testDropOldest() throws Exception {
+    final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Integer> overflowed = Collections.synchronizedList(new ArrayList<Integer>());
+    final GatedHandler handler = new GatedHandler(handled);
+
+    try (final ThreadPoolStage<Integer> stage = new ThreadPoolStage<>("dropOldest", handler, 1, CAPACITY,
+        OverflowPolicy.DROP_OLDEST, new ListHandler(overflowed))) {
+      fill(stage, handler);
+      stage.onNext(3);
+      stage.onNext(4);
+
+      Assert.assertEquals(Arrays.asList(1, 2), overflowed);
+      Assert.assertEquals(2, stage.getOverflowCount());
+
+      handler.open();
+      awaitSize(handled, 3);
+      Assert.assertEquals(Arrays.asList(0, 3, 4), handled);
+      awaitIdle(stage);
+    }
+  }
+
+  @Test
+  public void testBlock() throws Exception {
+    final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Integer> overflowed = Collections.synchronizedList(new ArrayList<Integer>());
+    final GatedHandler handler = new GatedHandler(handled);
+
+    try (final ThreadPoolStage<Integer> stage = new ThreadPoolStage<>("block", handler, 1, CAPACITY,
+        OverflowPolicy.BLOCK, new ListHandler(overflowed))) {
+      fill(stage, handler);
+
+      final CountDownLatch sent = new CountDownLatch(1);
+      final Thread producer = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          stage.onNext(3);
+          sent.countDown();
+        }
+      });
+      producer.start();
+
+      Assert.assertFalse("producer should wait for room", sent.await(200, TimeUnit.MILLISECONDS));
+      handler.open();
+      Assert.assertTrue(sent.await(10, TimeUnit.SECONDS));
+      producer.join();
+
+      awaitSize(handled, 4);
+      Assert.assertEquals(Arrays.asList(0, 1, 2, 3), handled);
+      Assert.assertTrue(overflowed.isEmpty());
+      Assert.assertEquals(0, stage.getOverflowCount());
+    }
+  }
+
+  @Test
+  public void testMetersBalancedOnReject() throws Exception {
+    checkMetersBalanced(OverflowPolicy.REJECT, new ListHandler(new ArrayList<Integer>()));
+  }
+
+  @Test
+  public void testMetersBalancedOnDropOldest() throws Exception {
+    checkMetersBalanced(OverflowPolicy.DROP_OLDEST, new ListHandler(new ArrayList<Integer>()));
+  }
+
+  @Test
+  public void testMetersBalancedOnRejectWithFailingOverflowHandler() throws Exception {
+    checkMetersBalanced(OverflowPolicy.REJECT, new FailingHandler());
+  }
+
+  @Test
+  public void testMetersBalancedOnDropOldestWithFailingOverflowHandler() throws Exception {
+    checkMetersBalanced(OverflowPolicy.DROP_OLDEST, new FailingHandler());
+  }
+
+  @Test
+  public void testInjection() throws Exception {
+    for (final OverflowPolicy policy : OverflowPolicy.values()) {
+      final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+      final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+          .bindNamedParameter(StageConfiguration.StageName.class, "injected-" + policy)
+          .bindNamedParameter(StageConfiguration.NumberOfThreads.class, "1")
+          .bindNamedParameter(StageConfiguration.Capacity.class, "16")
+          .bindNamedParameter(StageConfiguration.QueueOverflowPolicy.class, policy.name())
+          .build());
+      injector.bindVolatileParameter(StageConfiguration.StageHandler.class, new ListHandler(handled));
+      injector.bindVolatileParameter(StageConfiguration.ErrorHandler.class, new LoggingEventHandler<Throwable>());
+      injector.bindVolatileParameter(StageConfiguration.OverflowHandler.class,
+          new ListHandler(new ArrayList<Integer>()));
+
+      try (final ThreadPoolStage<Integer> stage = injector.getInstance(IntegerStage.class).stage) {
+        Assert.assertEquals(16, stage.getCapacity());
+        Assert.assertEquals(policy, stage.getOverflowPolicy());
+        stage.onNext(1);
+        awaitSize(handled, 1);
+        Assert.assertEquals(Collections.singletonList(1), handled);
+      }
+    }
+  }
+
+  @Test
+  public void testInjectionDefaults() throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(StageConfiguration.StageName.class, "injected")
+        .bindNamedParameter(StageConfiguration.NumberOfThreads.class, "1")
+        .bindNamedParameter(StageConfiguration.Capacity.class, "16")
+        .build());
+    injector.bindVolatileParameter(StageConfiguration.StageHandler.class,
+        new ListHandler(new ArrayList<Integer>()));
+    injector.bindVolatileParameter(StageConfiguration.ErrorHandler.class, new LoggingEventHandler<Throwable>());
+
+    try (final ThreadPoolStage<?> stage = injector.getInstance(ThreadPoolStage.class)) {
+      Assert.assertEquals(16, stage.getCapacity());
+      Assert.assertEquals(OverflowPolicy.BLOCK, stage.getOverflowPolicy());
+    }
+  }
+
+  /**
+   * Overflows a stage with the given policy and checks that every event that entered the stage
+   * left it exactly once, whether it was handled, rejected, or dropped.
+   */
+  private static void checkMetersBalanced(final OverflowPolicy policy, final EventHandler<Integer> overflowHandler)
+      throws Exception {
+    final List<Integer> handled = Collections.synchronizedList(new ArrayList<Integer>());
+    final GatedHandler handler = new GatedHandler(handled);
+
+    try (final ThreadPoolStage<Integer> stage = new ThreadPoolStage<>(policy.name(), handler, 1, CAPACITY,
+        policy, overflowHandler)) {
+      fill(stage, handler);
+      for (int i = CAPACITY + 1; i < CAPACITY + 5; ++i) {
+        try {
+          stage.onNext(i);
+        } catch (final IllegalStateException e) {
+          // only the rejected event's own producer sees the failure of the overflow handler
+          Assert.assertEquals(OverflowPolicy.REJECT, policy);
+        }
+      }
+      Assert.assertEquals(4, stage.getOverflowCount());
+      Assert.assertEquals(CAPACITY + 5, stage.getInMeter().getCount());
+      Assert.assertEquals(4, stage.getOutMeter().getCount());
+
+      handler.open();
+      awaitIdle(stage);
+      Assert.assertEquals(stage.getInMeter().getCount(), stage.getOutMeter().getCount());
+    }
+  }
+
+  /**
+   * Sends event 0, waits for the stage thread to start handling it, and queues events 1 and 2.
+   */
+  private static void fill(final ThreadPoolStage<Integer> stage, final GatedHandler handler)
+      throws InterruptedException {
+    stage.onNext(0);
+    Assert.assertTrue(handler.awaitStarted());
+    for (int i = 1; i <= CAPACITY; ++i) {
+      stage.onNext(i);
+    }
+  }
+
+  private static void awaitSize(final List<Integer> list, final int size) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (list.size() < size && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static void awaitIdle(final ThreadPoolStage<Integer> stage) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (stage.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(0, stage.getActiveCount());
+  }
+
+  private static final class FailingHandler implements EventHandler<Integer> {
+
+    @Override
+    public void onNext(final Integer value) {
+      throw new IllegalStateException("Overflow of " + value);
+    }
+  }
+
+  private static final class ListHandler implements EventHandler<Integer> {
+
+    private final List<Integer> list;
+
+    ListHandler(final List<Integer> list) {
+      this.list = list;
+    }
+
+    @Override
+    public void onNext(final Integer value) {
+      list.add(value);
+    }
+  }
+
+  /**
+   * Records events, blocking on the first one until opened.
+   */
+  private static final class GatedHandler implements EventHandler<Integer> {
+
+    private final List<Integer> handled;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    GatedHandler(final List<Integer> handled) {
+      this.handled = handled;
+    }
+
+    boolean awaitStarted() throws InterruptedException {
+      return started.await(10, TimeUnit.SECONDS);
+    }
+
+    void open() {
+      gate.countDown();
+    }
+
+    @Override
+    public void onNext(final Integer value) {
+      started.countDown();
+      try {
+        gate.await();
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      handled.add(value);
+    }
+  }
+
+  /**
+   * Holds an injected stage of Integer events.
+   */
+  static final class IntegerStage {
+
+    private final ThreadPoolStage<Integer> stage;
+
+    @Inject
+    IntegerStage(final ThreadPoolStage<Integer> stage) {
+      this.stage = stage;
+    }
+  }
+}
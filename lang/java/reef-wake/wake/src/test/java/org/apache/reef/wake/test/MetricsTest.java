@@ -20,11 +20,17 @@ package org.apache.reef.wake.test;
 
 
 import org.apache.reef.wake.metrics.Histogram;
+import org.apache.reef.wake.metrics.LogHistogram;
+import org.apache.reef.wake.metrics.Meter;
+import org.apache.reef.wake.metrics.StripedCounter;
 import org.apache.reef.wake.metrics.UniformHistogram;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -52,4 +58,72 @@ public class MetricsTest {
       histogram.getValue(i);
     }
   }
+
+  @Test
+  public void testLogHistogram() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final LogHistogram histogram = new LogHistogram();
+    Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+    for (long value = 1; value <= 100000; ++value) {
+      histogram.update(value);
+    }
+    histogram.update(-1);
+    Assert.assertEquals(100001, histogram.getCount());
+    Assert.assertEquals(1, histogram.getValue(0));
+
+    long sum = 0;
+    for (int i = 0; i < histogram.getNumBins(); ++i) {
+      sum += histogram.getValue(i);
+      if (i > 0) {
+        Assert.assertEquals(histogram.getUpperBound(i - 1) + 1, histogram.getLowerBound(i));
+      }
+    }
+    Assert.assertEquals(histogram.getCount(), sum);
+    Assert.assertEquals(Long.MAX_VALUE, histogram.getUpperBound(histogram.getNumBins() - 1));
+
+    assertWithin(50000, histogram.getValueAtPercentile(50), 0.125);
+    assertWithin(99000, histogram.getValueAtPercentile(99), 0.125);
+    assertWithin(100000, histogram.getValueAtPercentile(100), 0.125);
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final int numThreads = 8;
+    final int numUpdates = 100000;
+    final StripedCounter counter = new StripedCounter();
+    final Meter meter = new Meter("concurrent");
+    final LogHistogram histogram = new LogHistogram();
+
+    final List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < numThreads; ++t) {
+      final Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < numUpdates; ++i) {
+            counter.increment();
+            meter.mark(1);
+            histogram.update(i);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(numThreads * numUpdates, counter.sum());
+    Assert.assertEquals(numThreads * numUpdates, meter.getCount());
+    Assert.assertEquals(numThreads * numUpdates, histogram.getCount());
+    Assert.assertTrue(meter.getMeanThp() > 0);
+  }
+
+  private static void assertWithin(final long expected, final long actual, final double relativeError) {
+    Assert.assertTrue("expected " + expected + " but was " + actual,
+        Math.abs(actual - expected) <= expected * relativeError);
+  }
 }
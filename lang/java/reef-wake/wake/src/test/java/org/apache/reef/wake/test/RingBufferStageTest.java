@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.StageConfiguration;
+import org.apache.reef.wake.impl.MpscRingBuffer;
+import org.apache.reef.wake.impl.RingBufferStage;
+import org.apache.reef.wake.impl.WaitStrategy;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for the lock-free ring buffer and the stage built on it.
+ */
+public class RingBufferStageTest {
+
+  private static final String LOG_PREFIX = "TEST ";
+
+  private static final int NUM_PRODUCERS = 4;
+  private static final int EVENTS_PER_PRODUCER = 100000;
+
+  @Rule
+  public TestName name = new TestName();
+
+  @Test
+  public void testRingBufferCapacity() {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+    Assert.assertEquals(4, buffer.capacity());
+    Assert.assertTrue(buffer.isEmpty());
+    Assert.assertNull(buffer.poll());
+
+    for (int i = 0; i < 4; ++i) {
+      Assert.assertTrue(buffer.offer(i));
+    }
+    Assert.assertFalse(buffer.offer(4));
+    Assert.assertEquals(4, buffer.size());
+
+    for (int round = 0; round < 10; ++round) {
+      Assert.assertEquals(Integer.valueOf(round), buffer.poll());
+      Assert.assertTrue(buffer.offer(round + 4));
+    }
+    for (int i = 10; i < 14; ++i) {
+      Assert.assertEquals(Integer.valueOf(i), buffer.poll());
+    }
+    Assert.assertTrue(buffer.isEmpty());
+  }
+
+  @Test
+  public void testRingBufferKeepsProducerOrder() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+    final List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < NUM_PRODUCERS; ++p) {
+      final int producer = p;
+      producers.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < EVENTS_PER_PRODUCER; ++i) {
+            final long[] event = {producer, i};
+            while (!buffer.offer(event)) {
+              Thread.yield();
+            }
+          }
+        }
+      }));
+    }
+    for (final Thread producer : producers) {
+      producer.start();
+    }
+
+    final long[] next = new long[NUM_PRODUCERS];
+    for (int received = 0; received < NUM_PRODUCERS * EVENTS_PER_PRODUCER;) {
+      final long[] event = buffer.poll();
+      if (event == null) {
+        Thread.yield();
+        continue;
+      }
+      Assert.assertEquals(next[(int) event[0]]++, event[1]);
+      ++received;
+    }
+    for (final Thread producer : producers) {
+      producer.join();
+    }
+    Assert.assertTrue(buffer.isEmpty());
+  }
+
+  @Test
+  public void testStageWaitStrategies() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    for (final WaitStrategy waitStrategy : WaitStrategy.values()) {
+      final AtomicLong sum = new AtomicLong();
+      final CountDownLatch done = new CountDownLatch(NUM_PRODUCERS * EVENTS_PER_PRODUCER);
+      final RingBufferStage<Integer> stage = new RingBufferStage<>(waitStrategy.name(),
+          new EventHandler<Integer>() {
+            @Override
+            public void onNext(final Integer value) {
+              sum.addAndGet(value);
+              done.countDown();
+            }
+          }, 16, waitStrategy, 8);
+
+      final List<Thread> producers = new ArrayList<>();
+      for (int p = 0; p < NUM_PRODUCERS; ++p) {
+        producers.add(new Thread(new Runnable() {
+          @Override
+          public void run() {
+            for (int i = 0; i < EVENTS_PER_PRODUCER; ++i) {
+              stage.onNext(1);
+            }
+          }
+        }));
+      }
+      for (final Thread producer : producers) {
+        producer.start();
+      }
+      Assert.assertTrue(waitStrategy + " timed out", done.await(60, TimeUnit.SECONDS));
+      for (final Thread producer : producers) {
+        producer.join();
+      }
+      stage.close();
+
+      Assert.assertEquals(NUM_PRODUCERS * EVENTS_PER_PRODUCER, sum.get());
+      Assert.assertEquals(NUM_PRODUCERS * EVENTS_PER_PRODUCER, stage.getInMeter().getCount());
+      Assert.assertEquals(0, stage.getQueueLength());
+    }
+  }
+
+  @Test
+  public void testCloseProcessesQueuedEvents() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final AtomicLong count = new AtomicLong();
+    final RingBufferStage<Integer> stage = new RingBufferStage<>(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        count.incrementAndGet();
+      }
+    }, 1024);
+
+    for (int i = 0; i < 1000; ++i) {
+      stage.onNext(i);
+    }
+    stage.close();
+    Assert.assertEquals(1000, count.get());
+  }
+
+  @Test
+  public void testInjection() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final CountDownLatch done = new CountDownLatch(1);
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(StageConfiguration.StageName.class, "injected");
+    injector.bindVolatileParameter(StageConfiguration.StageHandler.class, new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        done.countDown();
+      }
+    });
+    injector.bindVolatileParameter(StageConfiguration.Capacity.class, 8);
+    injector.bindVolatileParameter(StageConfiguration.QueueWaitStrategy.class, WaitStrategy.YIELD);
+    final RingBufferStage<Integer> stage = injector.getInstance(IntegerStage.class).stage;
+
+    stage.onNext(1);
+    Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    stage.close();
+  }
+
+  /**
+   * Holds an injected stage, typed by its constructor parameter.
+   */
+  static final class IntegerStage {
+
+    private final RingBufferStage<Integer> stage;
+
+    @Inject
+    IntegerStage(final RingBufferStage<Integer> stage) {
+      this.stage = stage;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test;
+
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.WakeParameters;
+import org.apache.reef.wake.impl.StageMetricsReporter;
+import org.apache.reef.wake.impl.SyncStage;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.metrics.StageMetrics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the queue and service time metrics of stages.
+ */
+public class StageMetricsTest {
+
+  private static final long SLEEP_MILLIS = 5;
+
+  @Test
+  public void testQueueAndServiceTime() throws Exception {
+    final int numEvents = 10;
+    final CountDownLatch handled = new CountDownLatch(numEvents);
+
+    try (final StageMetricsReporter reporter = newReporter(1);
+         final ThreadPoolStage<Integer> stage =
+             new ThreadPoolStage<>("metricsStage", new SleepingHandler(handled), 1)) {
+      Assert.assertEquals(1, stage.getMetrics().getSampleInterval());
+      for (int i = 0; i < numEvents; ++i) {
+        stage.onNext(i);
+      }
+      Assert.assertTrue(handled.await(10, TimeUnit.SECONDS));
+      awaitCount(stage.getMetrics(), numEvents);
+
+      final StageMetrics metrics = stage.getMetrics();
+      Assert.assertEquals(numEvents, metrics.getQueueTime().getCount());
+      Assert.assertTrue(metrics.getServiceTime().getValueAtPercentile(50) >=
+          TimeUnit.MILLISECONDS.toNanos(SLEEP_MILLIS));
+      // the last event waits for the nine events before it
+      Assert.assertTrue(metrics.getQueueTime().getValueAtPercentile(100) >=
+          TimeUnit.MILLISECONDS.toNanos(SLEEP_MILLIS * (numEvents - 1)));
+
+      boolean reported = false;
+      for (final String line : StageMetricsReporter.report()) {
+        reported |= line.startsWith("metricsStage: in " + numEvents + " out " + numEvents);
+      }
+      Assert.assertTrue(reported);
+    }
+  }
+
+  @Test
+  public void testSampling() throws Exception {
+    final CountDownLatch handled = new CountDownLatch(Integer.MAX_VALUE);
+    try (final SyncStage<Integer> stage = new SyncStage<>("unsampled", new SleepingHandler(handled))) {
+      Assert.assertEquals(0, stage.getMetrics().getSampleInterval());
+      stage.onNext(1);
+      Assert.assertEquals(0, stage.getMetrics().getServiceTime().getCount());
+
+      stage.getMetrics().setSampleInterval(1);
+      stage.onNext(2);
+      Assert.assertEquals(1, stage.getMetrics().getServiceTime().getCount());
+      Assert.assertEquals(0, stage.getMetrics().getQueueTime().getCount());
+    }
+  }
+
+  @Test
+  public void testReporterSetsSampleInterval() throws Exception {
+    final CountDownLatch handled = new CountDownLatch(Integer.MAX_VALUE);
+    try (final SyncStage<Integer> before = new SyncStage<>("beforeReporter", new SleepingHandler(handled))) {
+      try (final StageMetricsReporter reporter = newReporter(4)) {
+        Assert.assertEquals(4, before.getMetrics().getSampleInterval());
+      }
+      try (final SyncStage<Integer> after = new SyncStage<>("afterReporter", new SleepingHandler(handled))) {
+        Assert.assertEquals(0, after.getMetrics().getSampleInterval());
+      }
+    }
+  }
+
+  private static StageMetricsReporter newReporter(final int sampleInterval) throws Exception {
+    return Tang.Factory.getTang().newInjector(
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindNamedParameter(WakeParameters.StageMetricsSampleInterval.class, "" + sampleInterval)
+            .bindNamedParameter(WakeParameters.StageMetricsReportPeriod.class, "0")
+            .build())
+        .getInstance(StageMetricsReporter.class);
+  }
+
+  /**
+   * The service time is recorded after the handler returns, so it may trail the handled events a little.
+   */
+  private static void awaitCount(final StageMetrics metrics, final int count) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (metrics.getServiceTime().getCount() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static final class SleepingHandler implements EventHandler<Integer> {
+
+    private final CountDownLatch handled;
+
+    SleepingHandler(final CountDownLatch handled) {
+      this.handled = handled;
+    }
+
+    @Override
+    public void onNext(final Integer value) {
+      try {
+        Thread.sleep(SLEEP_MILLIS);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      handled.countDown();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.StageConfiguration;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.impl.VirtualThreadExecutorService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for running stage handlers on virtual threads.
+ */
+public class VirtualThreadExecutorServiceTest {
+
+  @Test
+  public void testBlockingHandlers() throws Exception {
+    final int numEvents = 200;
+    final CountDownLatch handled = new CountDownLatch(numEvents);
+    final EventHandler<Integer> handler = new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        try {
+          Thread.sleep(50);
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        handled.countDown();
+      }
+    };
+
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(StageConfiguration.StageName.class, "virtual")
+        .bindNamedParameter(StageConfiguration.StageExecutorService.class, VirtualThreadExecutorService.class)
+        .build());
+    injector.bindVolatileParameter(StageConfiguration.StageHandler.class, handler);
+
+    final ExecutorService executor = injector.getNamedInstance(StageConfiguration.StageExecutorService.class);
+    Assert.assertEquals(VirtualThreadExecutorService.isSupported(),
+        ((VirtualThreadExecutorService) executor).isVirtual());
+
+    try (final ThreadPoolStage<Integer> stage = injector.getInstance(IntegerStage.class).stage) {
+      for (int i = 0; i < numEvents; ++i) {
+        stage.onNext(i);
+      }
+      // every handler blocks at the same time, so this takes about one sleep
+      Assert.assertTrue(handled.await(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+  }
+
+  /**
+   * Lets Tang inject a stage of Integer events without a raw type.
+   */
+  static final class IntegerStage {
+
+    private final ThreadPoolStage<Integer> stage;
+
+    @Inject
+    IntegerStage(final ThreadPoolStage<Integer> stage) {
+      this.stage = stage;
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.reef.wake.impl.TimerStage;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.StreamLink;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.TransportFactory;
 import org.apache.reef.wake.test.util.Monitor;
@@ -39,6 +40,8 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.util.logging.Level;
 
@@ -112,6 +115,133 @@ public class LargeMsgTest {
     timer.close();
   }
 
+  @Test
+  public void testStreamedWrite() throws Exception {
+    LoggingUtils.setLoggingLevel(Level.FINE);
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 60000, 60000);
+
+    final int length = 96 << 20;
+
+    final EStage<TransportEvent> clientStage = new ThreadPoolStage<>("client1",
+        new LoggingEventHandler<TransportEvent>(), 1, new LoggingEventHandler<Throwable>());
+    final StreamHandler handler = new StreamHandler(monitor);
+    final EStage<TransportEvent> serverStage = new RetainingStage(new ThreadPoolStage<>("server@7001",
+        handler, 1, new LoggingEventHandler<Throwable>()));
+
+    final String hostAddress = this.localAddressProvider.getLocalAddress();
+    final Transport transport = tpFactory.newInstance(hostAddress, 0, clientStage, serverStage, 1, 10000);
+    final int port = transport.getListeningPort();
+    final Link<byte[]> link = transport.open(new InetSocketAddress(hostAddress, port), new PassThroughEncoder(), null);
+    final PatternStream stream = new PatternStream(length);
+    ((StreamLink<byte[]>) link).write(stream, length);
+
+    monitor.mwait();
+
+    transport.close();
+    clientStage.close();
+    serverStage.close();
+    timer.close();
+
+    Assert.assertTrue(stream.closed);
+    Assert.assertEquals(length, handler.received);
+  }
+
+  /**
+   * Generates the bytes of a message of the given length without holding them in memory.
+   */
+  private static final class PatternStream extends InputStream {
+
+    private final int length;
+    private int position = 0;
+    private volatile boolean closed = false;
+
+    PatternStream(final int length) {
+      this.length = length;
+    }
+
+    static int valueAt(final long index) {
+      return (int) (index * 31 % 251);
+    }
+
+    @Override
+    public int read() {
+      return position < length ? valueAt(position++) : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+      if (position == length) {
+        return -1;
+      }
+      final int n = Math.min(len, length - position);
+      for (int i = 0; i < n; ++i) {
+        b[off + i] = (byte) valueAt(position++);
+      }
+      return n;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  /**
+   * Retains the transport buffer of each event before handing it to another thread.
+   */
+  private static final class RetainingStage implements EStage<TransportEvent> {
+
+    private final EStage<TransportEvent> stage;
+
+    RetainingStage(final EStage<TransportEvent> stage) {
+      this.stage = stage;
+    }
+
+    @Override
+    public void onNext(final TransportEvent value) {
+      value.retain();
+      stage.onNext(value);
+    }
+
+    @Override
+    public void close() throws Exception {
+      stage.close();
+    }
+  }
+
+  /**
+   * Checks a streamed message by reading it in place, then releases the event retained by {@link RetainingStage}.
+   */
+  class StreamHandler implements EventHandler<TransportEvent> {
+
+    private final Monitor monitor;
+    private volatile long received = 0;
+
+    StreamHandler(final Monitor monitor) {
+      this.monitor = monitor;
+    }
+
+    @Override
+    public void onNext(final TransportEvent value) {
+      final byte[] chunk = new byte[64 * 1024];
+      long index = 0;
+      try (final InputStream in = value.getInputStream()) {
+        for (int n = in.read(chunk); n >= 0; n = in.read(chunk)) {
+          for (int i = 0; i < n; ++i, ++index) {
+            Assert.assertEquals(PatternStream.valueAt(index), chunk[i] & 0xFF);
+          }
+        }
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      } finally {
+        value.release();
+      }
+      received = index;
+      monitor.mnotify();
+    }
+  }
+
   class ServerHandler implements EventHandler<TransportEvent> {
 
     private final Monitor monitor;
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import org.apache.reef.wake.remote.Codec;
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.impl.MultiCodec;
+import org.apache.reef.wake.remote.impl.ObjectSerializableCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests for the type tags and class names of MultiCodec messages.
+ */
+public class MultiCodecTest {
+
+  @Test
+  public void testTypeTagRoundTrip() {
+    final Codec<Object> codec = newCodec(true, TestEvent.class, TestEvent2.class);
+    final Codec<Object> nameCodec = newCodec(false, TestEvent.class, TestEvent2.class);
+
+    final byte[] tagged = codec.encode(new TestEvent2("hello", 1.0));
+    final Object decoded = codec.decode(tagged);
+    Assert.assertTrue(decoded instanceof TestEvent2);
+    Assert.assertEquals("hello", ((TestEvent2) decoded).getMessage());
+
+    final byte[] named = nameCodec.encode(new TestEvent2("hello", 1.0));
+    Assert.assertTrue("A type tag must be shorter than the class name", tagged.length < named.length);
+  }
+
+  @Test
+  public void testDecodeClassName() {
+    final Codec<Object> codec = newCodec(true, TestEvent.class, TestEvent1.class);
+    final Codec<Object> nameCodec = newCodec(false, TestEvent1.class);
+
+    final Object decoded = codec.decode(nameCodec.encode(new TestEvent1("hello", 1.0)));
+    Assert.assertTrue(decoded instanceof TestEvent1);
+    Assert.assertEquals("hello", ((TestEvent1) decoded).getMessage());
+  }
+
+  @Test(expected = RemoteRuntimeException.class)
+  public void testUnknownTypeTag() {
+    final Codec<Object> sender = newCodec(true, TestEvent1.class);
+    final Codec<Object> receiver = newCodec(true, TestEvent2.class);
+    receiver.decode(sender.encode(new TestEvent1("hello", 1.0)));
+  }
+
+  @SafeVarargs
+  private static Codec<Object> newCodec(final boolean useTypeTags, final Class<? extends TestEvent>... classes) {
+    final Map<Class<?>, Codec<?>> clazzToCodecMap = new HashMap<>();
+    for (final Class<? extends TestEvent> clazz : classes) {
+      clazzToCodecMap.put(clazz, new ObjectSerializableCodec<>());
+    }
+    return new MultiCodec<Object>(clazzToCodecMap, useTypeTags);
+  }
+}
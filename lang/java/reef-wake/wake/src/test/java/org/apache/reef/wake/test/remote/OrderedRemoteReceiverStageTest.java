@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.remote.impl.ByteCodec;
+import org.apache.reef.wake.remote.impl.OrderedRemoteReceiverStage;
+import org.apache.reef.wake.remote.impl.RemoteEvent;
+import org.apache.reef.wake.remote.impl.RemoteEventCodec;
+import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the per-sender ordering of OrderedRemoteReceiverStage.
+ */
+public class OrderedRemoteReceiverStageTest {
+
+  private static final InetSocketAddress LOCAL = new InetSocketAddress("localhost", 1);
+  private static final InetSocketAddress SENDER1 = new InetSocketAddress("localhost", 2);
+  private static final InetSocketAddress SENDER2 = new InetSocketAddress("localhost", 3);
+
+  private final RemoteEventCodec<byte[]> codec = new RemoteEventCodec<>(new ByteCodec());
+
+  @Test
+  public void testOutOfOrderEvents() throws Exception {
+    final int numEvents = 6;
+    final CountDownLatch latch = new CountDownLatch(2 * numEvents);
+    final List<Long> received1 = new ArrayList<>();
+    final List<Long> received2 = new ArrayList<>();
+
+    final EventHandler<RemoteEvent<byte[]>> handler = new EventHandler<RemoteEvent<byte[]>>() {
+      @Override
+      public void onNext(final RemoteEvent<byte[]> event) {
+        final List<Long> received = SENDER1.equals(event.remoteAddress()) ? received1 : received2;
+        synchronized (received) {
+          received.add(event.getSeq());
+        }
+        latch.countDown();
+      }
+    };
+
+    try (final OrderedRemoteReceiverStage stage = new OrderedRemoteReceiverStage(handler, null)) {
+      for (final long seq : new long[] {2, 0, 5, 1, 4, 3}) {
+        stage.onNext(newEvent(SENDER1, seq));
+        stage.onNext(newEvent(SENDER2, numEvents - 1 - seq));
+      }
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    final List<Long> expected = Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L);
+    Assert.assertEquals(expected, received1);
+    Assert.assertEquals(expected, received2);
+  }
+
+  @Test
+  public void testHandlerErrorDoesNotStopStream() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    final List<Throwable> errors = new ArrayList<>();
+
+    final EventHandler<RemoteEvent<byte[]>> handler = new EventHandler<RemoteEvent<byte[]>>() {
+      @Override
+      public void onNext(final RemoteEvent<byte[]> event) {
+        latch.countDown();
+        if (event.getSeq() == 0) {
+          throw new IllegalStateException("Test exception");
+        }
+      }
+    };
+    final EventHandler<Throwable> errorHandler = new EventHandler<Throwable>() {
+      @Override
+      public void onNext(final Throwable error) {
+        synchronized (errors) {
+          errors.add(error);
+        }
+      }
+    };
+
+    try (final OrderedRemoteReceiverStage stage = new OrderedRemoteReceiverStage(handler, errorHandler)) {
+      stage.onNext(newEvent(SENDER1, 0));
+      stage.onNext(newEvent(SENDER1, 1));
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    Assert.assertEquals(1, errors.size());
+    Assert.assertTrue(errors.get(0) instanceof IllegalStateException);
+  }
+
+  private TransportEvent newEvent(final InetSocketAddress sender, final long seq) {
+    final byte[] data = codec.encode(new RemoteEvent<>(sender, LOCAL, seq, new byte[] {(byte) seq}));
+    return new TransportEvent(data, LOCAL, sender);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.LoggingEventHandler;
+import org.apache.reef.wake.impl.LoggingUtils;
+import org.apache.reef.wake.impl.TimerStage;
+import org.apache.reef.wake.remote.RemoteManager;
+import org.apache.reef.wake.remote.RemoteManagerFactory;
+import org.apache.reef.wake.remote.RemoteMessage;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.impl.ByteCodec;
+import org.apache.reef.wake.remote.impl.ObjectSerializableCodec;
+import org.apache.reef.wake.remote.impl.RemoteEvent;
+import org.apache.reef.wake.remote.impl.RemoteEventDecoder;
+import org.apache.reef.wake.remote.impl.RemoteEventEncoder;
+import org.apache.reef.wake.remote.ports.TcpPortProvider;
+import org.apache.reef.wake.test.util.Monitor;
+import org.apache.reef.wake.test.util.TimeoutHandler;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * Tests for the ByteBuffer encoding and decoding paths of RemoteEventEncoder and RemoteEventDecoder.
+ */
+public class RemoteEventEncoderTest {
+
+  private final LocalAddressProvider localAddressProvider;
+  private final RemoteManagerFactory remoteManagerFactory;
+
+  public RemoteEventEncoderTest() throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    this.localAddressProvider = injector.getInstance(LocalAddressProvider.class);
+    this.remoteManagerFactory = injector.getInstance(RemoteManagerFactory.class);
+  }
+
+  @Rule
+  public final TestName name = new TestName();
+
+  private static final String LOG_PREFIX = "TEST ";
+
+  @Test
+  public void testByteBufferEncodingMatchesProtocolBuffer() {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final RemoteEventEncoder<byte[]> encoder = new RemoteEventEncoder<>(new ByteCodec());
+    final RemoteEventDecoder<byte[]> decoder = new RemoteEventDecoder<>(new ByteCodec());
+    Assert.assertTrue(encoder.isByteBufferEncoder());
+
+    final long[] seqs = {0, 1, 127, 128, 300, Integer.MAX_VALUE, Long.MAX_VALUE, -1};
+    final int[] sizes = {0, 1, 127, 128, 16384, 70000};
+    for (final long seq : seqs) {
+      for (final int size : sizes) {
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+          data[i] = (byte) (i * 31 + seq);
+        }
+        final RemoteEvent<byte[]> event = new RemoteEvent<>(null, null, seq, data);
+
+        final byte[] expected = encoder.encode(event);
+        final int encodedSize = encoder.getEncodedSize(event);
+        Assert.assertEquals(expected.length, encodedSize);
+
+        // encode at a non-zero offset to check that the position of the buffer is respected
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(encodedSize + 3);
+        buffer.position(3);
+        encoder.encode(event, buffer);
+        Assert.assertEquals(encodedSize + 3, buffer.position());
+
+        final byte[] actual = new byte[encodedSize];
+        buffer.position(3);
+        buffer.get(actual);
+        Assert.assertArrayEquals(expected, actual);
+
+        final RemoteEvent<byte[]> decoded = decoder.decode(actual);
+        Assert.assertEquals(seq, decoded.getSeq());
+        Assert.assertArrayEquals(data, decoded.getEvent());
+
+        buffer.position(3);
+        final RemoteEvent<byte[]> decodedFromBuffer = decoder.decode(buffer);
+        Assert.assertEquals(seq, decodedFromBuffer.getSeq());
+        Assert.assertArrayEquals(data, decodedFromBuffer.getEvent());
+      }
+    }
+  }
+
+  @Test
+  public void testByteBufferDecodingSkipsUnknownFields() {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final byte[] data = {1, 2, 3};
+    final byte[] message = new RemoteEventEncoder<>(new ByteCodec())
+        .encode(new RemoteEvent<>(null, null, 7, data));
+
+    // optional string field 3, as sent by the C# implementation, in front of the known fields
+    final byte[] source = "source".getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer buffer = ByteBuffer.allocate(2 + source.length + message.length);
+    buffer.put((byte) (3 << 3 | 2)).put((byte) source.length).put(source).put(message);
+    buffer.flip();
+
+    final RemoteEvent<byte[]> decoded = new RemoteEventDecoder<>(new ByteCodec()).decode(buffer);
+    Assert.assertEquals(7, decoded.getSeq());
+    Assert.assertArrayEquals(data, decoded.getEvent());
+  }
+
+  @Test(expected = RemoteRuntimeException.class)
+  public void testByteBufferDecodingTruncated() {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final byte[] message = new RemoteEventEncoder<>(new ByteCodec())
+        .encode(new RemoteEvent<>(null, null, 7, new byte[100]));
+    new RemoteEventDecoder<>(new ByteCodec()).decode(ByteBuffer.wrap(message, 0, 50));
+  }
+
+  @Test
+  public void testLegacyEncoderFallback() {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final RemoteEventEncoder<String> encoder = new RemoteEventEncoder<>(new ObjectSerializableCodec<String>());
+    Assert.assertFalse(encoder.isByteBufferEncoder());
+
+    final RemoteEvent<String> event = new RemoteEvent<>(null, null, 42, "hello");
+    final byte[] expected = encoder.encode(event);
+    final ByteBuffer buffer = ByteBuffer.allocate(encoder.getEncodedSize(event));
+    encoder.encode(event, buffer);
+    Assert.assertArrayEquals(expected, buffer.array());
+  }
+
+  @Test
+  public void testRemoteManagerByteBufferEncoding() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 5000, 5000);
+
+    final String hostAddress = localAddressProvider.getLocalAddress();
+    final RemoteManager rm = this.remoteManagerFactory.getInstance(
+        "name", hostAddress, 0, new ByteCodec(), new LoggingEventHandler<Throwable>(), true, 3, 10000,
+        localAddressProvider, Tang.Factory.getTang().newInjector().getInstance(TcpPortProvider.class));
+
+    final int expected = 10;
+    final List<byte[]> received = new CopyOnWriteArrayList<>();
+    rm.registerHandler(byte[].class, new EventHandler<RemoteMessage<byte[]>>() {
+      @Override
+      public void onNext(final RemoteMessage<byte[]> value) {
+        received.add(value.getMessage());
+        if (received.size() == expected) {
+          monitor.mnotify();
+        }
+      }
+    });
+
+    final EventHandler<byte[]> proxyHandler = rm.getHandler(rm.getMyIdentifier(), byte[].class);
+    for (int i = 0; i < expected; i++) {
+      final byte[] data = new byte[1000 * i];
+      Arrays.fill(data, (byte) i);
+      proxyHandler.onNext(data);
+    }
+
+    monitor.mwait();
+    rm.close();
+    timer.close();
+
+    Assert.assertEquals(expected, received.size());
+    for (int i = 0; i < expected; i++) {
+      final byte[] data = new byte[1000 * i];
+      Arrays.fill(data, (byte) i);
+      Assert.assertArrayEquals(data, received.get(i));
+    }
+  }
+}
@@ -42,10 +42,13 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
@@ -114,6 +117,54 @@ public class RemoteManagerTest {
     timer.close();
   }
 
+  @Test
+  public void testRemoteManagerHandlerPrecedenceTest() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Map<Class<?>, Codec<?>> clazzToCodecMap = new HashMap<>();
+    clazzToCodecMap.put(TestEvent1.class, new ObjectSerializableCodec<TestEvent1>());
+    final Codec<?> codec = new MultiCodec<Object>(clazzToCodecMap);
+
+    final String hostAddress = localAddressProvider.getLocalAddress();
+
+    try (final RemoteManager rm = this.remoteManagerFactory.getInstance(
+        "name", hostAddress, 0, codec, new LoggingEventHandler<Throwable>(), false, 3, 10000,
+        localAddressProvider, Tang.Factory.getTang().newInjector().getInstance(TcpPortProvider.class))) {
+
+      final EventHandler<TestEvent1> proxyHandler = rm.getHandler(rm.getMyIdentifier(), TestEvent1.class);
+      final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+      final BlockingQueue<RemoteIdentifier> sources = new LinkedBlockingQueue<>();
+
+      rm.registerHandler(TestEvent1.class, new EventHandler<RemoteMessage<TestEvent1>>() {
+        @Override
+        public void onNext(final RemoteMessage<TestEvent1> value) {
+          sources.add(value.getIdentifier());
+          received.add("type:" + value.getMessage().getMessage());
+        }
+      });
+
+      proxyHandler.onNext(new TestEvent1("first", 0.0));
+      Assert.assertEquals("type:first", received.poll(10, TimeUnit.SECONDS));
+
+      final AutoCloseable sourceSubscription = rm.registerHandler(sources.take(), TestEvent1.class,
+          new EventHandler<TestEvent1>() {
+            @Override
+            public void onNext(final TestEvent1 value) {
+              received.add("source:" + value.getMessage());
+            }
+          });
+
+      // the handler for the source and message type takes precedence over the one for the message type
+      proxyHandler.onNext(new TestEvent1("second", 0.0));
+      Assert.assertEquals("source:second", received.poll(10, TimeUnit.SECONDS));
+
+      sourceSubscription.close();
+      proxyHandler.onNext(new TestEvent1("third", 0.0));
+      Assert.assertEquals("type:third", received.poll(10, TimeUnit.SECONDS));
+    }
+  }
+
   @Test
   public void testRemoteManagerConnectionRetryTest() throws Exception {
     final ExecutorService smExecutor = Executors.newFixedThreadPool(1);
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.remote.impl.RemoteEvent;
+import org.apache.reef.wake.remote.impl.RemoteReceiverStage;
+import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the buffer handling of RemoteReceiverStage.
+ */
+public class RemoteReceiverStageTest {
+
+  /**
+   * An event that the stage can not accept must not keep its transport buffer.
+   */
+  @Test
+  public void testRejectedEventIsReleased() throws Exception {
+    final AtomicInteger released = new AtomicInteger(0);
+    final TransportEvent event = new TransportEvent(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), null, null,
+        new Runnable() {
+          @Override
+          public void run() {
+            released.incrementAndGet();
+          }
+        });
+
+    final RemoteReceiverStage stage = new RemoteReceiverStage(new EventHandler<RemoteEvent<byte[]>>() {
+      @Override
+      public void onNext(final RemoteEvent<byte[]> value) {
+        Assert.fail("A closed stage must not handle events");
+      }
+    }, null, 1);
+    stage.close();
+
+    try {
+      stage.onNext(event);
+      Assert.fail("A closed stage must reject events");
+    } catch (final RejectedExecutionException expected) {
+      // the event was not handed to the handler thread
+    }
+
+    // the reference of the transport
+    event.release();
+    Assert.assertEquals(1, released.get());
+  }
+}
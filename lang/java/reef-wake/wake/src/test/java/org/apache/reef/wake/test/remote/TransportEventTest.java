@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the buffer reference counting of TransportEvent.
+ */
+public class TransportEventTest {
+
+  private static final byte[] DATA = {1, 2, 3, 4};
+
+  @Test
+  public void testReleaseWithoutRetainKeepsData() {
+    final AtomicInteger released = new AtomicInteger(0);
+    final TransportEvent event = new TransportEvent(ByteBuffer.wrap(DATA), null, null, newReleaser(released));
+    Assert.assertEquals(DATA.length, event.getSize());
+
+    event.release();
+    Assert.assertEquals(1, released.get());
+    Assert.assertArrayEquals(DATA, event.getData());
+    Assert.assertEquals(DATA.length, event.getBuffer().remaining());
+
+    event.release();
+    Assert.assertEquals(1, released.get());
+  }
+
+  @Test
+  public void testRetainKeepsBufferUntilLastRelease() {
+    final AtomicInteger released = new AtomicInteger(0);
+    final TransportEvent event = new TransportEvent(ByteBuffer.wrap(DATA), null, null, newReleaser(released));
+
+    event.retain();
+    event.release();
+    Assert.assertEquals(0, released.get());
+
+    final ByteBuffer buffer = event.getBuffer();
+    Assert.assertTrue(buffer.isReadOnly());
+    final byte[] read = new byte[buffer.remaining()];
+    buffer.get(read);
+    Assert.assertArrayEquals(DATA, read);
+
+    event.release();
+    Assert.assertEquals(1, released.get());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetDataAfterRetainedRelease() {
+    final TransportEvent event =
+        new TransportEvent(ByteBuffer.wrap(DATA), null, null, newReleaser(new AtomicInteger(0)));
+    event.retain();
+    event.release();
+    event.release();
+    event.getData();
+  }
+
+  @Test
+  public void testByteArrayEvent() {
+    final TransportEvent event = new TransportEvent(DATA, null, null);
+    event.retain();
+    event.release();
+    event.release();
+    Assert.assertSame(DATA, event.getData());
+    Assert.assertEquals(DATA.length, event.getBuffer().remaining());
+  }
+
+  @Test
+  public void testMultipleBuffers() throws IOException {
+    final AtomicInteger released = new AtomicInteger(0);
+    final ByteBuffer[] buffers = {
+        ByteBuffer.wrap(DATA, 0, 1), ByteBuffer.wrap(DATA, 1, 0), ByteBuffer.wrap(DATA, 1, 3)};
+    final TransportEvent event = new TransportEvent(buffers, null, null, newReleaser(released));
+    Assert.assertEquals(DATA.length, event.getSize());
+
+    final InputStream stream = event.getInputStream();
+    final byte[] read = new byte[DATA.length];
+    Assert.assertEquals(1, stream.read(read, 0, read.length));
+    Assert.assertEquals(3, stream.read(read, 1, read.length - 1));
+    Assert.assertEquals(-1, stream.read());
+    Assert.assertArrayEquals(DATA, read);
+
+    event.release();
+    Assert.assertEquals(1, released.get());
+    Assert.assertEquals(DATA[0], event.getInputStream().read());
+    Assert.assertArrayEquals(DATA, event.getData());
+    Assert.assertEquals(DATA.length, event.getBuffer().remaining());
+  }
+
+  @Test
+  public void testStreamKeepsBufferUntilClosed() throws IOException {
+    final AtomicInteger released = new AtomicInteger(0);
+    final TransportEvent event = new TransportEvent(ByteBuffer.wrap(DATA), null, null, newReleaser(released));
+
+    final InputStream stream = event.getInputStream();
+    event.release();
+    Assert.assertEquals(0, released.get());
+    Assert.assertEquals(DATA[0], stream.read());
+
+    stream.close();
+    Assert.assertEquals(1, released.get());
+    stream.close();
+    Assert.assertEquals(1, released.get());
+    Assert.assertArrayEquals(DATA, event.getData());
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadAfterClose() throws IOException {
+    final TransportEvent event =
+        new TransportEvent(ByteBuffer.wrap(DATA), null, null, newReleaser(new AtomicInteger(0)));
+    final InputStream stream = event.getInputStream();
+    event.release();
+    stream.close();
+    stream.read();
+  }
+
+  private static Runnable newReleaser(final AtomicInteger released) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        released.incrementAndGet();
+      }
+    };
+  }
+}
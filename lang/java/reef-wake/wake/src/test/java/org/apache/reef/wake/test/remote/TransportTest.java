@@ -25,12 +25,19 @@ import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.impl.LoggingUtils;
 import org.apache.reef.wake.impl.TimerStage;
 import org.apache.reef.wake.remote.Codec;
+import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.impl.ByteCodec;
 import org.apache.reef.wake.remote.impl.ObjectSerializableCodec;
 import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.apache.reef.wake.remote.transport.ByteBufferLink;
 import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.LinkListener;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
+import org.apache.reef.wake.remote.transport.netty.NettyMessagingTransport;
+import org.apache.reef.wake.remote.transport.netty.WriteBatchMetrics;
 import org.apache.reef.wake.remote.transport.TransportFactory;
 import org.apache.reef.wake.test.util.Monitor;
 import org.apache.reef.wake.test.util.TimeoutHandler;
@@ -40,6 +47,9 @@ import org.junit.Test;
 import org.junit.rules.TestName;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
@@ -125,6 +135,210 @@ public class TransportTest {
     Assert.assertEquals(expected, stage.getCount());
   }
 
+  @Test
+  public void testTransportWriteBatching() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 2000, 2000);
+
+    final int expected = 100;
+    final int batchSize = 8;
+    final String hostAddress = this.localAddressProvider.getLocalAddress();
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchSize.class, batchSize);
+    final TransportFactory batchingFactory = injector.getInstance(TransportFactory.class);
+
+    // Codec<String>
+    final ReceiverStage<String> stage =
+        new ReceiverStage<>(new ObjectSerializableCodec<String>(), monitor, expected);
+    final Transport transport = batchingFactory.newInstance(hostAddress, 0, stage, stage, 1, 10000);
+    final int port = transport.getListeningPort();
+
+    // sending side
+    final Link<String> link = transport.open(
+        new InetSocketAddress(hostAddress, port),
+        new ObjectSerializableCodec<String>(),
+        new LoggingLinkListener<String>());
+    for (int i = 0; i < expected; i++) {
+      link.write("hello" + i);
+    }
+
+    monitor.mwait();
+    final WriteBatchMetrics metrics = ((NettyMessagingTransport) transport).getWriteBatchMetrics();
+    transport.close();
+    timer.close();
+
+    Assert.assertEquals(expected, stage.getCount());
+    Assert.assertEquals(expected, metrics.getMessageCount());
+    Assert.assertTrue(metrics.getFlushCount() >= (expected + batchSize - 1) / batchSize);
+    Assert.assertTrue(metrics.getFlushCount() <= expected);
+  }
+
+  @Test
+  public void testTransportWriteBatchDelayRestartsAfterSizeFlush() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 5000, 5000);
+
+    final int batchSize = 4;
+    final int delayMillis = 500;
+    final String hostAddress = this.localAddressProvider.getLocalAddress();
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchSize.class, batchSize);
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchDelay.class, delayMillis * 1000);
+    final TransportFactory batchingFactory = injector.getInstance(TransportFactory.class);
+
+    // Codec<String>
+    final ReceiverStage<String> stage =
+        new ReceiverStage<>(new ObjectSerializableCodec<String>(), monitor, batchSize + 1);
+    final Transport transport = batchingFactory.newInstance(hostAddress, 0, stage, stage, 1, 10000);
+    final int port = transport.getListeningPort();
+
+    // sending side
+    final Link<String> link = transport.open(
+        new InetSocketAddress(hostAddress, port),
+        new ObjectSerializableCodec<String>(),
+        new LoggingLinkListener<String>());
+    // a full batch is flushed at once, then a single write has to wait for its own delay,
+    // not for the one scheduled by the first write of the full batch
+    for (int i = 0; i < batchSize; i++) {
+      link.write("hello" + i);
+    }
+    Thread.sleep(delayMillis / 2);
+    final long lastWrite = System.nanoTime();
+    link.write("hello" + batchSize);
+
+    monitor.mwait();
+    final long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastWrite);
+    transport.close();
+    timer.close();
+
+    Assert.assertEquals(batchSize + 1, stage.getCount());
+    Assert.assertTrue("The last write was flushed after " + waitedMillis + " ms",
+        waitedMillis >= delayMillis * 4 / 5);
+  }
+
+  @Test
+  public void testTransportNegativeWriteBatchDelay() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(RemoteConfiguration.WriteBatchDelay.class, -1);
+    final TransportFactory factory = injector.getInstance(TransportFactory.class);
+    final ReceiverStage<String> stage = new ReceiverStage<>(new ObjectSerializableCodec<String>(), new Monitor(), 1);
+
+    try {
+      factory.newInstance(this.localAddressProvider.getLocalAddress(), 0, stage, stage, 1, 10000).close();
+      Assert.fail("A negative write batch delay was accepted");
+    } catch (final RuntimeException e) {
+      Throwable cause = e;
+      while (!(cause instanceof RemoteRuntimeException) && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      Assert.assertTrue("Unexpected exception " + e, cause instanceof RemoteRuntimeException);
+    }
+  }
+
+  @Test
+  public void testByteBufferWriteNotifiesListener() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 2000, 2000);
+
+    final String hostAddress = this.localAddressProvider.getLocalAddress();
+    final ReceiverStage<byte[]> stage = new ReceiverStage<>(new ByteCodec(), monitor, 1);
+    final Transport transport = tpFactory.newInstance(hostAddress, 0, stage, stage, 1, 10000);
+    final int port = transport.getListeningPort();
+
+    final ByteBufferLink<byte[]> link = (ByteBufferLink<byte[]>) transport.open(
+        new InetSocketAddress(hostAddress, port), new ByteCodec(), new LoggingLinkListener<byte[]>());
+    final RecordingLinkListener<byte[]> listener = new RecordingLinkListener<>();
+    final byte[] sent = new byte[]{1, 2, 3};
+    link.write(sent, new ByteCodec(), listener);
+
+    monitor.mwait();
+    Assert.assertTrue(listener.done.await(2, TimeUnit.SECONDS));
+    Assert.assertSame(sent, listener.succeeded);
+    Assert.assertNull(listener.failed);
+
+    transport.close();
+    timer.close();
+
+    Assert.assertEquals(1, stage.getCount());
+  }
+
+  @Test
+  public void testTransportOptions() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 2000, 2000);
+
+    final int expected = 100;
+    final String hostAddress = this.localAddressProvider.getLocalAddress();
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(RemoteConfiguration.NativeTransport.class, true);
+    injector.bindVolatileParameter(RemoteConfiguration.ServerWorkerThreads.class, 2);
+    injector.bindVolatileParameter(RemoteConfiguration.ClientWorkerThreads.class, 1);
+    injector.bindVolatileParameter(RemoteConfiguration.TcpNoDelay.class, false);
+    injector.bindVolatileParameter(RemoteConfiguration.SendBufferSize.class, 64 * 1024);
+    injector.bindVolatileParameter(RemoteConfiguration.ReceiveBufferSize.class, 64 * 1024);
+    final TransportFactory tunedFactory = injector.getInstance(TransportFactory.class);
+
+    // Codec<String>
+    final ReceiverStage<String> stage =
+        new ReceiverStage<>(new ObjectSerializableCodec<String>(), monitor, expected);
+    final Transport transport = tunedFactory.newInstance(hostAddress, 0, stage, stage, 1, 10000);
+    final int port = transport.getListeningPort();
+
+    // sending side
+    final Link<String> link = transport.open(
+        new InetSocketAddress(hostAddress, port),
+        new ObjectSerializableCodec<String>(),
+        new LoggingLinkListener<String>());
+    for (int i = 0; i < expected; i++) {
+      link.write("hello" + i);
+    }
+
+    monitor.mwait();
+    transport.close();
+    timer.close();
+
+    Assert.assertEquals(expected, stage.getCount());
+  }
+
+  /**
+   * Records the message of the first notification.
+   */
+  private static final class RecordingLinkListener<T> implements LinkListener<T> {
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile T succeeded;
+    private volatile T failed;
+
+    @Override
+    public void onSuccess(final T message) {
+      succeeded = message;
+      done.countDown();
+    }
+
+    @Override
+    public void onException(final Throwable cause, final SocketAddress remoteAddress, final T message) {
+      failed = message;
+      done.countDown();
+    }
+  }
+
   class ReceiverStage<T> implements EStage<TransportEvent> {
 
     private final Codec<T> codec;
@@ -26,6 +26,7 @@ import org.apache.reef.wake.impl.LoggingUtils;
 import org.apache.reef.wake.impl.ThreadPoolStage;
 import org.apache.reef.wake.test.time.util.AlarmProducer;
 import org.apache.reef.wake.test.time.util.EventRecorder;
+import org.apache.reef.wake.time.Clock;
 import org.apache.reef.wake.time.Time;
 import org.apache.reef.wake.time.event.Alarm;
 import org.apache.reef.wake.time.runtime.LogicalTimer;
@@ -35,6 +36,7 @@ import org.apache.reef.wake.time.runtime.Timer;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
@@ -67,6 +69,44 @@ public class RuntimeClockTest {
     return TANG.newInjector(clockConfig).getInstance(RuntimeClock.class);
   }
 
+  /**
+   * Create new RuntimeClock object that runs the due alarms on a pool of worker threads.
+   *
+   * @param numThreads Number of alarm dispatch threads.
+   * @return A new instance of the RuntimeClock with a real-time timer.
+   * @throws InjectionException On configuration error.
+   */
+  private static RuntimeClock buildDispatchingClock(final int numThreads) throws InjectionException {
+
+    final Configuration clockConfig = TANG.newConfigurationBuilder()
+        .bind(Timer.class, RealTimer.class)
+        .bindNamedParameter(Clock.AlarmDispatchThreads.class, Integer.toString(numThreads))
+        .build();
+
+    return TANG.newInjector(clockConfig).getInstance(RuntimeClock.class);
+  }
+
+  /**
+   * Create new RuntimeClock object that runs the due alarms on a pool of worker threads
+   * with a bounded number of alarms waiting for a worker.
+   *
+   * @param numThreads Number of alarm dispatch threads.
+   * @param capacity Maximum number of due alarms that wait for a dispatch thread.
+   * @return A new instance of the RuntimeClock with a real-time timer.
+   * @throws InjectionException On configuration error.
+   */
+  private static RuntimeClock buildDispatchingClock(
+      final int numThreads, final int capacity) throws InjectionException {
+
+    final Configuration clockConfig = TANG.newConfigurationBuilder()
+        .bind(Timer.class, RealTimer.class)
+        .bindNamedParameter(Clock.AlarmDispatchThreads.class, Integer.toString(numThreads))
+        .bindNamedParameter(Clock.AlarmDispatchQueueCapacity.class, Integer.toString(capacity))
+        .build();
+
+    return TANG.newInjector(clockConfig).getInstance(RuntimeClock.class);
+  }
+
   /**
    * Create 10 threads to produce 40 alarms at random intervals
    * and check if all alarms get processed.
@@ -222,6 +262,207 @@ public class RuntimeClockTest {
     Assert.assertArrayEquals("Alarms processed in the wrong order", expected, actual);
   }
 
+  /**
+   * Alarms with equal timestamps must fire in the order they were scheduled.
+   * @throws Exception Error building a runtime clock object or waiting for the alarms.
+   */
+  @Test
+  public void testEqualTimestampOrder() throws Exception {
+
+    final int numAlarms = 100;
+    final CountDownLatch eventCountLatch = new CountDownLatch(numAlarms);
+    final EventRecorder alarmRecorder = new EventRecorder(eventCountLatch);
+    final List<Time> expected = new ArrayList<>();
+
+    try (final RuntimeClock clock = buildClock(LogicalTimer.class)) {
+
+      for (int i = 0; i < numAlarms; ++i) {
+        expected.add(clock.scheduleAlarm(0, alarmRecorder));
+      }
+
+      new Thread(clock).start();
+      Assert.assertTrue(eventCountLatch.await(10, TimeUnit.SECONDS));
+    }
+
+    Assert.assertEquals(expected.get(0).getTimestamp(), expected.get(numAlarms - 1).getTimestamp());
+    Assert.assertEquals("Alarms processed in the wrong order", expected, alarmRecorder.getEvents());
+  }
+
+  /**
+   * Schedule many alarms from several threads at once, and check that all of them fire.
+   * @throws Exception Error building a runtime clock object or waiting for the alarms.
+   */
+  @Test
+  public void testConcurrentScheduling() throws Exception {
+
+    final int numThreads = 8;
+    final int alarmsPerThread = 2000;
+    final CountDownLatch eventCountLatch = new CountDownLatch(numThreads * alarmsPerThread);
+    final EventRecorder alarmRecorder = new EventRecorder(eventCountLatch);
+
+    try (final RuntimeClock clock = buildClock(RealTimer.class)) {
+
+      new Thread(clock).start();
+
+      final List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < numThreads; ++t) {
+        final Random threadRand = new Random(t);
+        final Thread thread = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            for (int i = 0; i < alarmsPerThread; ++i) {
+              clock.scheduleAlarm(AlarmProducer.randomOffsetUniform(threadRand, 1, 50), alarmRecorder);
+            }
+          }
+        });
+        threads.add(thread);
+        thread.start();
+      }
+      for (final Thread thread : threads) {
+        thread.join();
+      }
+
+      Assert.assertTrue(eventCountLatch.await(10, TimeUnit.SECONDS));
+      Assert.assertTrue("No client alarms should be scheduled at this time", clock.isIdle());
+    }
+
+    Assert.assertEquals(numThreads * alarmsPerThread, alarmRecorder.getEventCount());
+  }
+
+  /**
+   * Block one alarm handler on a dispatch thread, and check that the alarms of another handler
+   * still fire on time, while the alarms of the blocked handler wait and then fire in order.
+   * @throws Exception Error building a runtime clock object or waiting for the alarms.
+   */
+  @Test
+  public void testAlarmDispatch() throws Exception {
+
+    final int numAlarms = 10;
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch fastLatch = new CountDownLatch(numAlarms);
+    final CountDownLatch slowLatch = new CountDownLatch(numAlarms);
+    final EventRecorder fastRecorder = new EventRecorder(fastLatch);
+    final EventRecorder slowRecorder = new EventRecorder(slowLatch);
+    final List<Time> expected = new ArrayList<>();
+
+    final EventHandler<Alarm> slowHandler = new EventHandler<Alarm>() {
+      @Override
+      public void onNext(final Alarm alarm) {
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        slowRecorder.onNext(alarm);
+      }
+    };
+
+    try (final RuntimeClock clock = buildDispatchingClock(4)) {
+
+      new Thread(clock).start();
+
+      for (int i = 0; i < numAlarms; ++i) {
+        expected.add(clock.scheduleAlarm(i, slowHandler));
+        clock.scheduleAlarm(10 + i, fastRecorder);
+      }
+
+      Assert.assertTrue("Alarms delayed by a blocked handler", fastLatch.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals(0, slowRecorder.getEventCount());
+      Assert.assertFalse("Clock cannot be idle while alarms are running", clock.isIdle());
+
+      release.countDown();
+      Assert.assertTrue(slowLatch.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals("Alarms of one handler processed in the wrong order", expected, slowRecorder.getEvents());
+      Assert.assertEquals(2 * numAlarms, clock.getAlarmLateness().getCount());
+    }
+  }
+
+  /**
+   * Block one alarm handler while more of its alarms become due than the dispatch queue capacity,
+   * and check that the alarms of another handler keep firing: the alarms that wait behind
+   * the blocked one must not use up the capacity and block the clock thread.
+   * @throws Exception Error building a runtime clock object or waiting for the alarms.
+   */
+  @Test
+  public void testBlockedHandlerDoesNotUseCapacity() throws Exception {
+
+    final int numAlarms = 10;
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch fastLatch = new CountDownLatch(numAlarms);
+    final CountDownLatch slowLatch = new CountDownLatch(numAlarms);
+    final EventRecorder fastRecorder = new EventRecorder(fastLatch);
+    final EventRecorder slowRecorder = new EventRecorder(slowLatch);
+
+    final EventHandler<Alarm> slowHandler = new EventHandler<Alarm>() {
+      @Override
+      public void onNext(final Alarm alarm) {
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        slowRecorder.onNext(alarm);
+      }
+    };
+
+    try (final RuntimeClock clock = buildDispatchingClock(2, 2)) {
+
+      new Thread(clock).start();
+
+      for (int i = 0; i < numAlarms; ++i) {
+        clock.scheduleAlarm(i, slowHandler);
+      }
+      for (int i = 0; i < numAlarms; ++i) {
+        clock.scheduleAlarm(100 + i, fastRecorder);
+      }
+
+      Assert.assertTrue("Alarms blocked by the backlog of another handler", fastLatch.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals(0, slowRecorder.getEventCount());
+
+      release.countDown();
+      Assert.assertTrue(slowLatch.await(10, TimeUnit.SECONDS));
+    }
+  }
+
+  /**
+   * Close the clock while a dispatched alarm is still running,
+   * and check that the event loop only exits after the alarm has finished.
+   * @throws Exception Error building a runtime clock object or waiting for the alarms.
+   */
+  @Test
+  public void testGracefulCloseWithDispatchedAlarm() throws Exception {
+
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final RuntimeClock clock = buildDispatchingClock(2);
+    final Thread clockThread = new Thread(clock);
+    clockThread.start();
+
+    clock.scheduleAlarm(0, new EventHandler<Alarm>() {
+      @Override
+      public void onNext(final Alarm alarm) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    clock.close();
+
+    clockThread.join(200);
+    Assert.assertTrue("Clock stopped before the running alarm finished", clockThread.isAlive());
+
+    release.countDown();
+    clockThread.join(10000);
+    Assert.assertFalse("Clock did not stop after the running alarm finished", clockThread.isAlive());
+    Assert.assertTrue(clock.isIdle());
+  }
+
   /**
    * Test graceful shutdown of the event loop.
    * Schedule two events and close the clock. Make sure that no events occur soon after
@@ -31,6 +31,7 @@ import org.apache.reef.util.logging.LogParser;
 import org.apache.reef.util.logging.LoggingScopeFactory;
 import org.apache.reef.util.logging.LoggingScopeImpl;
 import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.StageMetricsReporter;
 
 import javax.inject.Inject;
 import javax.servlet.ServletException;
@@ -175,6 +176,9 @@ public final class HttpServerReefEventHandler implements HttpHandler {
       final ArrayList<String> result = LogParser.mergeStages(startsStages, endStages);
       writeLines(response, result, "Current Stages...");
       break;
+    case "metrics":
+      writeLines(response, new ArrayList<>(StageMetricsReporter.report()), "Stage metrics...");
+      break;
     case "logfile":
       final List<String> names = parsedHttpRequest.getQueryMap().get("filename");
       final PrintWriter writer = response.getWriter();